@@ -45,12 +45,38 @@ DROP TABLE IF EXISTS `autor`;
 CREATE TABLE `autor` (
   `id_autor` int NOT NULL AUTO_INCREMENT,
   `nombre_autor` varchar(100) NOT NULL,
-  `telefono` varchar(15) DEFAULT NULL,
+  `telefono_num` int DEFAULT NULL COMMENT 'Teléfono 7XXX-XXXX guardado como 71234567',
   `fecha_nacimiento` date DEFAULT NULL,
   `id_genero` int DEFAULT NULL,
+  `version` int NOT NULL DEFAULT 0,
+  `ultima_modificacion` timestamp(3) NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT 'Marca para actualizar la copia en disco del directorio',
   PRIMARY KEY (`id_autor`),
+  KEY `idx_autor_nombre` (`nombre_autor`),
+  KEY `idx_autor_telefono` (`telefono_num`),
+  KEY `idx_autor_genero_nacimiento` (`id_genero`,`fecha_nacimiento`),
+  KEY `idx_autor_modificacion` (`ultima_modificacion`),
   CONSTRAINT `fk_autor_genero` FOREIGN KEY (`id_genero`) REFERENCES `genero` (`id_genero`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
+--
+-- Estructura de tabla para `secuencia_id`
+-- Entrega los IDs de `autor` en bloques de 50 (permite inserciones por lotes).
+-- El valor inicial debe quedar por encima de MAX(id_autor) + 50;
+-- JPAUtil lo corrige al arrancar si la tabla ya tenía autores.
+--
+
+DROP TABLE IF EXISTS `secuencia_id`;
+/*!40101 SET @saved_cs_client = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `secuencia_id` (
+  `entidad` varchar(255) NOT NULL,
+  `siguiente_valor` bigint DEFAULT NULL,
+  PRIMARY KEY (`entidad`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+INSERT INTO `secuencia_id` (`entidad`, `siguiente_valor`)
+SELECT 'autor', COALESCE(MAX(`id_autor`), 0) + 51 FROM `autor`;
+
 --
\ No newline at end of file
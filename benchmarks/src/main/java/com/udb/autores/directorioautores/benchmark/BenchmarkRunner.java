@@ -0,0 +1,31 @@
+package com.udb.autores.directorioautores.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Punto de entrada de benchmarks.jar.
+ * Igual que org.openjdk.jmh.Main, pero si no se indica otro formato guarda los
+ * resultados en JSON (jmh-result.json) para comparar entre versiones.
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            options.add("-rff");
+            options.add(DEFAULT_RESULT_FILE);
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,127 @@
+package com.udb.autores.directorioautores.benchmark;
+
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorModel;
+import com.udb.autores.directorioautores.model.JPAUtil;
+import com.udb.autores.directorioautores.model.LiteraryGenre;
+import com.udb.autores.directorioautores.model.SingleFlight;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Muchas lecturas iguales al mismo tiempo (ver SingleFlight):
+ * - hotGenre: 15 hilos leen el mismo género mientras otro agrega autores en él;
+ *   cada escritura invalida AuthorQueryCache y todos recargan a la vez.
+ * - getAllAuthors: 16 hilos piden la tabla completa.
+ * Al final de cada iteración se registran las sentencias enviadas a la BD por
+ * lectura y cuántas llamadas esperaron el resultado de otra. Para comparar:
+ * java -jar target/benchmarks.jar CoalescingBenchmark -p authors=100000
+ * java -jar target/benchmarks.jar CoalescingBenchmark -p authors=100000 -jvmArgsPrepend -Dautores.singleFlight.enabled=false
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dautores.config=/autores-benchmark.properties"})
+public class CoalescingBenchmark {
+
+    private final AuthorModel authorModel = new AuthorModel();
+
+    @Benchmark
+    @Group("hotGenre")
+    @GroupThreads(15)
+    public List<Author> readHotGenre(HotGenre hot, QueryCount count) {
+        count.read();
+        return authorModel.findAuthorsByGenre(hot.genre.getId());
+    }
+
+    @Benchmark
+    @Group("hotGenre")
+    @GroupThreads(1)
+    public Author writeHotGenre(DirectoryData data, HotGenre hot) {
+        Author author = data.newAuthor();
+        author.setLiteraryGenre(hot.genre);
+        authorModel.saveAuthor(author);
+        return author;
+    }
+
+    @Benchmark
+    @Threads(16)
+    public List<Author> getAllAuthors(DirectoryData data, QueryCount count) {
+        count.read();
+        return authorModel.getAllAuthors();
+    }
+
+    /**
+     * El género que todos leen (uno solo en toda la prueba).
+     */
+    @State(Scope.Benchmark)
+    public static class HotGenre {
+
+        LiteraryGenre genre;
+
+        @Setup(Level.Trial)
+        public void pick(DirectoryData data) {
+            genre = data.randomGenre();
+        }
+    }
+
+    /**
+     * Sentencias a la BD (estadísticas de Hibernate) y llamadas agrupadas durante
+     * cada iteración.
+     */
+    @State(Scope.Benchmark)
+    public static class QueryCount {
+
+        private static final Logger LOG = Logger.getLogger(QueryCount.class.getName());
+
+        private final LongAdder reads = new LongAdder();
+        private long statements;
+        private long collapsed;
+
+        void read() {
+            reads.increment();
+        }
+
+        @Setup(Level.Iteration)
+        public void start(DirectoryData data) { // 'data': después de cargar el directorio
+            reads.reset();
+            statements = JPAUtil.getStatistics().getPrepareStatementCount();
+            collapsed = collapsedCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void log() {
+            long count = Math.max(1, reads.sum());
+            long executed = JPAUtil.getStatistics().getPrepareStatementCount() - statements;
+            LOG.info(String.format("%d lecturas, %d sentencias a la BD (%.3f por lectura), %d agrupadas",
+                    count, executed, (double) executed / count, collapsedCount() - collapsed));
+        }
+
+        private static long collapsedCount() {
+            long total = 0;
+            for (SingleFlight<?, ?> flight : SingleFlight.getAll().values()) {
+                total += flight.getCollapsedCount();
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.udb.autores.directorioautores.benchmark;
+
+import com.udb.autores.directorioautores.model.AppConfig;
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.JPAUtil;
+import com.udb.autores.directorioautores.model.LiteraryGenre;
+import com.udb.autores.directorioautores.model.LiteraryGenreModel;
+import com.udb.autores.directorioautores.model.PhoneNumbers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Directorio de prueba en la BD embebida (H2 en memoria), con 'authors' autores
+ * repartidos en GENRES géneros. Se carga una vez por fork de JMH.
+ * Los datos son deterministas: el autor N se llama "Autor N" (ver nameOf).
+ */
+@State(Scope.Benchmark)
+public class DirectoryData {
+
+    private static final Logger LOG = Logger.getLogger(DirectoryData.class.getName());
+
+    static final int GENRES = 10;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int authors;
+
+    private List<LiteraryGenre> genres;
+
+    @Setup(Level.Trial)
+    public void load() throws SQLException {
+        long start = System.nanoTime();
+        // Hibernate crea las tablas (hbm2ddl=create en autores-benchmark.properties)
+        JPAUtil.getEntityManager().close();
+
+        loadInto("db.");
+        // Sin replicación real entre BDs en memoria: cada réplica recibe la misma carga
+        for (JPAUtil.Replica replica : JPAUtil.getReplicas()) {
+            loadInto("db.replica." + replica.getName() + ".");
+        }
+        genres = new LiteraryGenreModel().getAllGenres();
+        LOG.info(String.format("Directorio de prueba: %d autores cargados en %d ms",
+                authors, (System.nanoTime() - start) / 1_000_000));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        JPAUtil.shutdown();
+    }
+
+    /**
+     * Inserta los géneros y autores por JDBC en la BD configurada con 'prefix'
+     * ("db." o "db.replica.<nombre>."; usuario y clave se toman de "db." si faltan).
+     */
+    private void loadInto(String prefix) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(AppConfig.getString(prefix + "url", null),
+                AppConfig.getString(prefix + "user", AppConfig.getString("db.user", null)),
+                AppConfig.getString(prefix + "password", AppConfig.getString("db.password", null)))) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO genero (id_genero, nombre_genero) VALUES (?, ?)")) {
+                for (int i = 1; i <= GENRES; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "Género " + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO autor (id_autor, nombre_autor, telefono_num, fecha_nacimiento, id_genero, version)"
+                            + " VALUES (?, ?, ?, ?, ?, 0)")) {
+                for (int id = 1; id <= authors; id++) {
+                    insert.setInt(1, id);
+                    insert.setString(2, nameOf(id));
+                    insert.setInt(3, PhoneNumbers.toNumber(phoneOf(id)));
+                    insert.setDate(4, new java.sql.Date(birthDateOf(id).getTime()));
+                    insert.setInt(5, 1 + id % GENRES);
+                    insert.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            // Los IDs que entregue Hibernate deben empezar después de los cargados
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE secuencia_id SET siguiente_valor = ? WHERE entidad = 'autor'")) {
+                update.setLong(1, authors + Author.ID_ALLOCATION_SIZE + 1L);
+                update.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+
+    // --- DATOS DE PRUEBA ---
+
+    int randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(authors);
+    }
+
+    LiteraryGenre randomGenre() {
+        return genres.get(ThreadLocalRandom.current().nextInt(genres.size()));
+    }
+
+    /**
+     * Un autor nuevo (id=0) con datos válidos.
+     */
+    Author newAuthor() {
+        int n = ThreadLocalRandom.current().nextInt(1_000_000);
+        Author author = new Author();
+        author.setName("Nuevo Autor " + n);
+        author.setPhone(phoneOf(n));
+        author.setBirthDate(birthDateOf(n));
+        author.setLiteraryGenre(randomGenre());
+        return author;
+    }
+
+    static String nameOf(int id) {
+        return "Autor " + id;
+    }
+
+    static String phoneOf(int n) {
+        return String.format("7%03d-%04d", n % 1000, n % 10000);
+    }
+
+    static Date birthDateOf(int n) {
+        // Entre 1900 y ~2000
+        return new Date(-2_208_988_800_000L + (n % 36_500) * 86_400_000L);
+    }
+}
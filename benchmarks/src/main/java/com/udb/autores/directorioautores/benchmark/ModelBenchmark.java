@@ -0,0 +1,116 @@
+package com.udb.autores.directorioautores.benchmark;
+
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorModel;
+import com.udb.autores.directorioautores.model.AuthorQueryCache;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de AuthorModel contra H2 en memoria, con 1 mil, 100 mil y 1 millón de autores.
+ * Cada combinación (método, tamaño) corre en su propia JVM con su propia BD.
+ * Ej: java -jar target/benchmarks.jar ModelBenchmark.findAuthorByName -p authors=100000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dautores.config=/autores-benchmark.properties"})
+public class ModelBenchmark {
+
+    private final AuthorModel authorModel = new AuthorModel();
+
+    /**
+     * Carga la tabla completa (con 1 millón de autores, varios segundos por llamada).
+     */
+    @Benchmark
+    public List<Author> getAllAuthors(DirectoryData data) {
+        return authorModel.getAllAuthors();
+    }
+
+    /**
+     * Filtro por género tal como lo usa la vista (respondido por AuthorQueryCache tras la primera vez).
+     */
+    @Benchmark
+    public List<Author> findAuthorsByGenre(DirectoryData data) {
+        return authorModel.findAuthorsByGenre(data.randomGenre().getId());
+    }
+
+    /**
+     * Filtro por género yendo siempre a la BD (como tras un cambio en ese género).
+     */
+    @Benchmark
+    public List<Author> findAuthorsByGenreUncached(DirectoryData data) {
+        AuthorQueryCache.getInstance().invalidateAll();
+        return authorModel.findAuthorsByGenre(data.randomGenre().getId());
+    }
+
+    @Benchmark
+    public Author findAuthorByName(DirectoryData data) {
+        return authorModel.findAuthorByName(DirectoryData.nameOf(data.randomId()));
+    }
+
+    @Benchmark
+    public Author saveAuthor(DirectoryData data) {
+        Author author = data.newAuthor();
+        authorModel.saveAuthor(author);
+        return author;
+    }
+
+    /**
+     * Actualiza un autor ya cargado (como al editar en la vista): un solo UPDATE por ID y versión.
+     */
+    @Benchmark
+    public Author updateAuthor(DirectoryData data, PendingUpdate pending) {
+        Author author = pending.author;
+        author.setPhone(DirectoryData.phoneOf(author.getId() + author.getVersion() + 1));
+        author.setLiteraryGenre(data.randomGenre());
+        authorModel.updateAuthor(author);
+        return author;
+    }
+
+    @Benchmark
+    public void deleteAuthor(PendingDelete pending) {
+        authorModel.deleteAuthor(pending.author);
+    }
+
+    /**
+     * Un autor cargado de la BD para cada llamada a updateAuthor (con su versión actual).
+     */
+    @State(Scope.Thread)
+    public static class PendingUpdate {
+        Author author;
+
+        @Setup(Level.Invocation)
+        public void load(DirectoryData data) {
+            author = new AuthorModel().findAuthorById(data.randomId());
+        }
+    }
+
+    /**
+     * Un autor recién guardado para cada llamada a deleteAuthor
+     * (así no se vacía la tabla ni cambia el tamaño medido).
+     */
+    @State(Scope.Thread)
+    public static class PendingDelete {
+        Author author;
+
+        @Setup(Level.Invocation)
+        public void create(DirectoryData data) {
+            author = data.newAuthor();
+            new AuthorModel().saveAuthor(author);
+        }
+    }
+}
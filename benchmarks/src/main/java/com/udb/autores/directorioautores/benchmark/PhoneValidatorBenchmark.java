@@ -0,0 +1,100 @@
+package com.udb.autores.directorioautores.benchmark;
+
+import com.udb.autores.directorioautores.model.PhoneNumbers;
+import com.udb.autores.directorioautores.view.SVPhoneValidator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de la validación de teléfonos (se ejecuta en cada envío del
+ * formulario y en cada fila de una importación masiva). No usa la BD.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PhoneValidatorBenchmark {
+
+    private final SVPhoneValidator validator = new SVPhoneValidator();
+
+    // Casos típicos: válido, prefijo inválido, sin guion, muy largo
+    private final String valid = "7123-4567";
+    private final String badPrefix = "5123-4567";
+    private final String noDash = "71234567";
+    private final String tooLong = "7123-45678";
+
+    // Un lote como los de la importación masiva: 1 de cada 10 inválido
+    private static final int BATCH_ROWS = 10_000;
+    private final List<String> batch = new ArrayList<>(BATCH_ROWS);
+    private final BitSet invalidRows = new BitSet(BATCH_ROWS);
+
+    @Setup
+    public void createBatch() {
+        for (int i = 0; i < BATCH_ROWS; i++) {
+            batch.add(i % 10 == 0 ? "5" + i : String.format("7%03d-%04d", i % 1000, i));
+        }
+    }
+
+    @Benchmark
+    public boolean isValidPhoneValid() {
+        return SVPhoneValidator.isValidPhone(valid);
+    }
+
+    @Benchmark
+    public int isValidPhoneInvalid() {
+        int count = 0;
+        count += SVPhoneValidator.isValidPhone(badPrefix) ? 1 : 0;
+        count += SVPhoneValidator.isValidPhone(noDash) ? 1 : 0;
+        count += SVPhoneValidator.isValidPhone(tooLong) ? 1 : 0;
+        return count;
+    }
+
+    /**
+     * El camino completo de JSF con un valor válido (sin FacesContext: no genera mensajes).
+     */
+    @Benchmark
+    public String validate() {
+        validator.validate(null, null, valid);
+        return valid;
+    }
+
+    /**
+     * Un lote completo (BATCH_ROWS filas) con la API por lotes; sin objetos por fila.
+     */
+    @Benchmark
+    public int validatePhonesBatch() {
+        invalidRows.clear();
+        return SVPhoneValidator.validatePhones(batch, invalidRows);
+    }
+
+    /**
+     * Conversión al número que se guarda en 'telefono_num'.
+     */
+    @Benchmark
+    public int toNumber() {
+        return PhoneNumbers.toNumber(valid);
+    }
+
+    /**
+     * Conversión de vuelta al formato que se muestra (crea el String).
+     */
+    @Benchmark
+    public String format() {
+        return PhoneNumbers.format(71234567);
+    }
+}
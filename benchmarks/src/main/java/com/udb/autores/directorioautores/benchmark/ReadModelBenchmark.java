@@ -0,0 +1,74 @@
+package com.udb.autores.directorioautores.benchmark;
+
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorModel;
+import com.udb.autores.directorioautores.model.DirectoryReadModel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Las mismas lecturas que ModelBenchmark, respondidas por el modelo de lectura
+ * en memoria (DirectoryReadModel), y el costo de una escritura, que ahora
+ * también arma una copia nueva del directorio.
+ * Ej: java -jar target/benchmarks.jar ReadModelBenchmark -p authors=100000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dautores.config=/autores-benchmark.properties"})
+public class ReadModelBenchmark {
+
+    private final AuthorModel authorModel = new AuthorModel();
+
+    @Benchmark
+    public List<Author> findAuthorsByGenre(DirectoryData data, LoadedReadModel readModel) {
+        return authorModel.findAuthorsByGenre(data.randomGenre().getId());
+    }
+
+    @Benchmark
+    public Author findAuthorByName(DirectoryData data, LoadedReadModel readModel) {
+        return authorModel.findAuthorByName(DirectoryData.nameOf(data.randomId()));
+    }
+
+    @Benchmark
+    public long countAuthors(DirectoryData data, LoadedReadModel readModel) {
+        return authorModel.countAuthors(data.randomGenre().getId());
+    }
+
+    /**
+     * Guardar un autor: el INSERT más la copia nueva del directorio (O(autores)).
+     */
+    @Benchmark
+    public Author saveAuthor(DirectoryData data, LoadedReadModel readModel) {
+        Author author = data.newAuthor();
+        authorModel.saveAuthor(author);
+        return author;
+    }
+
+    /**
+     * Carga el modelo de lectura una vez, después de los datos de prueba.
+     */
+    @State(Scope.Benchmark)
+    public static class LoadedReadModel {
+
+        @Setup(Level.Trial)
+        public void load(DirectoryData data) {
+            DirectoryReadModel.getInstance().reconcile();
+        }
+    }
+}
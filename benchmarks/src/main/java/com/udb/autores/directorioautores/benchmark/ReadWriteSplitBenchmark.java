@@ -0,0 +1,58 @@
+package com.udb.autores.directorioautores.benchmark;
+
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorModel;
+import com.udb.autores.directorioautores.model.ReadYourWrites;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lecturas concurrentes repartidas entre el primario y dos réplicas
+ * (autores-replicas.properties), comparadas con las mismas lecturas fijadas
+ * al primario, como tras una escritura (ver ReadYourWrites).
+ * Es la página de la tabla (findAuthorsAfter) sin la copia en memoria ni la caché
+ * de consultas (ver autores-replicas.properties): cada llamada va a la BD.
+ * Ej: java -jar target/benchmarks.jar ReadWriteSplitBenchmark -p authors=100000
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dautores.config=/autores-replicas.properties"})
+public class ReadWriteSplitBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final AuthorModel authorModel = new AuthorModel();
+
+    /**
+     * Página de autores sin filtro: va a las réplicas por turnos.
+     */
+    @Benchmark
+    public List<Author> readFromReplicas(DirectoryData data) {
+        return authorModel.findAuthorsAfter(data.randomId(), 0, PAGE_SIZE);
+    }
+
+    /**
+     * La misma página, leída del primario.
+     */
+    @Benchmark
+    public List<Author> readFromPrimary(DirectoryData data) {
+        ReadYourWrites.begin(System.currentTimeMillis());
+        try {
+            return authorModel.findAuthorsAfter(data.randomId(), 0, PAGE_SIZE);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.udb.autores.directorioautores.benchmark;
+
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorModel;
+import com.udb.autores.directorioautores.model.AuthorWriteQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Muchos hilos guardando autores a la vez: cada uno en su propia transacción
+ * (WriteQueueBenchmark.saveAuthor) y confirmados en grupo por AuthorWriteQueue
+ * (WriteQueueBenchmark.Grouped.saveAuthor). Al final se registra el tamaño promedio
+ * de cada commit. La BD embebida no escribe a disco en cada commit: con MySQL
+ * (innodb_flush_log_at_trx_commit=1) la diferencia es mayor.
+ * Ej: java -jar target/benchmarks.jar WriteQueueBenchmark -p authors=100000
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dautores.config=/autores-benchmark.properties"})
+public class WriteQueueBenchmark {
+
+    private final AuthorModel authorModel = new AuthorModel();
+
+    @Benchmark
+    public Author saveAuthor(DirectoryData data, Commits commits) {
+        Author author = data.newAuthor();
+        authorModel.saveAuthor(author); // Vuelve después del commit, con o sin cola
+        return author;
+    }
+
+    /**
+     * Lo mismo, con las escrituras agrupadas.
+     */
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dautores.config=/autores-benchmark.properties",
+            "-Dautores.writeQueue.enabled=true"})
+    public static class Grouped extends WriteQueueBenchmark {
+    }
+
+    @State(Scope.Benchmark)
+    public static class Commits {
+
+        private static final Logger LOG = Logger.getLogger(Commits.class.getName());
+
+        @TearDown(Level.Trial)
+        public void log() {
+            if (!AuthorWriteQueue.isEnabled()) {
+                return;
+            }
+            AuthorWriteQueue writeQueue = AuthorWriteQueue.getInstance();
+            long[] counts = writeQueue.getCumulativeBatchCounts();
+            long commits = Math.max(1, counts[counts.length - 1]);
+            LOG.info(String.format("%d escrituras en %d commits (%.1f por commit), %d rechazadas",
+                    writeQueue.getWriteCount(), commits, (double) writeQueue.getWriteCount() / commits,
+                    writeQueue.getRejectedCount()));
+        }
+    }
+}
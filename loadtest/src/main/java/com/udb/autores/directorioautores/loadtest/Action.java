@@ -0,0 +1,53 @@
+package com.udb.autores.directorioautores.loadtest;
+
+import java.util.Random;
+
+/**
+ * Las acciones del guion de cada usuario virtual, con su peso en la mezcla.
+ * Cada una es UNA petición HTTP; editar son dos (OPEN_EDIT y luego UPDATE).
+ */
+enum Action {
+
+    PAGE_LOAD("cargar página", 10),
+    FILTER_GENRE("filtrar por género", 35),
+    SAVE("agregar", 20),
+    OPEN_EDIT("abrir edición", 20),
+    UPDATE("actualizar", 0),
+    DELETE("borrar", 15);
+
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final String label;
+    private final int weight;
+
+    Action(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return Una acción al azar, según los pesos (UPDATE nunca: va después de OPEN_EDIT).
+     */
+    static Action pick(Random random) {
+        int value = random.nextInt(TOTAL_WEIGHT);
+        for (Action action : values()) {
+            value -= action.weight;
+            if (value < 0) {
+                return action;
+            }
+        }
+        return PAGE_LOAD;
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (Action action : values()) {
+            total += action.weight;
+        }
+        return total;
+    }
+}
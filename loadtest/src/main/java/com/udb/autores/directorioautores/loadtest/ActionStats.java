@@ -0,0 +1,77 @@
+package com.udb.autores.directorioautores.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Duraciones y resultados de una acción. Cada usuario virtual tiene las suyas (sin
+ * locks); al final se juntan y se ordenan para calcular percentiles exactos.
+ */
+final class ActionStats {
+
+    private long[] micros = new long[1024];
+    private int count;
+    private long errors;
+    private long conflicts;
+
+    void record(long nanos, Outcome outcome) {
+        if (count == micros.length) {
+            micros = Arrays.copyOf(micros, count * 2);
+        }
+        micros[count++] = nanos / 1000;
+        if (outcome == Outcome.ERROR) {
+            errors++;
+        } else if (outcome == Outcome.CONFLICT) {
+            conflicts++;
+        }
+    }
+
+    void addAll(ActionStats other) {
+        if (count + other.count > micros.length) {
+            micros = Arrays.copyOf(micros, count + other.count);
+        }
+        System.arraycopy(other.micros, 0, micros, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        conflicts += other.conflicts;
+    }
+
+    /**
+     * Ordena las duraciones (antes de pedir percentiles).
+     */
+    void sort() {
+        Arrays.sort(micros, 0, count);
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * @param quantile Ej: 0.99.
+     * @return La duración en milisegundos (después de sort()).
+     */
+    double getQuantileMillis(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * count) - 1;
+        return micros[Math.max(0, Math.min(count - 1, index))] / 1000.0;
+    }
+
+    /**
+     * Resultado de una petición.
+     */
+    enum Outcome {
+        OK,
+        CONFLICT, // Otro usuario cambió o borró el autor (esperable con muchos usuarios)
+        ERROR
+    }
+}
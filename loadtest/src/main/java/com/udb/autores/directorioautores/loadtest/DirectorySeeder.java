@@ -0,0 +1,76 @@
+package com.udb.autores.directorioautores.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Carga los géneros y autores de prueba por JDBC, directo en la BD en memoria
+ * (las tablas ya las creó Hibernate en el primer arranque, ver LoadTest).
+ * Los datos son los mismos que los de los benchmarks (DirectoryData).
+ */
+final class DirectorySeeder {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Author.ID_ALLOCATION_SIZE: los IDs que entregue Hibernate empiezan después de los cargados
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private DirectorySeeder() {
+    }
+
+    /**
+     * @param config El archivo de configuración de la aplicación (para la URL de la BD).
+     * @param authors Autores a cargar (IDs 1..authors).
+     * @param genres Géneros a cargar (IDs 1..genres); cada autor va al género 1 + id % genres.
+     */
+    static void seed(String config, int authors, int genres) throws IOException, SQLException {
+        Properties properties = new Properties();
+        try (InputStream in = DirectorySeeder.class.getResourceAsStream(config)) {
+            if (in == null) {
+                throw new IOException("No se encontró " + config + " en el classpath");
+            }
+            properties.load(in);
+        }
+        try (Connection connection = DriverManager.getConnection(properties.getProperty("db.url"),
+                properties.getProperty("db.user"), properties.getProperty("db.password"))) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO genero (id_genero, nombre_genero) VALUES (?, ?)")) {
+                for (int i = 1; i <= genres; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "Género " + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO autor (id_autor, nombre_autor, telefono_num, fecha_nacimiento, id_genero, version)"
+                            + " VALUES (?, ?, ?, ?, ?, 0)")) {
+                for (int id = 1; id <= authors; id++) {
+                    insert.setInt(1, id);
+                    insert.setString(2, "Autor " + id);
+                    insert.setInt(3, 70_000_000 + id % 10_000_000); // 7XXX-XXXX, ver PhoneNumbers
+                    insert.setDate(4, java.sql.Date.valueOf(String.format("%d-%02d-%02d",
+                            1900 + id % 100, 1 + id % 12, 1 + id % 28)));
+                    insert.setInt(5, 1 + id % genres);
+                    insert.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE secuencia_id SET siguiente_valor = ? WHERE entidad = 'autor'")) {
+                update.setLong(1, authors + ID_ALLOCATION_SIZE + 1L);
+                update.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.udb.autores.directorioautores.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+
+/**
+ * El WAR desplegado en un Tomcat embebido, en esta misma JVM.
+ * JSF (Mojarra), EL y WebSocket vienen del classpath de la prueba, como en un
+ * servidor de aplicaciones; el WAR trae lo suyo (Hibernate, HikariCP, Ehcache).
+ */
+final class EmbeddedServer implements AutoCloseable {
+
+    static final String CONTEXT_PATH = "/autores";
+
+    private final Tomcat tomcat;
+    private final int port;
+
+    private EmbeddedServer(Tomcat tomcat) {
+        this.tomcat = tomcat;
+        this.port = tomcat.getConnector().getLocalPort();
+    }
+
+    /**
+     * Despliega el WAR y espera a que la aplicación termine de arrancar
+     * (AppLifecycleListener: conexión a la BD, esquema, precarga de cachés).
+     * @param war El WAR de la aplicación.
+     * @param port Puerto HTTP (0 = uno libre cualquiera).
+     */
+    static EmbeddedServer start(File war, int port) throws IOException, LifecycleException {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("autores-tomcat").toString());
+        tomcat.setPort(port);
+        tomcat.getConnector(); // Tomcat 9 crea el conector HTTP solo si se pide
+        tomcat.addWebapp(CONTEXT_PATH, war.getAbsolutePath());
+        tomcat.start();
+        return new EmbeddedServer(tomcat);
+    }
+
+    /**
+     * @return La URL de index.xhtml.
+     */
+    String getPageUrl() {
+        return "http://localhost:" + port + CONTEXT_PATH + "/index.xhtml";
+    }
+
+    /**
+     * Detiene la aplicación (contextDestroyed: cierra el pool; la BD en memoria sigue).
+     */
+    @Override
+    public void close() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+}
@@ -0,0 +1,368 @@
+package com.udb.autores.directorioautores.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Un navegador sin JavaScript que habla con index.xhtml como lo hace jsf.js:
+ * - La cookie de sesión (el estado de las vistas se guarda en el servidor).
+ * - GET de la página, y postbacks AJAX (Faces-Request: partial/ajax) con los campos
+ *   del formulario, el ViewState de la vista y el execute/render que Mojarra dejó en
+ *   el onclick/onchange de cada componente (mojarra.ab(...)).
+ * - El HTML más reciente de cada parte que el servidor vuelve a pintar (ej: el
+ *   formulario, la tabla), para armar el siguiente envío.
+ * No es thread-safe: una por usuario virtual.
+ */
+final class JsfSession {
+
+    private static final int TIMEOUT_MS = 30_000;
+
+    private static final Pattern FORM = Pattern.compile("<form id=\"([^\"]+)\"[^>]*>.*?</form>", Pattern.DOTALL);
+    private static final Pattern INPUT = Pattern.compile("<input\\b([^>]*)>");
+    private static final Pattern SELECT = Pattern.compile("<select\\b([^>]*)>(.*?)</select>", Pattern.DOTALL);
+    private static final Pattern OPTION = Pattern.compile("<option\\b([^>]*)>");
+    private static final Pattern ATTRIBUTE = Pattern.compile("([\\w:.-]+)=\"([^\"]*)\"");
+    private static final Pattern UPDATE = Pattern.compile(
+            "<update id=\"([^\"]+)\"><!\\[CDATA\\[(.*?)]]></update>", Pattern.DOTALL);
+    private static final Pattern AJAX_BEHAVIOR = Pattern.compile(
+            "mojarra\\.ab\\(this,event,'([^']*)',(0|'[^']*'),(0|'[^']*')");
+
+    private static final String VIEW_STATE = "javax.faces.ViewState";
+
+    private final String pageUrl;
+    private final String origin; // http://host:puerto, para las acciones relativas de los formularios
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    private String viewState;
+    private final Map<String, String> fragments = new HashMap<>(); // ID de cliente -> HTML más reciente
+
+    JsfSession(String pageUrl) {
+        this.pageUrl = pageUrl;
+        this.origin = pageUrl.substring(0, pageUrl.indexOf('/', "http://".length()));
+    }
+
+    /**
+     * Respuesta de una petición.
+     */
+    static final class Response {
+
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * @return true si ya se cargó la página (hay una vista a la cual enviar postbacks).
+     */
+    boolean hasView() {
+        return viewState != null;
+    }
+
+    /**
+     * Carga la página: una vista nueva (misma sesión).
+     */
+    Response get() throws IOException {
+        HttpURLConnection connection = open(pageUrl);
+        Response response = read(connection);
+        if (response.status == HttpURLConnection.HTTP_OK) {
+            fragments.clear();
+            viewState = null;
+            Matcher forms = FORM.matcher(response.body);
+            while (forms.find()) {
+                fragments.put(forms.group(1), forms.group());
+                if (viewState == null) {
+                    viewState = fields(forms.group()).get(VIEW_STATE);
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Un postback AJAX, como el que jsf.js envía al hacer clic o cambiar un campo.
+     * @param formId El formulario que contiene al componente (se envían todos sus campos).
+     * @param source El componente (atributos de su etiqueta, ver find()).
+     * @param event "click" o "change".
+     * @param values Valores que el usuario escribió (reemplazan los del formulario).
+     */
+    Response ajax(String formId, Map<String, String> source, String event, Map<String, String> values)
+            throws IOException {
+        String form = fragment(formId);
+        String sourceId = source.get("id");
+        String handler = source.containsKey("onclick") ? source.get("onclick") : source.get("onchange");
+        Matcher behavior = AJAX_BEHAVIOR.matcher(handler != null ? handler : "");
+        if (form == null || !behavior.find()) {
+            throw new IllegalStateException("No se puede enviar " + sourceId + " (formulario " + formId + ")");
+        }
+        String execute = ids(behavior.group(2), sourceId, formId);
+        String render = ids(behavior.group(3), sourceId, formId);
+        if (execute == null) {
+            execute = sourceId;
+        } else if (!execute.contains("@all") && !(" " + execute + " ").contains(" " + sourceId + " ")) {
+            execute = sourceId + " " + execute; // jsf.js siempre ejecuta el componente que disparó el envío
+        }
+
+        Map<String, String> params = fields(form);
+        params.putAll(values);
+        params.put(VIEW_STATE, viewState);
+        params.put("javax.faces.source", sourceId);
+        params.put("javax.faces.partial.event", event);
+        params.put("javax.faces.partial.execute", execute);
+        if (render != null) {
+            params.put("javax.faces.partial.render", render);
+        }
+        params.put("javax.faces.behavior.event", behavior.group(1));
+        params.put("javax.faces.partial.ajax", "true");
+
+        Map<String, String> formTag = startTag(form);
+        HttpURLConnection connection = open(resolve(formTag.get("action")));
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Faces-Request", "partial/ajax");
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8");
+        byte[] body = encode(params);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        Response response = read(connection);
+        if (response.status == HttpURLConnection.HTTP_OK) {
+            Matcher updates = UPDATE.matcher(response.body);
+            while (updates.find()) {
+                if (updates.group(1).contains(VIEW_STATE)) {
+                    viewState = updates.group(2);
+                } else {
+                    fragments.put(updates.group(1), updates.group(2));
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * @return El HTML más reciente del componente (un formulario, o una parte que se
+     *         volvió a pintar), o null si no se ha recibido.
+     */
+    String fragment(String clientId) {
+        return fragments.get(clientId);
+    }
+
+    // --- HTML ---
+
+    /**
+     * @return Los atributos de los &lt;input&gt; de 'html' con ese 'value' (ej: "EDITAR").
+     */
+    static List<Map<String, String>> buttons(String html, String value) {
+        List<Map<String, String>> buttons = new ArrayList<>();
+        Matcher inputs = INPUT.matcher(html);
+        while (inputs.find()) {
+            Map<String, String> input = attributes(inputs.group(1));
+            if ("submit".equals(input.get("type")) && value.equals(input.get("value"))) {
+                buttons.add(input);
+            }
+        }
+        return buttons;
+    }
+
+    /**
+     * @return Los atributos del &lt;input&gt; o &lt;select&gt; con ese ID, o null.
+     */
+    static Map<String, String> find(String html, String id) {
+        Matcher inputs = INPUT.matcher(html);
+        while (inputs.find()) {
+            Map<String, String> input = attributes(inputs.group(1));
+            if (id.equals(input.get("id"))) {
+                return input;
+            }
+        }
+        Matcher selects = SELECT.matcher(html);
+        while (selects.find()) {
+            Map<String, String> select = attributes(selects.group(1));
+            if (id.equals(select.get("id"))) {
+                return select;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Los valores de las opciones del &lt;select&gt; con ese ID (sin la opción vacía).
+     */
+    static List<String> options(String html, String id) {
+        List<String> values = new ArrayList<>();
+        Matcher selects = SELECT.matcher(html);
+        while (selects.find()) {
+            if (id.equals(attributes(selects.group(1)).get("id"))) {
+                Matcher options = OPTION.matcher(selects.group(2));
+                while (options.find()) {
+                    String value = attributes(options.group(1)).get("value");
+                    if (value != null && !value.isEmpty()) {
+                        values.add(value);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Los campos que el navegador enviaría con el formulario: textos y ocultos, casillas
+     * marcadas y la opción elegida de cada lista (los botones no).
+     */
+    static Map<String, String> fields(String form) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        Matcher inputs = INPUT.matcher(form);
+        while (inputs.find()) {
+            Map<String, String> input = attributes(inputs.group(1));
+            String name = input.get("name");
+            String type = input.containsKey("type") ? input.get("type") : "text";
+            if (name == null || type.equals("submit") || type.equals("button") || type.equals("reset")
+                    || type.equals("image")) {
+                continue;
+            }
+            if ((type.equals("checkbox") || type.equals("radio")) && !input.containsKey("checked")) {
+                continue;
+            }
+            fields.put(name, input.containsKey("value") ? input.get("value") : "on");
+        }
+        Matcher selects = SELECT.matcher(form);
+        while (selects.find()) {
+            String name = attributes(selects.group(1)).get("name");
+            if (name == null) {
+                continue;
+            }
+            String value = null;
+            Matcher options = OPTION.matcher(selects.group(2));
+            while (options.find()) {
+                Map<String, String> option = attributes(options.group(1));
+                if (value == null || option.containsKey("selected")) {
+                    value = option.containsKey("value") ? option.get("value") : "";
+                }
+            }
+            fields.put(name, value != null ? value : "");
+        }
+        return fields;
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private HttpURLConnection open(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MS);
+        connection.setReadTimeout(TIMEOUT_MS);
+        connection.setInstanceFollowRedirects(false);
+        if (!cookies.isEmpty()) {
+            StringBuilder header = new StringBuilder();
+            for (Map.Entry<String, String> cookie : cookies.entrySet()) {
+                if (header.length() > 0) {
+                    header.append("; ");
+                }
+                header.append(cookie.getKey()).append('=').append(cookie.getValue());
+            }
+            connection.setRequestProperty("Cookie", header.toString());
+        }
+        return connection;
+    }
+
+    /**
+     * Lee la respuesta completa (así la conexión vuelve al pool de keep-alive) y
+     * guarda las cookies nuevas.
+     */
+    private Response read(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        List<String> setCookies = connection.getHeaderFields().get("Set-Cookie");
+        if (setCookies != null) {
+            for (String setCookie : setCookies) {
+                String pair = setCookie.split(";", 2)[0];
+                int equals = pair.indexOf('=');
+                if (equals > 0) {
+                    cookies.put(pair.substring(0, equals).trim(), pair.substring(equals + 1).trim());
+                }
+            }
+        }
+        InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (in == null) {
+            return new Response(status, "");
+        }
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(16 * 1024);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+            return new Response(status, new String(body.toByteArray(), StandardCharsets.UTF_8));
+        } finally {
+            in.close();
+        }
+    }
+
+    private String resolve(String action) {
+        if (action == null) {
+            return pageUrl;
+        }
+        return action.startsWith("/") ? origin + action : action;
+    }
+
+    /**
+     * Los IDs de un argumento de mojarra.ab: 0 (por defecto) o una lista entre comillas.
+     */
+    private static String ids(String argument, String sourceId, String formId) {
+        if ("0".equals(argument)) {
+            return null;
+        }
+        String ids = argument.substring(1, argument.length() - 1).trim();
+        return ids.isEmpty() ? null : ids.replace("@this", sourceId).replace("@form", formId);
+    }
+
+    private static Map<String, String> startTag(String html) {
+        int end = html.indexOf('>');
+        return attributes(end > 0 ? html.substring(0, end) : html);
+    }
+
+    private static Map<String, String> attributes(String tag) {
+        Map<String, String> attributes = new HashMap<>();
+        Matcher matcher = ATTRIBUTE.matcher(tag);
+        while (matcher.find()) {
+            attributes.put(matcher.group(1), unescape(matcher.group(2)));
+        }
+        return attributes;
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&quot;", "\"").replace("&#39;", "'").replace("&lt;", "<").replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+
+    private static byte[] encode(Map<String, String> params) throws UnsupportedEncodingException {
+        StringBuilder body = new StringBuilder(512);
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(URLEncoder.encode(param.getKey(), "UTF-8")).append('=')
+                    .append(URLEncoder.encode(param.getValue() != null ? param.getValue() : "", "UTF-8"));
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,211 @@
+package com.udb.autores.directorioautores.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Prueba de carga de punta a punta: el WAR en un Tomcat embebido contra H2 en memoria,
+ * y muchos usuarios virtuales haciendo lo mismo que en el navegador (ver Action):
+ * FacesServlet, vista de AuthorBean, postbacks ajax, JPA y la BD.
+ *
+ * Uso (después de "mvn install" en la raíz y "mvn package" aquí; no necesita red):
+ *   java -jar target/loadtest.jar authors=100000 genres=20 users=100 warmup=15 seconds=120
+ *
+ * Imprime por acción: peticiones por segundo, errores, conflictos y percentiles de latencia;
+ * y deja lo mismo en JSON (result=...) para comparar corridas.
+ */
+public final class LoadTest {
+
+    private static final Logger LOG = Logger.getLogger(LoadTest.class.getName());
+
+    private static final String CONFIG = "/autores-loadtest.properties";
+    private static final double[] QUANTILES = {0.50, 0.90, 0.99, 1.0};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int authors = intOption(options, "authors", 10_000);
+        int genres = intOption(options, "genres", 10);
+        int users = intOption(options, "users", 50);
+        int warmupSeconds = intOption(options, "warmup", 10);
+        int seconds = intOption(options, "seconds", 60);
+        int thinkMs = intOption(options, "thinkMs", 0);
+        int port = intOption(options, "port", 0);
+        File war = new File(options.getOrDefault("war", "target/autores.war"));
+        String result = options.getOrDefault("result", "loadtest-result.json");
+
+        if (!war.isFile()) {
+            System.err.println("No se encontró " + war + ": ejecute \"mvn install\" en la raíz del proyecto"
+                    + " y luego \"mvn package\" en loadtest/");
+            System.exit(2);
+        }
+        // AppConfig lee este archivo del classpath (y -Dautores.* encima)
+        System.setProperty("autores.config", CONFIG);
+
+        // 1er arranque: Hibernate crea el esquema (y la fila de secuencia_id) en la BD en memoria
+        LOG.info("Creando el esquema");
+        System.setProperty("autores.jpa.hibernate.hbm2ddl.auto", "create");
+        EmbeddedServer.start(war, port).close();
+        System.clearProperty("autores.jpa.hibernate.hbm2ddl.auto");
+
+        LOG.info(String.format("Cargando %d autores en %d géneros", authors, genres));
+        DirectorySeeder.seed(CONFIG, authors, genres);
+
+        // 2do arranque: valida el esquema y precarga índices y cachés con los datos cargados
+        try (EmbeddedServer server = EmbeddedServer.start(war, port)) {
+            Run run = new Run(thinkMs);
+            List<VirtualUser> virtualUsers = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 1; i <= users; i++) {
+                VirtualUser user = new VirtualUser(i, server.getPageUrl(), run);
+                Thread thread = new Thread(user, "usuario-" + i);
+                virtualUsers.add(user);
+                threads.add(thread);
+                thread.start();
+            }
+            LOG.info(String.format("%d usuarios en %s; calentando %d s", users, server.getPageUrl(), warmupSeconds));
+            Thread.sleep(warmupSeconds * 1000L);
+
+            LOG.info(String.format("Midiendo %d s", seconds));
+            run.measuring = true;
+            Thread.sleep(seconds * 1000L);
+            run.stopped = true;
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            Map<Action, ActionStats> total = merge(virtualUsers);
+            printReport(total, seconds);
+            writeJson(Paths.get(result).toFile(), total, authors, genres, users, seconds);
+            LOG.info("Resultado en " + result);
+        }
+    }
+
+    /**
+     * Estado compartido de la corrida: los usuarios solo lo leen.
+     */
+    static final class Run {
+
+        private final int thinkMs;
+        volatile boolean measuring;
+        volatile boolean stopped;
+
+        Run(int thinkMs) {
+            this.thinkMs = thinkMs;
+        }
+
+        boolean isMeasuring() {
+            return measuring;
+        }
+
+        boolean isStopped() {
+            return stopped;
+        }
+
+        /**
+         * Pausa entre acciones (al azar, hasta el doble de thinkMs; 0 = sin pausa).
+         */
+        void think(Random random) {
+            if (thinkMs <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(random.nextInt(2 * thinkMs + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = true;
+            }
+        }
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private static Map<Action, ActionStats> merge(List<VirtualUser> users) {
+        Map<Action, ActionStats> total = new EnumMap<>(Action.class);
+        for (Action action : Action.values()) {
+            ActionStats stats = new ActionStats();
+            for (VirtualUser user : users) {
+                stats.addAll(user.getStats().get(action));
+            }
+            stats.sort();
+            total.put(action, stats);
+        }
+        return total;
+    }
+
+    private static void printReport(Map<Action, ActionStats> total, int seconds) {
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-20s %10s %8s %10s %9s %9s %9s %9s %9s",
+                "acción", "peticiones", "errores", "conflictos", "pet/s", "p50 ms", "p90 ms", "p99 ms", "máx ms"));
+        int requests = 0;
+        for (Map.Entry<Action, ActionStats> entry : total.entrySet()) {
+            ActionStats stats = entry.getValue();
+            requests += stats.getCount();
+            System.out.println(String.format(Locale.ROOT, "%-20s %10d %8d %10d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    entry.getKey().getLabel(), stats.getCount(), stats.getErrors(), stats.getConflicts(),
+                    (double) stats.getCount() / seconds,
+                    stats.getQuantileMillis(QUANTILES[0]), stats.getQuantileMillis(QUANTILES[1]),
+                    stats.getQuantileMillis(QUANTILES[2]), stats.getQuantileMillis(QUANTILES[3])));
+        }
+        System.out.println(String.format(Locale.ROOT, "%-20s %10d %8s %10s %9.1f",
+                "total", requests, "", "", (double) requests / seconds));
+    }
+
+    private static void writeJson(File file, Map<Action, ActionStats> total,
+            int authors, int genres, int users, int seconds) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            out.println("{");
+            out.println(String.format("  \"authors\": %d, \"genres\": %d, \"users\": %d, \"seconds\": %d,",
+                    authors, genres, users, seconds));
+            out.println("  \"actions\": {");
+            int i = 0;
+            for (Map.Entry<Action, ActionStats> entry : total.entrySet()) {
+                ActionStats stats = entry.getValue();
+                out.print(String.format(Locale.ROOT,
+                        "    \"%s\": {\"requests\": %d, \"errors\": %d, \"conflicts\": %d, \"throughput\": %.2f,"
+                                + " \"p50Ms\": %.3f, \"p90Ms\": %.3f, \"p99Ms\": %.3f, \"maxMs\": %.3f}",
+                        entry.getKey().name(), stats.getCount(), stats.getErrors(), stats.getConflicts(),
+                        (double) stats.getCount() / seconds,
+                        stats.getQuantileMillis(QUANTILES[0]), stats.getQuantileMillis(QUANTILES[1]),
+                        stats.getQuantileMillis(QUANTILES[2]), stats.getQuantileMillis(QUANTILES[3])));
+                out.println(++i < total.size() ? "," : "");
+            }
+            out.println("  }");
+            out.println("}");
+        }
+    }
+
+    /**
+     * Argumentos "llave=valor".
+     */
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera llave=valor): " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String key, int defaultValue) {
+        String value = options.get(key);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+}
@@ -0,0 +1,243 @@
+package com.udb.autores.directorioautores.loadtest;
+
+import com.udb.autores.directorioautores.loadtest.ActionStats.Outcome;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Un usuario con el navegador abierto en index.xhtml: repite acciones al azar
+ * (ver Action) hasta que termina la prueba, con su propia sesión y vista.
+ * Solo se miden las acciones que empiezan durante la medición (no el calentamiento).
+ */
+final class VirtualUser implements Runnable {
+
+    private static final Logger LOG = Logger.getLogger(VirtualUser.class.getName());
+
+    // Solo los primeros errores van al log completos (después, solo se cuentan)
+    private static final int MAX_LOGGED_ERRORS = 10;
+    private static final AtomicInteger LOGGED_ERRORS = new AtomicInteger();
+
+    private static final String AUTHOR_FORM = "formAutor";
+    private static final String DIRECTORY_FORM = "formDirectorio";
+    private static final String GENRE_FILTER = "formDirectorio:generoFiltro";
+    private static final String TABLE = "formDirectorio:tablaAutores";
+
+    private final int number;
+    private final LoadTest.Run run;
+    private final JsfSession session;
+    private final Random random;
+    private final Map<Action, ActionStats> stats = new EnumMap<>(Action.class);
+
+    private String filterGenreId = "0";
+    private int saved;
+
+    VirtualUser(int number, String pageUrl, LoadTest.Run run) {
+        this.number = number;
+        this.run = run;
+        this.session = new JsfSession(pageUrl);
+        this.random = new Random(number);
+        for (Action action : Action.values()) {
+            stats.put(action, new ActionStats());
+        }
+    }
+
+    Map<Action, ActionStats> getStats() {
+        return stats;
+    }
+
+    @Override
+    public void run() {
+        while (!run.isStopped()) {
+            Action action = session.hasView() ? Action.pick(random) : Action.PAGE_LOAD;
+            try {
+                perform(action);
+            } catch (RuntimeException e) {
+                logError(action, e.toString());
+            }
+            run.think(random);
+        }
+    }
+
+    // --- ACCIONES ---
+
+    private void perform(Action action) {
+        switch (action) {
+            case PAGE_LOAD:
+                loadPage();
+                break;
+            case FILTER_GENRE:
+                filterByGenre();
+                break;
+            case SAVE:
+                save();
+                break;
+            case OPEN_EDIT:
+                edit();
+                break;
+            case DELETE:
+                delete();
+                break;
+            default:
+                throw new IllegalArgumentException(action.name());
+        }
+    }
+
+    private void loadPage() {
+        if (request(Action.PAGE_LOAD, session::get) != Outcome.ERROR) {
+            filterGenreId = "0";
+        }
+    }
+
+    private void filterByGenre() {
+        String form = session.fragment(DIRECTORY_FORM);
+        List<String> genres = JsfSession.options(form, GENRE_FILTER); // Incluye "0" (todos)
+        String genreId = genres.get(random.nextInt(genres.size()));
+        Map<String, String> values = directoryValues();
+        values.put(GENRE_FILTER, genreId);
+        Map<String, String> select = JsfSession.find(form, GENRE_FILTER);
+        if (request(Action.FILTER_GENRE, () -> session.ajax(DIRECTORY_FORM, select, "change", values)) != Outcome.ERROR) {
+            filterGenreId = genreId;
+        }
+    }
+
+    private void save() {
+        String form = session.fragment(AUTHOR_FORM);
+        List<String> genres = JsfSession.options(form, AUTHOR_FORM + ":generoForm");
+        Map<String, String> values = new HashMap<>();
+        values.put(AUTHOR_FORM + ":nombre", "Autor de carga " + number + "-" + (++saved));
+        values.put(AUTHOR_FORM + ":fechaNacimiento", String.format("%d-%02d-%02d",
+                1900 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        values.put(AUTHOR_FORM + ":telefono", randomPhone());
+        values.put(AUTHOR_FORM + ":generoForm", genres.get(random.nextInt(genres.size())));
+        submitAuthorForm(Action.SAVE, form, values);
+    }
+
+    /**
+     * EDITAR en una fila de la tabla y, si el autor sigue ahí, guardar un teléfono nuevo.
+     */
+    private void edit() {
+        List<Map<String, String>> buttons = rowButtons("EDITAR");
+        if (buttons.isEmpty()) {
+            loadPage(); // Tabla vacía (ej: se borraron todos los del género)
+            return;
+        }
+        Map<String, String> button = buttons.get(random.nextInt(buttons.size()));
+        Outcome outcome = request(Action.OPEN_EDIT,
+                () -> session.ajax(DIRECTORY_FORM, button, "click", directoryValues()));
+        if (outcome != Outcome.OK) {
+            return;
+        }
+        submitAuthorForm(Action.UPDATE, session.fragment(AUTHOR_FORM),
+                Collections.singletonMap(AUTHOR_FORM + ":telefono", randomPhone()));
+    }
+
+    private void delete() {
+        List<Map<String, String>> buttons = rowButtons("BORRAR");
+        if (buttons.isEmpty()) {
+            loadPage();
+            return;
+        }
+        Map<String, String> button = buttons.get(random.nextInt(buttons.size()));
+        request(Action.DELETE, () -> session.ajax(DIRECTORY_FORM, button, "click", directoryValues()));
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    /**
+     * Ejecuta una petición, la mide (si empezó durante la medición) y clasifica la respuesta.
+     */
+    private Outcome request(Action action, Request request) {
+        boolean measured = run.isMeasuring();
+        long start = System.nanoTime();
+        Outcome outcome;
+        try {
+            JsfSession.Response response = request.send();
+            outcome = classify(action, response);
+            if (outcome == Outcome.ERROR) {
+                logError(action, "HTTP " + response.status + ": " + abbreviate(response.body));
+            }
+        } catch (IOException | RuntimeException e) {
+            outcome = Outcome.ERROR;
+            logError(action, e.toString());
+        }
+        if (measured) {
+            stats.get(action).record(System.nanoTime() - start, outcome);
+        }
+        return outcome;
+    }
+
+    private static Outcome classify(Action action, JsfSession.Response response) {
+        String body = response.body;
+        if (response.status != 200) {
+            return Outcome.ERROR;
+        }
+        if (action == Action.PAGE_LOAD) {
+            return body.contains(DIRECTORY_FORM) ? Outcome.OK : Outcome.ERROR;
+        }
+        // <error>: excepción en el servidor; <redirect>: la vista expiró
+        if (!body.contains("<partial-response") || body.contains("<error>") || body.contains("<redirect")) {
+            return Outcome.ERROR;
+        }
+        // Mensajes de h:messages: errores de validación o de AuthorBean ("No se pudo ...")
+        if (body.contains("<tr class=\"alert alert-danger\"")) {
+            return Outcome.ERROR;
+        }
+        if (body.contains("Conflicto") || body.contains("ya no existe")) {
+            return Outcome.CONFLICT;
+        }
+        return Outcome.OK;
+    }
+
+    private void submitAuthorForm(Action action, String form, Map<String, String> values) {
+        List<Map<String, String>> buttons = JsfSession.buttons(form, "AGREGAR");
+        if (buttons.isEmpty()) {
+            throw new IllegalStateException("No se encontró el botón AGREGAR");
+        }
+        Map<String, String> button = buttons.get(0);
+        request(action, () -> session.ajax(AUTHOR_FORM, button, "click", values));
+    }
+
+    /**
+     * @return Los botones de las filas, de la tabla más reciente.
+     */
+    private List<Map<String, String>> rowButtons(String value) {
+        String table = session.fragment(TABLE);
+        return JsfSession.buttons(table != null ? table : session.fragment(DIRECTORY_FORM), value);
+    }
+
+    /**
+     * El filtro elegido: el HTML del formulario es el de la carga de la página.
+     */
+    private Map<String, String> directoryValues() {
+        Map<String, String> values = new HashMap<>();
+        values.put(GENRE_FILTER, filterGenreId);
+        return values;
+    }
+
+    private String randomPhone() {
+        return String.format("7%03d-%04d", random.nextInt(1000), random.nextInt(10000));
+    }
+
+    private void logError(Action action, String detail) {
+        if (LOGGED_ERRORS.incrementAndGet() <= MAX_LOGGED_ERRORS) {
+            LOG.log(Level.WARNING, String.format("Usuario %d, %s: %s", number, action.getLabel(), detail));
+        }
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 500 ? body.substring(0, 500) + "..." : body;
+    }
+
+    private interface Request {
+        JsfSession.Response send() throws IOException;
+    }
+}
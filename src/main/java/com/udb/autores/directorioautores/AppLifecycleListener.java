@@ -0,0 +1,176 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.controller.AuthorBean;
+import com.udb.autores.directorioautores.model.AppConfig;
+import com.udb.autores.directorioautores.model.AuthorChangeEvents;
+import com.udb.autores.directorioautores.model.AuthorCounters;
+import com.udb.autores.directorioautores.model.AuthorNameIndex;
+import com.udb.autores.directorioautores.model.AuthorSearchIndex;
+import com.udb.autores.directorioautores.model.AuthorWriteQueue;
+import com.udb.autores.directorioautores.model.BirthDateIndex;
+import com.udb.autores.directorioautores.model.DataVersions;
+import com.udb.autores.directorioautores.model.DirectoryReadModel;
+import com.udb.autores.directorioautores.model.DirectorySnapshotFile;
+import com.udb.autores.directorioautores.model.JPAUtil;
+import com.udb.autores.directorioautores.model.ModelExecutor;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+/**
+ * Arranque y apagado de la aplicación.
+ * - Al arrancar: si hay una copia del directorio en disco, la carga primero (las
+ *   lecturas se responden desde ya y de la BD solo se piden los cambios posteriores).
+ *   Luego crea la conexión a la BD (Hibernate valida el esquema y compila
+ *   las consultas) y precarga las cachés de la primera vista, para que la primera
+ *   petición no pague ese costo; cada fase queda en el log con su duración.
+ * - Luego carga los índices en memoria (en segundo plano, para no
+ *   retrasar el despliegue) y programa su mantenimiento periódico.
+ * - Registra el envío de cambios a las páginas abiertas (AuthorPushBroadcaster).
+ * - Al apagar: cierra esas conexiones, confirma las escrituras que quedan en
+ *   AuthorWriteQueue, guarda la copia del directorio en disco, detiene las tareas
+ *   (incluido ModelExecutor) y cierra el pool de conexiones.
+ */
+@WebListener
+public class AppLifecycleListener implements ServletContextListener {
+
+    private static final Logger LOG = Logger.getLogger(AppLifecycleListener.class.getName());
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        long start = System.nanoTime();
+        // No necesita la BD: antes de la precarga, que así ya lee de memoria
+        boolean loadedFromFile = DirectoryReadModel.isEnabled() && DirectoryReadModel.getInstance().loadFile();
+        try {
+            JPAUtil.init();
+            if (AppConfig.getBoolean("startup.warmUp", true)) {
+                long warmUpStart = System.nanoTime();
+                AuthorBean.warmUp();
+                DataVersions.getInstance().getGenresVersion(); // Con los géneros recién cargados
+                LOG.info(String.format("Arranque: precarga de cachés en %d ms", (System.nanoTime() - warmUpStart) / 1_000_000));
+            }
+        } catch (RuntimeException e) {
+            // La aplicación se despliega igual; la conexión se reintenta en la primera petición
+            LOG.log(Level.SEVERE, "No se pudo preparar la BD al arrancar", e);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autores-mantenimiento");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AuthorNameIndex nameIndex = AuthorNameIndex.getInstance();
+        // Carga inicial; hasta que termine, la validación de duplicados usa la BD
+        scheduler.execute(() -> runTask("carga del índice de nombres", nameIndex::rebuild));
+        // Autores que insertaron otros servidores
+        long catchUpSeconds = AppConfig.getLong("nameIndex.catchUpSeconds", 10);
+        scheduler.scheduleWithFixedDelay(() -> runTask("actualización del índice de nombres", nameIndex::catchUp),
+                catchUpSeconds, catchUpSeconds, TimeUnit.SECONDS);
+        // Reconstrucción completa: limpia nombres borrados o renombrados
+        long rebuildMinutes = AppConfig.getLong("nameIndex.rebuildMinutes", 60);
+        scheduler.scheduleWithFixedDelay(() -> runTask("reconstrucción del índice de nombres", nameIndex::rebuild),
+                rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+
+        AuthorSearchIndex searchIndex = AuthorSearchIndex.getInstance();
+        // Hasta que termine la carga, la búsqueda consulta la BD (solo inicio del nombre)
+        scheduler.execute(() -> runTask("carga del índice de búsqueda", searchIndex::rebuild));
+        // Si el delta crece mucho (ej: una importación grande), se reconstruye antes
+        long compactSeconds = AppConfig.getLong("searchIndex.compactSeconds", 60);
+        int maxDeltaSize = AppConfig.getInt("searchIndex.maxDeltaSize", 10000);
+        scheduler.scheduleWithFixedDelay(
+                () -> runTask("compactación del índice de búsqueda", () -> searchIndex.compactIfNeeded(maxDeltaSize)),
+                compactSeconds, compactSeconds, TimeUnit.SECONDS);
+        // Reconstrucción completa: incorpora cambios hechos por otros servidores
+        long searchRebuildMinutes = AppConfig.getLong("searchIndex.rebuildMinutes", 15);
+        scheduler.scheduleWithFixedDelay(() -> runTask("reconstrucción del índice de búsqueda", searchIndex::rebuild),
+                searchRebuildMinutes, searchRebuildMinutes, TimeUnit.MINUTES);
+
+        if (DirectoryReadModel.isEnabled()) {
+            DirectoryReadModel readModel = DirectoryReadModel.getInstance();
+            if (loadedFromFile) {
+                // Solo los autores modificados o borrados desde que se guardó la copia
+                scheduler.execute(() -> runTask("actualización del modelo de lectura", readModel::catchUp));
+            } else {
+                // Hasta que termine la carga, las lecturas van a la BD
+                scheduler.execute(() -> runTask("carga del modelo de lectura", readModel::reconcile));
+            }
+            // Conciliación con la BD: incorpora cambios hechos por otros servidores
+            long reconcileMinutes = AppConfig.getLong("readModel.reconcileMinutes", 5);
+            scheduler.scheduleWithFixedDelay(() -> runTask("conciliación del modelo de lectura", readModel::reconcile),
+                    reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+            if (DirectorySnapshotFile.isEnabled()) {
+                // Una vez al terminar la carga (para el siguiente arranque) y luego periódicamente
+                scheduler.execute(() -> runTask("escritura de la copia del directorio", readModel::writeFile));
+                long writeMinutes = AppConfig.getLong("snapshotFile.writeMinutes", 10);
+                scheduler.scheduleWithFixedDelay(() -> runTask("escritura de la copia del directorio", readModel::writeFile),
+                        writeMinutes, writeMinutes, TimeUnit.MINUTES);
+            }
+        }
+
+        if (AuthorCounters.isEnabled()) {
+            AuthorCounters counters = AuthorCounters.getInstance();
+            // Hasta la primera conciliación, los conteos consultan la BD
+            scheduler.execute(() -> runTask("carga de los contadores de autores", counters::reconcile));
+            // COUNT ... GROUP BY periódico: incorpora cambios hechos por otros servidores
+            long countersSeconds = AppConfig.getLong("counters.reconcileSeconds", 60);
+            scheduler.scheduleWithFixedDelay(() -> runTask("conciliación de los contadores de autores", counters::reconcile),
+                    countersSeconds, countersSeconds, TimeUnit.SECONDS);
+        }
+
+        if (BirthDateIndex.isEnabled()) {
+            BirthDateIndex birthDateIndex = BirthDateIndex.getInstance();
+            // Hasta que termine la carga, los conteos por fecha consultan la BD
+            scheduler.execute(() -> runTask("carga del índice de fechas de nacimiento", birthDateIndex::rebuild));
+            // Reconstrucción completa: incorpora cambios hechos por otros servidores
+            long birthRebuildMinutes = AppConfig.getLong("birthDateIndex.rebuildMinutes", 10);
+            scheduler.scheduleWithFixedDelay(
+                    () -> runTask("reconstrucción del índice de fechas de nacimiento", birthDateIndex::rebuild),
+                    birthRebuildMinutes, birthRebuildMinutes, TimeUnit.MINUTES);
+        }
+
+        if (AuthorPushBroadcaster.isEnabled()) {
+            AuthorChangeEvents.register(AuthorPushBroadcaster.getInstance());
+        }
+        LOG.info(String.format("Arranque: aplicación lista en %d ms (los índices siguen cargando en segundo plano)",
+                (System.nanoTime() - start) / 1_000_000));
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        AuthorChangeEvents.unregister(AuthorPushBroadcaster.getInstance());
+        AuthorPushBroadcaster.getInstance().closeAll();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        AuthorWriteQueue.getInstance().shutdown(); // Antes de cerrar el pool
+        // Con las últimas escrituras: el siguiente arranque tendrá menos cambios que pedir
+        runTask("escritura de la copia del directorio", DirectoryReadModel.getInstance()::writeFile);
+        ModelExecutor.getInstance().shutdown();
+        JPAUtil.shutdown();
+    }
+
+    /**
+     * Ejecuta una tarea de mantenimiento; si falla, se registra y se reintenta en la
+     * siguiente ejecución programada (una excepción cancelaría la programación).
+     */
+    private static void runTask(String description, Task task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Falló la " + description, e);
+        }
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+}
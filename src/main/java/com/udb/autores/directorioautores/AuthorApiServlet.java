@@ -0,0 +1,136 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorModel;
+import com.udb.autores.directorioautores.model.DataVersions;
+import com.udb.autores.directorioautores.model.ReadYourWrites;
+
+import java.io.*;
+import javax.servlet.http.*;
+import javax.servlet.annotation.*;
+
+/**
+ * API JSON (solo lectura) de autores.
+ * - /api/autores?genero=ID&despues=ID&limite=N
+ *   Una página en orden de ID: {"autores":[...],"siguiente":ID o null}.
+ *   Para la página siguiente se pasa despues=siguiente (paginación por llave).
+ * - /api/autores/{id}
+ *   Un autor, o 404.
+ * - /api/autores?telefono=7123-4567
+ *   El autor que tiene ese teléfono, o 404.
+ * Las respuestas llevan un ETag con la versión de la tabla 'autor'; con
+ * If-None-Match se responde 304 sin tocar la BD si nada cambió.
+ * Las filas se escriben a la respuesta a medida que llegan (sin entidades).
+ * Se lee de una réplica, salvo justo después de un cambio (ver doGet).
+ */
+@WebServlet(name = "authorApiServlet", value = {"/api/autores", "/api/autores/*"})
+public class AuthorApiServlet extends HttpServlet {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo();
+        Integer id = null;
+        if (path != null && !path.equals("/")) {
+            id = parseId(path.substring(1));
+            if (id == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        }
+
+        // La versión se lee ANTES de consultar: si algo cambia mientras tanto,
+        // la siguiente petición tendrá otro ETag y recibirá los datos nuevos.
+        if (HttpCaching.notModified(request, response, DataVersions.getInstance().getAuthorsVersion())) {
+            return;
+        }
+        // Si la tabla cambió hace poco, una réplica podría no tener el cambio todavía
+        // y el ETag nuevo quedaría pegado a datos viejos: se lee del primario
+        long changedAt = DataVersions.getInstance().getAuthorsChangedAt();
+        if (System.currentTimeMillis() - changedAt < ReadYourWrites.getWindowMillis()) {
+            ReadYourWrites.pinCurrentRequest();
+        }
+        String phone = request.getParameter("telefono");
+        if (id != null) {
+            writeAuthor(response, id);
+        } else if (phone != null) {
+            writeAuthorByPhone(response, phone);
+        } else {
+            writePage(request, response);
+        }
+    }
+
+    private static void writeAuthor(HttpServletResponse response, int id) throws IOException {
+        // Se arma en memoria (es un solo autor) para poder responder 404 si no existe
+        final StringWriter body = new StringWriter(256);
+        boolean found = new AuthorModel().findAuthorRowById(id,
+                (authorId, name, phone, birthDate, genreName) ->
+                        JsonWriter.writeAuthor(body, authorId, name, phone, birthDate, genreName));
+        if (!found) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        setJson(response);
+        response.getWriter().write(body.toString());
+    }
+
+    private static void writeAuthorByPhone(HttpServletResponse response, String phone) throws IOException {
+        Author author = new AuthorModel().findAuthorByPhone(phone.trim());
+        if (author == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        setJson(response);
+        Writer out = response.getWriter();
+        JsonWriter.writeAuthor(out, author.getId(), author.getName(), author.getPhone(), author.getBirthDate(),
+                author.getLiteraryGenre() != null ? author.getLiteraryGenre().getName() : null);
+    }
+
+    private static void writePage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int genreId = parseInt(request.getParameter("genero"), 0);
+        int afterId = parseInt(request.getParameter("despues"), 0);
+        int limit = Math.max(1, Math.min(parseInt(request.getParameter("limite"), DEFAULT_LIMIT), MAX_LIMIT));
+
+        setJson(response);
+        final Writer out = new BufferedWriter(response.getWriter());
+        out.write("{\"autores\":[");
+        final int[] lastId = {0};
+        int count = new AuthorModel().findAuthorRows(genreId, afterId, limit,
+                (id, name, phone, birthDate, genreName) -> {
+                    if (lastId[0] != 0) {
+                        out.write(',');
+                    }
+                    JsonWriter.writeAuthor(out, id, name, phone, birthDate, genreName);
+                    lastId[0] = id;
+                });
+        out.write("],\"siguiente\":");
+        // Página llena: puede haber más. Página incompleta: era la última.
+        out.write(count == limit ? Integer.toString(lastId[0]) : "null");
+        out.write('}');
+        out.flush();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private static void setJson(HttpServletResponse response) {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+    }
+
+    private static Integer parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.model.AppConfig;
+import com.udb.autores.directorioautores.model.AuthorModel;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.*;
+import javax.servlet.annotation.*;
+
+/**
+ * Exportación del directorio completo (o de un género) en CSV o JSON.
+ * Uso: /autores/exportar?formato=csv|json&genero=ID&gzip=true
+ * Los autores se escriben a la respuesta a medida que llegan de la BD,
+ * así que la memoria usada es la misma para 1 mil o 10 millones de autores.
+ * La compresión gzip se activa con gzip=true o si el cliente la acepta en
+ * "Accept-Encoding" (ej: "gzip", "*"; no con "gzip;q=0").
+ */
+@WebServlet(name = "authorExportServlet", value = "/autores/exportar")
+public class AuthorExportServlet extends HttpServlet {
+
+    private static final Logger LOG = Logger.getLogger(AuthorExportServlet.class.getName());
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Filas por viaje a la BD; se ajusta en autores.properties
+    private final int fetchSize = AppConfig.getInt("export.fetchSize", 1000);
+
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean json = "json".equalsIgnoreCase(request.getParameter("formato"));
+        int genreId = parseGenreId(request.getParameter("genero"));
+        boolean forceGzip = "true".equalsIgnoreCase(request.getParameter("gzip"));
+        boolean gzip = forceGzip || acceptsGzip(request.getHeader("Accept-Encoding"));
+
+        response.setContentType(json ? "application/json" : "text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"autores." + (json ? "json" : "csv") + "\"");
+        if (!forceGzip) {
+            // La respuesta depende del encabezado: las cachés intermedias deben distinguirla
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+
+        long start = System.nanoTime();
+        CountingOutputStream sent = new CountingOutputStream(response.getOutputStream());
+        OutputStream body = gzip ? new GZIPOutputStream(sent, BUFFER_SIZE) : sent;
+        CountingOutputStream raw = new CountingOutputStream(body);
+        Writer out = new BufferedWriter(new OutputStreamWriter(raw, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long count = json ? writeJson(out, genreId) : writeCsv(out, genreId);
+        out.close(); // Termina el gzip y envía lo que quede en el buffer
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        LOG.info(String.format("Exportación %s: %d autores, %d bytes (%d sin comprimir) en %.2f s = %.0f bytes/s",
+                json ? "JSON" : "CSV", count, sent.count, raw.count, seconds,
+                seconds == 0 ? 0 : sent.count / seconds));
+    }
+
+    private long writeCsv(final Writer out, int genreId) throws IOException {
+        out.write("id,nombre,telefono,fecha_nacimiento,genero\n");
+        return new AuthorModel().forEachAuthorRow(genreId, fetchSize, (id, name, phone, birthDate, genreName) -> {
+            out.write(Integer.toString(id));
+            out.write(',');
+            writeCsvField(out, name);
+            out.write(',');
+            writeCsvField(out, phone);
+            out.write(',');
+            writeCsvField(out, JsonWriter.isoDate(birthDate));
+            out.write(',');
+            writeCsvField(out, genreName);
+            out.write('\n');
+        });
+    }
+
+    private long writeJson(final Writer out, int genreId) throws IOException {
+        out.write('[');
+        final boolean[] first = {true};
+        long count = new AuthorModel().forEachAuthorRow(genreId, fetchSize, (id, name, phone, birthDate, genreName) -> {
+            if (!first[0]) {
+                out.write(',');
+            }
+            first[0] = false;
+            out.write('\n');
+            JsonWriter.writeAuthor(out, id, name, phone, birthDate, genreName);
+        });
+        out.write("\n]\n");
+        return count;
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    /**
+     * "gzip, deflate" -> true; "gzip;q=0" -> false; "*;q=0.5" -> true (sin una entrada gzip).
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQ = null;
+        Double anyQ = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0; // q inválido: no se acepta
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = gzipQ == null ? q : Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                anyQ = q;
+            }
+        }
+        if (gzipQ != null) {
+            return gzipQ > 0;
+        }
+        return anyQ != null && anyQ > 0;
+    }
+
+    private static int parseGenreId(String value) {
+        try {
+            return value == null || value.isEmpty() ? 0 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Cuenta los bytes que pasan por el stream (para medir bytes/s).
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.model.AuthorImporter;
+import com.udb.autores.directorioautores.model.ImportReport;
+
+import java.io.*;
+import javax.servlet.http.*;
+import javax.servlet.annotation.*;
+
+/**
+ * Importación masiva de autores.
+ * Uso: curl -X POST --data-binary @autores.csv -H "Content-Type: text/csv" \
+ *           http://localhost:8080/Directorio-Autores/autores/importar
+ * La respuesta lista las filas rechazadas (linea,motivo,contenido) a medida
+ * que aparecen y al final el resumen con las filas por segundo.
+ */
+@WebServlet(name = "authorImportServlet", value = "/autores/importar")
+public class AuthorImportServlet extends HttpServlet {
+
+    public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding("UTF-8");
+        }
+        response.setContentType("text/plain");
+        response.setCharacterEncoding("UTF-8");
+
+        PrintWriter out = response.getWriter();
+        out.println("# Filas rechazadas: linea,motivo,contenido");
+        ImportReport report = new AuthorImporter().importCsv(request.getReader(), out);
+
+        // Si hubo un error de BD, el resumen lo incluye; las filas confirmadas
+        // antes del error sí quedaron guardadas.
+        out.println("# Resumen: " + report);
+    }
+}
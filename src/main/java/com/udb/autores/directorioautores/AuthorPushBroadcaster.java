@@ -0,0 +1,241 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.model.AppConfig;
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorChangeListener;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.websocket.CloseReason;
+import javax.websocket.Session;
+
+/**
+ * Envía los cambios de autores a las páginas abiertas (AuthorPushEndpoint), para que
+ * el navegador actualice solo la fila que cambió en vez de volver a pedir la tabla.
+ * Mensajes (JSON, el autor con el mismo formato que la API):
+ * - {"tipo":"agregado","generoId":1,"autor":{...}}
+ * - {"tipo":"actualizado","generoId":1,"generoAnteriorId":2,"autor":{...}}
+ * - {"tipo":"eliminado","id":5,"generoId":1}
+ * - {"tipo":"recargar"}: lotes grandes (importaciones); la página vuelve a pedir la tabla.
+ * El JSON se arma una sola vez por cambio y se comparte entre todas las sesiones.
+ * Cada sesión tiene su cola y envía un mensaje a la vez (asíncrono), así quien
+ * guarda nunca espera por la red; si una sesión acumula demasiados mensajes
+ * (conexión lenta) se cierra, y al reconectarse la página vuelve a pedir la tabla.
+ * Solo llegan los cambios hechos en este servidor (como AuthorQueryCache).
+ */
+public final class AuthorPushBroadcaster implements AuthorChangeListener {
+
+    private static final Logger LOG = Logger.getLogger(AuthorPushBroadcaster.class.getName());
+
+    private static final boolean ENABLED = AppConfig.getBoolean("push.enabled", true);
+    private static final int MAX_QUEUED = AppConfig.getInt("push.maxQueuedMessages", 256);
+    private static final int MAX_BATCH_EVENTS = AppConfig.getInt("push.maxBatchEvents", 100);
+    private static final String RELOAD = "{\"tipo\":\"recargar\"}";
+
+    private static final AuthorPushBroadcaster INSTANCE = new AuthorPushBroadcaster();
+
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder slowClients = new LongAdder();
+
+    private AuthorPushBroadcaster() {
+    }
+
+    public static AuthorPushBroadcaster getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    void open(Session session) {
+        clients.put(session.getId(), new Client(session));
+    }
+
+    void close(Session session) {
+        clients.remove(session.getId());
+    }
+
+    /**
+     * Cierra todas las sesiones (al apagar la aplicación).
+     */
+    void closeAll() {
+        for (Client client : clients.values()) {
+            client.close(CloseReason.CloseCodes.GOING_AWAY, "Servidor detenido");
+        }
+        clients.clear();
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+
+    @Override
+    public void authorSaved(Author author) {
+        broadcast(authorEvent("agregado", author, null));
+    }
+
+    @Override
+    public void authorUpdated(Author before, Author after) {
+        broadcast(authorEvent("actualizado", after, before));
+    }
+
+    @Override
+    public void authorDeleted(Author author) {
+        broadcast(deletedEvent(author));
+    }
+
+    @Override
+    public void authorsSaved(List<Author> authors) {
+        if (authors.size() > MAX_BATCH_EVENTS) {
+            broadcast(RELOAD);
+            return;
+        }
+        for (Author author : authors) {
+            authorSaved(author);
+        }
+    }
+
+    @Override
+    public void authorsDeleted(List<Author> authors) {
+        if (authors.size() > MAX_BATCH_EVENTS) {
+            broadcast(RELOAD);
+            return;
+        }
+        for (Author author : authors) {
+            authorDeleted(author);
+        }
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    public long getMessageCount() {
+        return messages.sum();
+    }
+
+    public long getSlowClientCount() {
+        return slowClients.sum();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private void broadcast(String message) {
+        for (Client client : clients.values()) {
+            client.send(message);
+        }
+    }
+
+    private static String authorEvent(String type, Author author, Author before) {
+        StringWriter out = new StringWriter(192);
+        try {
+            out.write("{\"tipo\":\"");
+            out.write(type);
+            out.write("\",\"generoId\":");
+            out.write(Integer.toString(genreId(author)));
+            if (before != null) {
+                out.write(",\"generoAnteriorId\":");
+                out.write(Integer.toString(genreId(before)));
+            }
+            out.write(",\"autor\":");
+            JsonWriter.writeAuthor(out, author.getId(), author.getName(), author.getPhone(), author.getBirthDate(),
+                    author.getLiteraryGenre() != null ? author.getLiteraryGenre().getName() : null);
+            out.write('}');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter no lanza IOException
+        }
+        return out.toString();
+    }
+
+    private static String deletedEvent(Author author) {
+        return "{\"tipo\":\"eliminado\",\"id\":" + author.getId() + ",\"generoId\":" + genreId(author) + "}";
+    }
+
+    private static int genreId(Author author) {
+        return author.getLiteraryGenre() != null ? author.getLiteraryGenre().getId() : 0;
+    }
+
+    /**
+     * Una página conectada: sus mensajes pendientes y si hay un envío en curso.
+     */
+    private final class Client {
+
+        private final Session session;
+        private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Client(Session session) {
+            this.session = session;
+        }
+
+        void send(String message) {
+            if (queued.incrementAndGet() > MAX_QUEUED) {
+                slowClients.increment();
+                clients.remove(session.getId());
+                close(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Demasiados cambios pendientes");
+                return;
+            }
+            queue.offer(message);
+            sendNext();
+        }
+
+        /**
+         * Envía el siguiente mensaje si no hay otro en curso; al terminar cada
+         * envío se sigue con el próximo (el contenedor no permite dos a la vez).
+         */
+        private void sendNext() {
+            while (sending.compareAndSet(false, true)) {
+                String message = queue.poll();
+                if (message == null) {
+                    sending.set(false);
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    continue; // Llegó un mensaje justo antes de liberar 'sending'
+                }
+                queued.decrementAndGet();
+                try {
+                    session.getAsyncRemote().sendText(message, result -> {
+                        sending.set(false);
+                        if (result.isOK()) {
+                            messages.increment();
+                            sendNext();
+                        } else {
+                            clients.remove(session.getId());
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // Sesión cerrada mientras tanto; @OnClose la quita
+                    sending.set(false);
+                    clients.remove(session.getId());
+                }
+                return;
+            }
+        }
+
+        void close(CloseReason.CloseCode code, String reason) {
+            try {
+                if (session.isOpen()) {
+                    session.close(new CloseReason(code, reason));
+                }
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "No se pudo cerrar la sesión " + session.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.udb.autores.directorioautores;
+
+import java.io.IOException;
+import javax.websocket.OnClose;
+import javax.websocket.OnError;
+import javax.websocket.OnOpen;
+import javax.websocket.Session;
+import javax.websocket.server.ServerEndpoint;
+
+/**
+ * WebSocket por el que index.xhtml recibe los cambios de autores (ver
+ * AuthorPushBroadcaster). Solo envía: los mensajes del navegador se ignoran.
+ */
+@ServerEndpoint("/ws/autores")
+public class AuthorPushEndpoint {
+
+    @OnOpen
+    public void open(Session session) {
+        if (!AuthorPushBroadcaster.isEnabled()) {
+            try {
+                session.close();
+            } catch (IOException e) {
+                // Ya estaba cerrada
+            }
+            return;
+        }
+        AuthorPushBroadcaster.getInstance().open(session);
+    }
+
+    @OnClose
+    public void close(Session session) {
+        AuthorPushBroadcaster.getInstance().close(session);
+    }
+
+    @OnError
+    public void error(Session session, Throwable error) {
+        AuthorPushBroadcaster.getInstance().close(session);
+    }
+}
@@ -0,0 +1,57 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.model.AuthorModel;
+import com.udb.autores.directorioautores.model.AuthorSuggestion;
+
+import java.io.*;
+import java.util.List;
+import javax.servlet.http.*;
+import javax.servlet.annotation.*;
+
+/**
+ * Búsqueda de autores mientras se escribe (typeahead).
+ * Uso: /autores/buscar?q=garc&limite=10
+ * Responde JSON: [{"id":1,"nombre":"Gabriel García Márquez"}, ...]
+ * Busca desde el inicio de cualquier palabra, sin distinguir tildes ni mayúsculas.
+ */
+@WebServlet(name = "authorSearchServlet", value = "/autores/buscar")
+public class AuthorSearchServlet extends HttpServlet {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String term = request.getParameter("q");
+        int limit = parseLimit(request.getParameter("limite"));
+        List<AuthorSuggestion> suggestions = new AuthorModel().searchAuthorsByPrefix(term, limit);
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        Writer out = response.getWriter();
+        out.write('[');
+        for (int i = 0; i < suggestions.size(); i++) {
+            AuthorSuggestion suggestion = suggestions.get(i);
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write("{\"id\":");
+            out.write(Integer.toString(suggestion.getId()));
+            out.write(",\"nombre\":");
+            JsonWriter.writeString(out, suggestion.getName());
+            out.write('}');
+        }
+        out.write(']');
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private static int parseLimit(String value) {
+        try {
+            int limit = value == null || value.isEmpty() ? DEFAULT_LIMIT : Integer.parseInt(value);
+            return Math.max(1, Math.min(limit, MAX_LIMIT));
+        } catch (NumberFormatException e) {
+            return DEFAULT_LIMIT;
+        }
+    }
+}
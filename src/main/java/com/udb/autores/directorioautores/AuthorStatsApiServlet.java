@@ -0,0 +1,178 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.model.AgeDistribution;
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorModel;
+import com.udb.autores.directorioautores.model.DataVersions;
+import com.udb.autores.directorioautores.model.ReadYourWrites;
+
+import java.io.*;
+import java.util.Date;
+import java.util.List;
+import javax.servlet.http.*;
+import javax.servlet.annotation.*;
+
+/**
+ * API JSON (solo lectura) de fechas de nacimiento y edades.
+ * - /api/estadisticas/edades?genero=ID&anios=10
+ *   Autores por rango de edad: {"fecha":"yyyy-MM-dd","anios":10,"rangos":["0-9",...],
+ *   "total":[...],"generos":[{"id":1,"conteos":[...]}, ...]} (id 0 = sin género).
+ * - /api/estadisticas/nacimientos?desde=yyyy-MM-dd&hasta=yyyy-MM-dd&genero=ID
+ *   Cuántos autores nacieron en el rango: {"total":N}. Con limite=N agrega
+ *   "autores" (en orden de fecha de nacimiento) y "siguiente":{"fecha":..,"id":..};
+ *   para la página siguiente se pasan despuesFecha y despues con esos valores.
+ * Todo se calcula en la BD con GROUP BY/COUNT (o en BirthDateIndex), sin cargar
+ * autores salvo la página pedida. Mismo ETag y réplicas que AuthorApiServlet.
+ */
+@WebServlet(name = "authorStatsApiServlet", value = {"/api/estadisticas/edades", "/api/estadisticas/nacimientos"})
+public class AuthorStatsApiServlet extends HttpServlet {
+
+    private static final int DEFAULT_BUCKET_YEARS = 10;
+    private static final int MAX_LIMIT = 500;
+
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (HttpCaching.notModified(request, response, DataVersions.getInstance().getAuthorsVersion())) {
+            return;
+        }
+        long changedAt = DataVersions.getInstance().getAuthorsChangedAt();
+        if (System.currentTimeMillis() - changedAt < ReadYourWrites.getWindowMillis()) {
+            ReadYourWrites.pinCurrentRequest();
+        }
+        if (request.getServletPath().endsWith("/edades")) {
+            writeAges(request, response);
+        } else {
+            writeBirths(request, response);
+        }
+    }
+
+    private static void writeAges(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int genreId = parseInt(request.getParameter("genero"), 0);
+        int bucketYears = parseInt(request.getParameter("anios"), DEFAULT_BUCKET_YEARS);
+        AgeDistribution ages = new AuthorModel().getAgeDistribution(genreId, bucketYears);
+        if (ages == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        setJson(response);
+        Writer out = response.getWriter();
+        out.write("{\"fecha\":");
+        JsonWriter.writeString(out, ages.getAsOf().toString());
+        out.write(",\"anios\":");
+        out.write(Integer.toString(ages.getBucketYears()));
+        out.write(",\"rangos\":[");
+        for (int i = 0; i < ages.getBucketCount(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            JsonWriter.writeString(out, ages.getLabel(i));
+        }
+        out.write("],\"total\":");
+        writeCounts(out, ages.getTotals());
+        out.write(",\"generos\":[");
+        List<Integer> genreIds = ages.getGenreIds();
+        for (int i = 0; i < genreIds.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write("{\"id\":");
+            out.write(Integer.toString(genreIds.get(i)));
+            out.write(",\"conteos\":");
+            writeCounts(out, ages.getCounts(genreIds.get(i)));
+            out.write('}');
+        }
+        out.write("]}");
+    }
+
+    private static void writeBirths(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Date from;
+        Date to;
+        Date afterDate;
+        try {
+            from = parseDate(request.getParameter("desde"));
+            to = parseDate(request.getParameter("hasta"));
+            afterDate = parseDate(request.getParameter("despuesFecha"));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Fecha inválida (se espera yyyy-MM-dd)");
+            return;
+        }
+        int genreId = parseInt(request.getParameter("genero"), 0);
+        int afterId = parseInt(request.getParameter("despues"), 0);
+        int limit = Math.max(0, Math.min(parseInt(request.getParameter("limite"), 0), MAX_LIMIT));
+
+        AuthorModel authorModel = new AuthorModel();
+        List<Author> authors = null;
+        if (limit > 0) {
+            authors = authorModel.findAuthorsBornBetween(from, to, genreId, afterDate, afterId, limit);
+            if (authors == null) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return;
+            }
+        }
+        long total = authorModel.countAuthorsBornBetween(from, to, genreId);
+
+        setJson(response);
+        Writer out = new BufferedWriter(response.getWriter());
+        out.write("{\"total\":");
+        out.write(Long.toString(total));
+        if (authors != null) {
+            out.write(",\"autores\":[");
+            for (int i = 0; i < authors.size(); i++) {
+                Author author = authors.get(i);
+                if (i > 0) {
+                    out.write(',');
+                }
+                JsonWriter.writeAuthor(out, author.getId(), author.getName(), author.getPhone(), author.getBirthDate(),
+                        author.getLiteraryGenre() != null ? author.getLiteraryGenre().getName() : null);
+            }
+            out.write("],\"siguiente\":");
+            // Página llena: puede haber más. Página incompleta: era la última.
+            if (authors.size() == limit) {
+                Author last = authors.get(authors.size() - 1);
+                out.write("{\"fecha\":");
+                JsonWriter.writeString(out, JsonWriter.isoDate(last.getBirthDate()));
+                out.write(",\"id\":");
+                out.write(Integer.toString(last.getId()));
+                out.write('}');
+            } else {
+                out.write("null");
+            }
+        }
+        out.write('}');
+        out.flush();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private static void writeCounts(Writer out, long[] counts) throws IOException {
+        out.write('[');
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(Long.toString(counts[i]));
+        }
+        out.write(']');
+    }
+
+    private static void setJson(HttpServletResponse response) {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+    }
+
+    /**
+     * "yyyy-MM-dd" -> fecha; vacío -> null (sin límite).
+     * @throws IllegalArgumentException Si no tiene ese formato.
+     */
+    private static Date parseDate(String value) {
+        return value == null || value.isEmpty() ? null : java.sql.Date.valueOf(value.trim());
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
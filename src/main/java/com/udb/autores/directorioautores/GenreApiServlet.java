@@ -0,0 +1,48 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.model.DataVersions;
+import com.udb.autores.directorioautores.model.LiteraryGenre;
+import com.udb.autores.directorioautores.model.LiteraryGenreModel;
+
+import java.io.*;
+import java.util.List;
+import javax.servlet.http.*;
+import javax.servlet.annotation.*;
+
+/**
+ * API JSON (solo lectura) de géneros literarios.
+ * Uso: /api/generos -> [{"id":1,"nombre":"Novela"}, ...]
+ * Con ETag: mientras los géneros no cambien se responde 304.
+ */
+@WebServlet(name = "genreApiServlet", value = "/api/generos")
+public class GenreApiServlet extends HttpServlet {
+
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (HttpCaching.notModified(request, response, DataVersions.getInstance().getGenresVersion())) {
+            return;
+        }
+        // Sale de la caché de consultas de Hibernate (ver LiteraryGenreModel)
+        List<LiteraryGenre> genres = new LiteraryGenreModel().getAllGenres();
+        if (genres == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        Writer out = response.getWriter();
+        out.write('[');
+        for (int i = 0; i < genres.size(); i++) {
+            LiteraryGenre genre = genres.get(i);
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write("{\"id\":");
+            out.write(Integer.toString(genre.getId()));
+            out.write(",\"nombre\":");
+            JsonWriter.writeString(out, genre.getName());
+            out.write('}');
+        }
+        out.write(']');
+    }
+}
@@ -0,0 +1,51 @@
+package com.udb.autores.directorioautores;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * GET condicional con ETags fuertes (ver DataVersions).
+ * Si el ETag que manda el cliente en If-None-Match sigue vigente,
+ * se responde 304 sin cuerpo y sin consultar la BD.
+ */
+public final class HttpCaching {
+
+    private HttpCaching() {
+    }
+
+    /**
+     * Pone el ETag en la respuesta y revisa si el cliente ya tiene esa versión.
+     * @param version La versión de los datos (ej: DataVersions.getAuthorsVersion()).
+     * @return true si ya se respondió 304 (el servlet no debe escribir nada más).
+     */
+    public static boolean notModified(HttpServletRequest request, HttpServletResponse response, String version) {
+        String etag = "\"" + version + "\"";
+        response.setHeader("ETag", etag);
+        // El cliente puede guardar la respuesta, pero debe revalidarla cada vez
+        response.setHeader("Cache-Control", "no-cache");
+        if (matches(request.getHeader("If-None-Match"), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match puede traer varios ETags separados por comas, o "*".
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2); // If-None-Match usa comparación débil
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
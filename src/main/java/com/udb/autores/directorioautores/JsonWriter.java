@@ -0,0 +1,87 @@
+package com.udb.autores.directorioautores;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Date;
+
+/**
+ * Utilidad mínima para escribir JSON directamente en un Writer,
+ * sin armar objetos intermedios (útil para respuestas grandes).
+ */
+public final class JsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonWriter() {
+    }
+
+    /**
+     * Escribe un texto como cadena JSON (con comillas y caracteres escapados),
+     * o null si el texto es nulo.
+     */
+    public static void writeString(Writer out, String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write("\\u00");
+                        out.write(HEX[c >> 4]);
+                        out.write(HEX[c & 0xF]);
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+    /**
+     * Escribe un autor como objeto JSON (mismo formato en la exportación y en la API):
+     * {"id":1,"nombre":"...","telefono":"...","fechaNacimiento":"yyyy-MM-dd","genero":"..."}
+     */
+    public static void writeAuthor(Writer out, int id, String name, String phone, Date birthDate, String genreName)
+            throws IOException {
+        out.write("{\"id\":");
+        out.write(Integer.toString(id));
+        out.write(",\"nombre\":");
+        writeString(out, name);
+        out.write(",\"telefono\":");
+        writeString(out, phone);
+        out.write(",\"fechaNacimiento\":");
+        writeString(out, isoDate(birthDate));
+        out.write(",\"genero\":");
+        writeString(out, genreName);
+        out.write('}');
+    }
+
+    /**
+     * Fecha en formato ISO (yyyy-MM-dd), o null.
+     */
+    public static String isoDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date instanceof java.sql.Date ? date.toString() : new java.sql.Date(date.getTime()).toString();
+    }
+}
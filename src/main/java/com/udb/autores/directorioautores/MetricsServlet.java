@@ -0,0 +1,331 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.controller.ViewStateStats;
+import com.udb.autores.directorioautores.model.AuthorCounters;
+import com.udb.autores.directorioautores.model.AuthorNameIndex;
+import com.udb.autores.directorioautores.model.AuthorQueryCache;
+import com.udb.autores.directorioautores.model.AuthorWriteQueue;
+import com.udb.autores.directorioautores.model.BirthDateIndex;
+import com.udb.autores.directorioautores.model.DirectoryReadModel;
+import com.udb.autores.directorioautores.model.DirectorySnapshotFile;
+import com.udb.autores.directorioautores.model.JPAUtil;
+import com.udb.autores.directorioautores.model.LatencyHistogram;
+import com.udb.autores.directorioautores.model.Metrics;
+import com.udb.autores.directorioautores.model.ModelExecutor;
+import com.udb.autores.directorioautores.model.PoolMetrics;
+import com.udb.autores.directorioautores.model.SingleFlight;
+
+import java.io.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.servlet.http.*;
+import javax.servlet.annotation.*;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Métricas de la aplicación en el formato de texto de Prometheus.
+ * Uso: /metrics
+ * - Latencia (histograma, p50, p99, máximo) y errores de cada operación del
+ *   modelo y de cada acción de AuthorBean (ver LatencyHistogram).
+ * - Consultas iguales agrupadas en una sola (SingleFlight).
+ * - Cola de escrituras agrupadas: profundidad y tamaño de cada commit (AuthorWriteQueue).
+ * - Estadísticas de Hibernate: consultas, entidades cargadas, cachés.
+ * - Pool de conexiones, réplicas de lectura y cachés/índices propios (incluida la
+ *   copia del directorio en disco: tamaño y duración de la última escritura y carga).
+ * - Tamaño del estado de cada vista, antes y después de compactarlo.
+ * Los valores se leen al momento; armar la respuesta no toca la BD.
+ */
+@WebServlet(name = "metricsServlet", value = "/metrics")
+public class MetricsServlet extends HttpServlet {
+
+    // Límites de los intervalos del histograma exportado (segundos)
+    private static final double[] BUCKET_LIMITS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        writeOperations(out);
+        writeSingleFlight(out);
+        writeWriteQueue(out);
+        writeHibernate(out);
+        writePool(out);
+        writeCaches(out);
+        writeViewState(out);
+
+        response.setContentType("text/plain; version=0.0.4");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(out.toString());
+    }
+
+    private static void writeOperations(StringBuilder out) {
+        Map<String, LatencyHistogram> histograms = Metrics.getHistograms();
+
+        header(out, "autores_operation_duration_seconds", "histogram", "Duración de cada operación.");
+        for (LatencyHistogram histogram : histograms.values()) {
+            String operation = histogram.getName();
+            long[] counts = histogram.getCumulativeCounts(BUCKET_LIMITS);
+            for (int i = 0; i < BUCKET_LIMITS.length; i++) {
+                sample(out, "autores_operation_duration_seconds_bucket",
+                        "operation=\"" + operation + "\",le=\"" + format(BUCKET_LIMITS[i]) + "\"", counts[i]);
+            }
+            sample(out, "autores_operation_duration_seconds_bucket",
+                    "operation=\"" + operation + "\",le=\"+Inf\"", counts[BUCKET_LIMITS.length]);
+            sample(out, "autores_operation_duration_seconds_sum",
+                    "operation=\"" + operation + "\"", histogram.getTotalSeconds());
+            sample(out, "autores_operation_duration_seconds_count",
+                    "operation=\"" + operation + "\"", counts[BUCKET_LIMITS.length]);
+        }
+
+        header(out, "autores_operation_quantile_seconds", "gauge",
+                "Percentiles de duración desde el arranque (p50, p99).");
+        for (LatencyHistogram histogram : histograms.values()) {
+            String operation = histogram.getName();
+            sample(out, "autores_operation_quantile_seconds",
+                    "operation=\"" + operation + "\",quantile=\"0.5\"", histogram.getQuantileSeconds(0.5));
+            sample(out, "autores_operation_quantile_seconds",
+                    "operation=\"" + operation + "\",quantile=\"0.99\"", histogram.getQuantileSeconds(0.99));
+        }
+
+        header(out, "autores_operation_max_seconds", "gauge", "Duración máxima desde el arranque.");
+        for (LatencyHistogram histogram : histograms.values()) {
+            sample(out, "autores_operation_max_seconds",
+                    "operation=\"" + histogram.getName() + "\"", histogram.getMaxSeconds());
+        }
+
+        header(out, "autores_operation_errors_total", "counter", "Operaciones que terminaron con error.");
+        for (LatencyHistogram histogram : histograms.values()) {
+            sample(out, "autores_operation_errors_total",
+                    "operation=\"" + histogram.getName() + "\"", histogram.getErrorCount());
+        }
+    }
+
+    private static void writeSingleFlight(StringBuilder out) {
+        Map<String, SingleFlight<?, ?>> flights = SingleFlight.getAll();
+
+        header(out, "autores_single_flight_calls_total", "counter", "Llamadas que pasaron por SingleFlight.");
+        for (SingleFlight<?, ?> flight : flights.values()) {
+            sample(out, "autores_single_flight_calls_total", "name=\"" + flight.getName() + "\"", flight.getCallCount());
+        }
+
+        header(out, "autores_single_flight_collapsed_total", "counter",
+                "Llamadas que esperaron la consulta en curso de otra en lugar de ir a la BD.");
+        for (SingleFlight<?, ?> flight : flights.values()) {
+            sample(out, "autores_single_flight_collapsed_total", "name=\"" + flight.getName() + "\"",
+                    flight.getCollapsedCount());
+        }
+
+        header(out, "autores_single_flight_in_flight", "gauge", "Consultas agrupables en curso.");
+        for (SingleFlight<?, ?> flight : flights.values()) {
+            sample(out, "autores_single_flight_in_flight", "name=\"" + flight.getName() + "\"",
+                    flight.getInFlightCount());
+        }
+    }
+
+    private static void writeWriteQueue(StringBuilder out) {
+        if (!AuthorWriteQueue.isEnabled()) {
+            return;
+        }
+        AuthorWriteQueue writeQueue = AuthorWriteQueue.getInstance();
+        gauge(out, "autores_write_queue_depth", "Escrituras esperando su commit.", writeQueue.getQueueDepth());
+        gauge(out, "autores_write_queue_capacity", "Escrituras que caben en la cola.", writeQueue.getCapacity());
+        int[] limits = AuthorWriteQueue.getBatchLimits();
+        long[] counts = writeQueue.getCumulativeBatchCounts();
+        header(out, "autores_write_queue_batch_size", "histogram", "Escrituras confirmadas en cada commit.");
+        for (int i = 0; i < limits.length; i++) {
+            sample(out, "autores_write_queue_batch_size_bucket", "le=\"" + limits[i] + "\"", counts[i]);
+        }
+        sample(out, "autores_write_queue_batch_size_bucket", "le=\"+Inf\"", counts[limits.length]);
+        sample(out, "autores_write_queue_batch_size_sum", null, writeQueue.getWriteCount());
+        sample(out, "autores_write_queue_batch_size_count", null, counts[limits.length]);
+        counter(out, "autores_write_queue_rejected_total", "Escrituras rechazadas por tener la cola llena.",
+                writeQueue.getRejectedCount());
+        counter(out, "autores_write_queue_retries_total",
+                "Commits en grupo que fallaron y se reintentaron escritura por escritura.", writeQueue.getRetryCount());
+    }
+
+    private static void writeHibernate(StringBuilder out) {
+        Statistics stats = JPAUtil.getStatistics();
+        if (stats == null) {
+            return; // La fábrica aún no se crea (nadie ha usado la BD)
+        }
+        counter(out, "autores_hibernate_queries_total", "Consultas ejecutadas en la BD.", stats.getQueryExecutionCount());
+        gauge(out, "autores_hibernate_query_max_seconds", "Consulta más lenta.", stats.getQueryExecutionMaxTime() / 1000.0);
+        counter(out, "autores_hibernate_entities_loaded_total", "Entidades cargadas.", stats.getEntityLoadCount());
+        counter(out, "autores_hibernate_entities_fetched_total", "Entidades cargadas con un SELECT aparte.",
+                stats.getEntityFetchCount());
+        counter(out, "autores_hibernate_statements_prepared_total", "Sentencias JDBC preparadas.",
+                stats.getPrepareStatementCount());
+        counter(out, "autores_hibernate_transactions_total", "Transacciones terminadas.", stats.getTransactionCount());
+        counter(out, "autores_hibernate_sessions_opened_total", "EntityManagers abiertos.", stats.getSessionOpenCount());
+        counter(out, "autores_hibernate_second_level_cache_hits_total", "Aciertos de la caché de segundo nivel.",
+                stats.getSecondLevelCacheHitCount());
+        counter(out, "autores_hibernate_second_level_cache_misses_total", "Fallos de la caché de segundo nivel.",
+                stats.getSecondLevelCacheMissCount());
+        counter(out, "autores_hibernate_second_level_cache_puts_total", "Entidades guardadas en la caché de segundo nivel.",
+                stats.getSecondLevelCachePutCount());
+        counter(out, "autores_hibernate_query_cache_hits_total", "Aciertos de la caché de consultas.",
+                stats.getQueryCacheHitCount());
+        counter(out, "autores_hibernate_query_cache_misses_total", "Fallos de la caché de consultas.",
+                stats.getQueryCacheMissCount());
+    }
+
+    private static void writePool(StringBuilder out) {
+        PoolMetrics pool = JPAUtil.getPoolMetrics();
+        gauge(out, "autores_pool_connections_active", "Conexiones en uso.", pool.getActiveConnections());
+        gauge(out, "autores_pool_connections_idle", "Conexiones libres.", pool.getIdleConnections());
+        gauge(out, "autores_pool_connections_max", "Tamaño máximo del pool.", pool.getMaxConnections());
+        gauge(out, "autores_pool_threads_pending", "Hilos esperando una conexión.", pool.getPendingThreads());
+        counter(out, "autores_pool_acquire_total", "Conexiones entregadas.", pool.getAcquireCount());
+        gauge(out, "autores_pool_wait_average_seconds", "Espera promedio por una conexión.",
+                pool.getAverageWaitMillis() / 1000.0);
+        gauge(out, "autores_pool_wait_max_seconds", "Espera máxima por una conexión.", pool.getMaxWaitMillis() / 1000.0);
+        counter(out, "autores_pool_timeouts_total", "Esperas que terminaron en timeout.", pool.getTimeoutCount());
+        counter(out, "autores_pool_connections_created_total", "Conexiones físicas creadas.", pool.getConnectionsCreated());
+
+        // Lecturas repartidas entre el primario y las réplicas (ver JPAUtil.getReadEntityManager)
+        List<JPAUtil.Replica> replicas = JPAUtil.getReplicas();
+        header(out, "autores_replica_reads_total", "counter", "Lecturas atendidas por cada réplica (o el primario).");
+        sample(out, "autores_replica_reads_total", "replica=\"primario\"", JPAUtil.getPrimaryReadCount());
+        for (JPAUtil.Replica replica : replicas) {
+            sample(out, "autores_replica_reads_total", "replica=\"" + replica.getName() + "\"", replica.getReadCount());
+        }
+        if (!replicas.isEmpty()) {
+            header(out, "autores_replica_connections_active", "gauge", "Conexiones en uso en cada réplica.");
+            for (JPAUtil.Replica replica : replicas) {
+                sample(out, "autores_replica_connections_active", "replica=\"" + replica.getName() + "\"",
+                        replica.getActiveConnections());
+            }
+        }
+    }
+
+    private static void writeCaches(StringBuilder out) {
+        AuthorQueryCache queryCache = AuthorQueryCache.getInstance();
+        counter(out, "autores_query_cache_hits_total", "Aciertos de AuthorQueryCache.", queryCache.getHitCount());
+        counter(out, "autores_query_cache_misses_total", "Fallos de AuthorQueryCache.", queryCache.getMissCount());
+        counter(out, "autores_query_cache_evictions_total", "Resultados desalojados por tamaño.",
+                queryCache.getEvictionCount());
+        counter(out, "autores_query_cache_invalidations_total", "Invalidaciones por escrituras y conciliaciones.",
+                queryCache.getInvalidationCount());
+        counter(out, "autores_query_cache_expirations_total", "Resultados vencidos (cache.authorQueries.maxAgeSeconds).",
+                queryCache.getExpirationCount());
+        gauge(out, "autores_query_cache_entries", "Resultados guardados.", queryCache.getSize());
+
+        AuthorNameIndex nameIndex = AuthorNameIndex.getInstance();
+        counter(out, "autores_name_index_skipped_queries_total", "Validaciones de duplicados sin consultar la BD.",
+                nameIndex.getSkippedQueries());
+        counter(out, "autores_name_index_confirm_queries_total", "Validaciones de duplicados confirmadas en la BD.",
+                nameIndex.getConfirmQueries());
+        gauge(out, "autores_name_index_entries", "Nombres en el índice.", nameIndex.getSize());
+
+        if (DirectoryReadModel.isEnabled()) {
+            DirectoryReadModel readModel = DirectoryReadModel.getInstance();
+            gauge(out, "autores_read_model_entries", "Autores en el modelo de lectura en memoria.", readModel.getSize());
+            gauge(out, "autores_read_model_bytes", "Memoria aproximada del modelo de lectura.",
+                    readModel.getEstimatedBytes());
+            counter(out, "autores_read_model_swaps_total", "Copias nuevas publicadas (cambios y cargas).",
+                    readModel.getSwapCount());
+            counter(out, "autores_read_model_reloads_total", "Conciliaciones completas con la BD.",
+                    readModel.getReloadCount());
+            counter(out, "autores_read_model_drift_total", "Autores que diferían de la BD al conciliar.",
+                    readModel.getDriftCount());
+            counter(out, "autores_read_model_catch_ups_total", "Actualizaciones con solo los cambios desde la copia en disco.",
+                    readModel.getCatchUpCount());
+            counter(out, "autores_read_model_catch_up_changes_total", "Autores modificados o borrados incorporados al actualizar.",
+                    readModel.getCatchUpChangeCount());
+        }
+
+        if (DirectorySnapshotFile.isEnabled()) {
+            // Duración de cada escritura y carga: autores_operation_duration_seconds{operation="DirectorySnapshotFile.*"}
+            DirectorySnapshotFile file = DirectorySnapshotFile.getInstance();
+            gauge(out, "autores_snapshot_file_bytes", "Tamaño de la copia del directorio en disco.", file.getFileBytes());
+            gauge(out, "autores_snapshot_file_last_write_seconds", "Duración de la última escritura de la copia en disco.",
+                    file.getLastWriteMillis() / 1000.0);
+            gauge(out, "autores_snapshot_file_last_load_seconds", "Duración de la carga de la copia en disco al arrancar.",
+                    file.getLastLoadMillis() / 1000.0);
+            counter(out, "autores_snapshot_file_writes_total", "Escrituras de la copia en disco.", file.getWriteCount());
+        }
+
+        if (AuthorCounters.isEnabled()) {
+            AuthorCounters counters = AuthorCounters.getInstance();
+            counter(out, "autores_counters_reconciles_total", "Conciliaciones de los contadores por género con la BD.",
+                    counters.getReconcileCount());
+            counter(out, "autores_counters_drift_total", "Autores de diferencia encontrados al conciliar los contadores.",
+                    counters.getDriftCount());
+        }
+
+        if (BirthDateIndex.isEnabled()) {
+            BirthDateIndex birthDateIndex = BirthDateIndex.getInstance();
+            counter(out, "autores_birth_date_index_queries_total", "Conteos por fecha de nacimiento sin consultar la BD.",
+                    birthDateIndex.getRangeQueries());
+            gauge(out, "autores_birth_date_index_entries", "Autores en el índice de fechas de nacimiento.",
+                    birthDateIndex.getSize());
+        }
+
+        if (AuthorPushBroadcaster.isEnabled()) {
+            AuthorPushBroadcaster push = AuthorPushBroadcaster.getInstance();
+            gauge(out, "autores_push_clients", "Páginas conectadas que reciben cambios por WebSocket.",
+                    push.getClientCount());
+            counter(out, "autores_push_messages_total", "Cambios enviados a las páginas conectadas.",
+                    push.getMessageCount());
+            counter(out, "autores_push_slow_clients_total", "Conexiones cerradas por acumular demasiados cambios.",
+                    push.getSlowClientCount());
+        }
+
+        ModelExecutor executor = ModelExecutor.getInstance();
+        gauge(out, "autores_async_calls_pending", "Llamadas asíncronas al modelo en ejecución o en espera.",
+                executor.getPending());
+        gauge(out, "autores_async_max_concurrency", "Llamadas asíncronas al modelo a la vez (máximo).",
+                executor.getMaxConcurrency());
+        counter(out, "autores_async_rejected_total", "Llamadas asíncronas rechazadas por estar lleno.",
+                executor.getRejectedCount());
+        counter(out, "autores_async_timeouts_total", "Llamadas asíncronas que vencieron su timeout.",
+                executor.getTimeoutCount());
+    }
+
+    private static void writeViewState(StringBuilder out) {
+        ViewStateStats stats = ViewStateStats.getInstance();
+        counter(out, "autores_view_state_samples_total", "Vistas medidas.", stats.getSampleCount());
+        header(out, "autores_view_state_average_bytes", "gauge",
+                "Tamaño serializado promedio de AuthorBean, completo y compactado.");
+        sample(out, "autores_view_state_average_bytes", "state=\"full\"", stats.getAverageFullBytes());
+        sample(out, "autores_view_state_average_bytes", "state=\"compact\"", stats.getAverageCompactBytes());
+        header(out, "autores_view_state_max_bytes", "gauge",
+                "Tamaño serializado máximo de AuthorBean, completo y compactado.");
+        sample(out, "autores_view_state_max_bytes", "state=\"full\"", stats.getMaxFullBytes());
+        sample(out, "autores_view_state_max_bytes", "state=\"compact\"", stats.getMaxCompactBytes());
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value) {
+        header(out, name, "counter", help);
+        sample(out, name, null, value);
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        header(out, name, "gauge", help);
+        sample(out, name, null, value);
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+}
@@ -0,0 +1,48 @@
+package com.udb.autores.directorioautores;
+
+import com.udb.autores.directorioautores.model.ReadYourWrites;
+
+import java.io.IOException;
+import javax.servlet.*;
+import javax.servlet.annotation.*;
+import javax.servlet.http.*;
+
+/**
+ * Mantiene en el primario las lecturas de un usuario que acaba de escribir
+ * (ver ReadYourWrites): las réplicas pueden ir unos segundos atrás y el usuario
+ * no vería el autor que acaba de guardar.
+ * La hora de la última escritura se guarda en la sesión (solo si ya existe:
+ * este filtro nunca crea sesiones).
+ */
+@WebFilter(filterName = "readYourWritesFilter", urlPatterns = "/*")
+public class ReadYourWritesFilter implements Filter {
+
+    private static final String LAST_WRITE_ATTRIBUTE = "autores.lastWriteMillis";
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpSession session = ((HttpServletRequest) request).getSession(false);
+        Object lastWrite = session != null ? session.getAttribute(LAST_WRITE_ATTRIBUTE) : null;
+        ReadYourWrites.begin(lastWrite instanceof Long ? (Long) lastWrite : null);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (ReadYourWrites.end()) {
+                // La petición pudo crear la sesión (JSF) después de empezar
+                HttpSession current = ((HttpServletRequest) request).getSession(false);
+                if (current != null) {
+                    current.setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -1,17 +1,34 @@
 package com.udb.autores.directorioautores.controller;
 
+import com.udb.autores.directorioautores.model.AsyncAuthorModel;
+import com.udb.autores.directorioautores.model.AsyncLiteraryGenreModel;
+import com.udb.autores.directorioautores.model.AppConfig;
 import com.udb.autores.directorioautores.model.AuthorModel;
 import com.udb.autores.directorioautores.model.LiteraryGenreModel;
 import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorSuggestion;
 import com.udb.autores.directorioautores.model.LiteraryGenre;
+import com.udb.autores.directorioautores.model.LatencyHistogram;
+import com.udb.autores.directorioautores.model.Metrics;
 
 import javax.annotation.PostConstruct; // Importante para inicializar
 import javax.faces.application.FacesMessage;
 import javax.faces.bean.ManagedBean;
 import javax.faces.bean.ViewScoped; // Alcance de Vista
 import javax.faces.context.FacesContext;
+import javax.persistence.OptimisticLockException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Managed Bean (Controlador) para la página del Directorio de Autores.
@@ -23,10 +40,40 @@ public class AuthorBean implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // Tamaño de página de la tabla y filas extra que se pre-cargan
+    private static final int PAGE_SIZE = 20;
+    private static final int PREFETCH_ROWS = 20;
+
+    // Sugerencias que muestra la búsqueda mientras se escribe
+    private static final int SUGGESTION_LIMIT = 10;
+
+    // Modo compacto: al terminar de mostrar la vista se sueltan las filas de la tabla
+    // y los géneros; se vuelven a pedir a las cachés compartidas en el siguiente postback
+    // (ver CompactViewStateListener). Así cada pestaña abierta guarda solo el cursor.
+    static final boolean COMPACT_STATE = AppConfig.getBoolean("view.compactState", true);
+
+    // Cambios en vivo: tras guardar o borrar no se vuelve a pedir la tabla; a todas las
+    // páginas abiertas (incluida esta) les llega solo la fila que cambió por WebSocket
+    // (ver AuthorPushBroadcaster e index.xhtml).
+    private static final boolean PUSH_UPDATES = AppConfig.getBoolean("push.enabled", true);
+
+    // Latencia y errores de cada acción de la vista (se publican en /metrics)
+    private static final LatencyHistogram INIT_TIMER = Metrics.histogram("AuthorBean.init");
+    private static final LatencyHistogram SAVE_TIMER = Metrics.histogram("AuthorBean.saveOrUpdateAuthor");
+    private static final LatencyHistogram DELETE_TIMER = Metrics.histogram("AuthorBean.deleteAuthor");
+    private static final LatencyHistogram DELETE_SELECTED_TIMER = Metrics.histogram("AuthorBean.deleteSelectedAuthors");
+    private static final LatencyHistogram EDIT_TIMER = Metrics.histogram("AuthorBean.prepareEdit");
+    private static final LatencyHistogram FILTER_TIMER = Metrics.histogram("AuthorBean.filterAuthorsByGenre");
+    private static final LatencyHistogram NEXT_TIMER = Metrics.histogram("AuthorBean.nextPage");
+    private static final LatencyHistogram PREVIOUS_TIMER = Metrics.histogram("AuthorBean.previousPage");
+    private static final LatencyHistogram SEARCH_TIMER = Metrics.histogram("AuthorBean.searchAuthors");
+    private static final LatencyHistogram SUGGESTION_TIMER = Metrics.histogram("AuthorBean.editSuggestion");
+    private static final LatencyHistogram COUNT_TIMER = Metrics.histogram("AuthorBean.countAuthorsInTable");
+
     // --- Modelos ---
-    // Clases que se conectan a la BD
-    private AuthorModel authorModel;
-    private LiteraryGenreModel genreModel;
+    // Clases que se conectan a la BD (no son Serializable: se recrean, ver readObject)
+    private transient AuthorModel authorModel;
+    private transient LiteraryGenreModel genreModel;
 
     // --- Propiedades para la VISTA ---
 
@@ -35,12 +82,21 @@ public class AuthorBean implements Serializable {
     private int selectedGenreId; // ID del género seleccionado en el dropdown del formulario
 
     // 2. Para la Tabla
-    private List<Author> authorList; // Lista de autores para el <h:dataTable>
+    // Solo guarda la página visible (+ pre-carga), nunca la tabla completa
+    private AuthorDataModel authorPage;
 
     // 3. Para los Filtros y Opciones
-    private List<LiteraryGenre> genreList; // Lista de géneros para los <h:selectOneMenu>
+    private transient List<LiteraryGenre> genreList; // Géneros para los <h:selectOneMenu> (null = sin cargar)
     private int filterGenreId; // ID del género seleccionado en el dropdown de FILTRO
     private int authorCount; // Para mostrar el resultado del botón CONTAR
+    private Map<Integer, Boolean> selectedIds = new HashMap<>(); // Casillas marcadas (ID -> marcada)
+
+    // 4. Para la Búsqueda por nombre
+    private String searchTerm; // Lo que el usuario lleva escrito
+    private List<AuthorSuggestion> suggestions = Collections.emptyList();
+
+    // Desglose por género: ID de género (0 = sin género) -> autores
+    private Map<Integer, Long> genreCounts = Collections.emptyMap();
 
     /**
      * Constructor: Se llama CADA VEZ que se interactúa.
@@ -56,14 +112,30 @@ public class AuthorBean implements Serializable {
      */
     @PostConstruct
     public void init() {
-        // Inicializamos los objetos
-        authorModel = new AuthorModel();
-        genreModel = new LiteraryGenreModel();
-        author = new Author(); // Objeto vacío para el formulario de "Agregar"
-
-        // Cargamos los datos iniciales desde la BD
-        loadGenres();  // Carga la lista de géneros para los dropdowns
-        loadAuthors(); // Carga la lista de autores para la tabla
+        long start = System.nanoTime();
+        try {
+            // Inicializamos los objetos
+            authorModel = new AuthorModel();
+            genreModel = new LiteraryGenreModel();
+            author = new Author(); // Objeto vacío para el formulario de "Agregar"
+            authorPage = new AuthorDataModel(PAGE_SIZE, PREFETCH_ROWS);
+
+            // Cargamos los datos iniciales desde la BD. Son independientes, así que
+            // los géneros y el conteo se piden en segundo plano mientras este hilo
+            // carga la primera página: la vista espera solo por la consulta más lenta.
+            CompletableFuture<List<LiteraryGenre>> genres = new AsyncLiteraryGenreModel().getAllGenres();
+            CompletableFuture<Long> count = new AsyncAuthorModel().countAuthors(filterGenreId);
+            authorPage.refresh(); // Primera página de autores para la tabla
+
+            List<LiteraryGenre> loadedGenres = await(genres, "los géneros");
+            this.genreList = loadedGenres != null ? loadedGenres : Collections.<LiteraryGenre>emptyList();
+            Long loadedCount = await(count, "el número de autores");
+            this.authorCount = loadedCount != null ? loadedCount.intValue() : 0;
+            Map<Integer, Long> counts = authorModel.getAuthorCountsByGenre(); // De memoria (AuthorCounters)
+            this.genreCounts = counts != null ? counts : Collections.<Integer, Long>emptyMap();
+        } finally {
+            INIT_TIMER.record(start);
+        }
     }
 
     // --- MÉTODOS DE ACCIÓN (CRUD) ---
@@ -73,36 +145,54 @@ public class AuthorBean implements Serializable {
      * Guarda un nuevo autor o actualiza uno existente.
      */
     public void saveOrUpdateAuthor() {
-        // 1. Validación de autor duplicado [cite: 67]
-        Author existing = authorModel.findAuthorByName(author.getName());
-        // Si existe Y estamos agregando (id=0), mostramos advertencia [cite: 68]
-        if (existing != null && author.getId() == 0) {
-            addMessage(FacesMessage.SEVERITY_WARN, "Advertencia",
-                    "Un autor con este nombre ya existe, pero se agregará.");
-        }
-
-        // 2. Asignar el objeto Género completo
-        LiteraryGenre selectedGenre = genreModel.findGenreById(selectedGenreId);
-        author.setLiteraryGenre(selectedGenre);
-
+        long start = System.nanoTime();
         try {
-            // 3. Decidir si Guardar (Nuevo) o Actualizar (Editar)
-            if (author.getId() == 0) {
-                // Es un autor nuevo
-                authorModel.saveAuthor(author);
-                addMessage(FacesMessage.SEVERITY_INFO, "Éxito", "Autor agregado correctamente.");
-            } else {
-                // Es una actualización
-                authorModel.updateAuthor(author);
-                addMessage(FacesMessage.SEVERITY_INFO, "Éxito", "Autor actualizado correctamente.");
+            // 1. Validación de autor duplicado [cite: 67]
+            // Solo al agregar (id=0); casi siempre se responde sin consultar la BD.
+            // Si existe, mostramos advertencia [cite: 68]
+            if (author.getId() == 0 && authorModel.existsAuthorWithName(author.getName())) {
+                addMessage(FacesMessage.SEVERITY_WARN, "Advertencia",
+                        "Un autor con este nombre ya existe, pero se agregará.");
             }
 
-            // 4. Recargar la lista y limpiar el formulario
-            loadAuthors(); // Actualiza la tabla
-            resetForm();   // Limpia los campos del formulario
-
-        } catch (Exception e) {
-            addMessage(FacesMessage.SEVERITY_ERROR, "Error", "No se pudo guardar el autor: " + e.getMessage());
+            // 2. Asignar el objeto Género completo
+            LiteraryGenre selectedGenre = genreModel.findGenreById(selectedGenreId);
+            author.setLiteraryGenre(selectedGenre);
+
+            try {
+                // 3. Decidir si Guardar (Nuevo) o Actualizar (Editar)
+                if (author.getId() == 0) {
+                    // Es un autor nuevo
+                    authorModel.saveAuthor(author);
+                    addMessage(FacesMessage.SEVERITY_INFO, "Éxito", "Autor agregado correctamente.");
+                } else {
+                    // Es una actualización
+                    authorModel.updateAuthor(author);
+                    addMessage(FacesMessage.SEVERITY_INFO, "Éxito", "Autor actualizado correctamente.");
+                }
+
+                // 4. Recargar la página (salvo que la fila llegue por WebSocket) y limpiar el formulario
+                refreshAfterWrite();
+                resetForm();   // Limpia los campos del formulario
+
+            } catch (OptimisticLockException e) {
+                // Otro usuario cambió (o borró) el autor mientras se editaba:
+                // no se sobreescribe su cambio, se muestra lo que hay ahora
+                SAVE_TIMER.error();
+                addMessage(FacesMessage.SEVERITY_WARN, "Conflicto",
+                        "Otro usuario modificó este autor mientras lo editaba. Se cargaron los datos actuales; revise y vuelva a guardar.");
+                reloadConflictingAuthor();
+            } catch (RejectedExecutionException e) {
+                // Cola de escrituras llena o aplicación deteniéndose: no se guardó nada
+                SAVE_TIMER.error();
+                addMessage(FacesMessage.SEVERITY_ERROR, "Error",
+                        "El servidor está ocupado y no se pudo guardar el autor; intente de nuevo. (" + e.getMessage() + ")");
+            } catch (Exception e) {
+                SAVE_TIMER.error();
+                addMessage(FacesMessage.SEVERITY_ERROR, "Error", "No se pudo guardar el autor: " + e.getMessage());
+            }
+        } finally {
+            SAVE_TIMER.record(start);
         }
     }
 
@@ -111,12 +201,66 @@ public class AuthorBean implements Serializable {
      * @param authorToDelete El autor seleccionado de la tabla.
      */
     public void deleteAuthor(Author authorToDelete) {
+        long start = System.nanoTime();
         try {
-            authorModel.deleteAuthor(authorToDelete);
-            loadAuthors(); // Recarga la lista
-            addMessage(FacesMessage.SEVERITY_INFO, "Éxito", "Autor eliminado.");
-        } catch (Exception e) {
-            addMessage(FacesMessage.SEVERITY_ERROR, "Error", "No se pudo eliminar el autor.");
+            if (authorToDelete == null) {
+                // Fila que otro usuario ya eliminó (ver AuthorDataModel)
+                addMessage(FacesMessage.SEVERITY_WARN, "Advertencia", "El autor ya no existe.");
+                return;
+            }
+            try {
+                authorModel.deleteAuthor(authorToDelete);
+                refreshAfterWrite();
+                addMessage(FacesMessage.SEVERITY_INFO, "Éxito", "Autor eliminado.");
+            } catch (OptimisticLockException e) {
+                DELETE_TIMER.error();
+                refreshAfterWrite(); // Muestra los datos actuales
+                addMessage(FacesMessage.SEVERITY_WARN, "Conflicto",
+                        "Otro usuario modificó o eliminó este autor. Revise la tabla actualizada.");
+            } catch (RejectedExecutionException e) {
+                DELETE_TIMER.error();
+                addMessage(FacesMessage.SEVERITY_ERROR, "Error",
+                        "El servidor está ocupado y no se pudo eliminar el autor; intente de nuevo. (" + e.getMessage() + ")");
+            } catch (Exception e) {
+                DELETE_TIMER.error();
+                addMessage(FacesMessage.SEVERITY_ERROR, "Error", "No se pudo eliminar el autor: " + e.getMessage());
+            }
+        } finally {
+            DELETE_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Acción para el botón "BORRAR SELECCIONADOS": elimina de una vez los autores
+     * marcados en la página visible (un solo lote de DELETE en la BD).
+     */
+    public void deleteSelectedAuthors() {
+        long start = System.nanoTime();
+        try {
+            List<Author> selected = new ArrayList<>();
+            for (Author row : authorPage.getVisibleRows()) {
+                if (row != null && Boolean.TRUE.equals(selectedIds.get(row.getId()))) {
+                    selected.add(row);
+                }
+            }
+            if (selected.isEmpty()) {
+                addMessage(FacesMessage.SEVERITY_WARN, "Advertencia", "No hay autores seleccionados.");
+                return;
+            }
+            List<Author> conflicts = authorModel.deleteAuthors(selected);
+            selectedIds.clear();
+            refreshAfterWrite();
+            int deleted = selected.size() - conflicts.size();
+            if (deleted > 0) {
+                addMessage(FacesMessage.SEVERITY_INFO, "Éxito", deleted + " autor(es) eliminado(s).");
+            }
+            if (!conflicts.isEmpty()) {
+                DELETE_SELECTED_TIMER.error();
+                addMessage(FacesMessage.SEVERITY_WARN, "Conflicto", conflicts.size()
+                        + " autor(es) no se eliminaron: otro usuario los modificó o eliminó. Revise la tabla actualizada.");
+            }
+        } finally {
+            DELETE_SELECTED_TIMER.record(start);
         }
     }
 
@@ -126,14 +270,25 @@ public class AuthorBean implements Serializable {
      * @param authorToEdit El autor seleccionado de la tabla.
      */
     public void prepareEdit(Author authorToEdit) {
-        // 1. Pone el autor en el formulario
-        this.author = authorToEdit;
+        long start = System.nanoTime();
+        try {
+            if (authorToEdit == null) {
+                // Fila que otro usuario ya eliminó (ver AuthorDataModel)
+                addMessage(FacesMessage.SEVERITY_WARN, "Advertencia", "El autor ya no existe.");
+                return;
+            }
+            // 1. Pone una COPIA del autor en el formulario: las filas de la tabla
+            // pueden venir de la caché compartida y no deben modificarse.
+            this.author = new Author(authorToEdit);
 
-        // 2. Selecciona el género correcto en el dropdown del formulario
-        if (authorToEdit.getLiteraryGenre() != null) {
-            this.selectedGenreId = authorToEdit.getLiteraryGenre().getId();
-        } else {
-            this.selectedGenreId = 0;
+            // 2. Selecciona el género correcto en el dropdown del formulario
+            if (authorToEdit.getLiteraryGenre() != null) {
+                this.selectedGenreId = authorToEdit.getLiteraryGenre().getId();
+            } else {
+                this.selectedGenreId = 0;
+            }
+        } finally {
+            EDIT_TIMER.record(start);
         }
     }
 
@@ -153,15 +308,73 @@ public class AuthorBean implements Serializable {
      * Se llama cuando el usuario cambia el género del filtro.
      */
     public void filterAuthorsByGenre() {
-        if (filterGenreId == 0) {
-            // Si selecciona "Todos", cargar todos
-            loadAuthors();
-        } else {
-            // Si selecciona un género, filtrar
-            this.authorList = authorModel.findAuthorsByGenre(filterGenreId);
+        long start = System.nanoTime();
+        try {
+            // 0 = "Todos"; cualquier otro valor filtra por ese género.
+            // Siempre volvemos a la primera página del nuevo filtro.
+            authorPage.filter(filterGenreId);
+            // Actualiza el contador AJAX cada vez que filtramos [cite: 73]
+            countAuthorsInTable();
+        } finally {
+            FILTER_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Acción AJAX para el botón "Siguiente" de la tabla.
+     */
+    public void nextPage() {
+        long start = System.nanoTime();
+        try {
+            authorPage.next();
+        } finally {
+            NEXT_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Acción AJAX para el botón "Anterior" de la tabla.
+     */
+    public void previousPage() {
+        long start = System.nanoTime();
+        try {
+            authorPage.previous();
+        } finally {
+            PREVIOUS_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Acción AJAX del campo de búsqueda (se llama mientras el usuario escribe).
+     * Se responde desde el índice en memoria, sin recorrer la tabla 'autor'.
+     */
+    public void searchAuthors() {
+        long start = System.nanoTime();
+        try {
+            this.suggestions = authorModel.searchAuthorsByPrefix(searchTerm, SUGGESTION_LIMIT);
+        } finally {
+            SEARCH_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Acción AJAX al elegir una sugerencia: carga ese autor en el formulario.
+     * @param authorId El ID del autor elegido.
+     */
+    public void editSuggestion(int authorId) {
+        long start = System.nanoTime();
+        try {
+            Author found = authorModel.findAuthorById(authorId);
+            if (found == null) {
+                addMessage(FacesMessage.SEVERITY_WARN, "Advertencia", "El autor ya no existe.");
+                return;
+            }
+            prepareEdit(found);
+            this.searchTerm = null;
+            this.suggestions = Collections.emptyList();
+        } finally {
+            SUGGESTION_TIMER.record(start);
         }
-        // Actualiza el contador AJAX cada vez que filtramos [cite: 73]
-        countAuthorsInTable();
     }
 
     /**
@@ -169,29 +382,115 @@ public class AuthorBean implements Serializable {
      * Actualiza la variable 'authorCount'.
      */
     public void countAuthorsInTable() {
-        if (this.authorList != null) {
-            this.authorCount = this.authorList.size();
-        } else {
-            this.authorCount = 0;
+        long start = System.nanoTime();
+        try {
+            // La tabla solo tiene una página en memoria: el conteo (con el mismo filtro
+            // de género que la tabla) y el desglose salen de los contadores por género,
+            // sin consultar la BD (ver AuthorCounters).
+            this.authorCount = (int) authorModel.countAuthors(filterGenreId);
+            Map<Integer, Long> counts = authorModel.getAuthorCountsByGenre();
+            this.genreCounts = counts != null ? counts : Collections.<Integer, Long>emptyMap();
+        } finally {
+            COUNT_TIMER.record(start);
         }
     }
 
+    /**
+     * Acción del botón oculto "refrescarTabla": la página la usa al reconectarse el
+     * WebSocket (pudo perder cambios) o ante un lote grande de cambios.
+     */
+    public void refreshTable() {
+        loadAuthors();
+    }
+
+    /**
+     * Pide lo mismo que init() para una vista nueva (géneros, la primera página sin
+     * filtro y el conteo), así queda en las cachés compartidas antes de la primera
+     * petición. Lo llama AppLifecycleListener al arrancar.
+     */
+    public static void warmUp() {
+        new LiteraryGenreModel().getAllGenres();
+        new AuthorDataModel(PAGE_SIZE, PREFETCH_ROWS).refresh();
+        new AuthorModel().countAuthors(0);
+    }
+
     // --- MÉTODOS PRIVADOS (Helpers) ---
 
     /**
-     * Carga/Recarga la lista de autores desde la BD.
+     * Carga/Recarga la página actual de autores desde la BD.
      */
     private void loadAuthors() {
-        this.authorList = authorModel.getAllAuthors();
+        authorPage.refresh();
         // Actualiza el contador cada vez que se carga la lista
         countAuthorsInTable();
     }
 
     /**
-     * Carga/Recarga la lista de géneros desde la BD.
+     * Tras una escritura: sin cambios en vivo se recarga la página; con ellos la fila
+     * llega por WebSocket, pero el conteo y el desglose por género se recalculan aquí
+     * (la vista los vuelve a mostrar, ver index.xhtml).
+     */
+    private void refreshAfterWrite() {
+        if (PUSH_UPDATES) {
+            countAuthorsInTable();
+        } else {
+            loadAuthors();
+        }
+    }
+
+    /**
+     * Suelta lo que se puede volver a pedir a las cachés compartidas: la ventana de
+     * la tabla (DirectoryReadModel o AuthorQueryCache) y los géneros (caché de consultas de Hibernate).
+     * Quedan el filtro, el cursor de la página, el formulario y la selección.
+     */
+    void releaseViewData() {
+        authorPage.release();
+        genreList = null;
+    }
+
+    /**
+     * @return Lo que releaseViewData() suelta (para medir cuánto ocupaba, ver ViewStateStats).
+     */
+    Object[] getReleasableData() {
+        return new Object[]{authorPage.getLoadedRows(), genreList};
+    }
+
+    /**
+     * Al deserializar la vista (guardado de estado en el cliente o sesión persistida)
+     * se recrean los modelos; las filas se cargan cuando se necesiten.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        authorModel = new AuthorModel();
+        genreModel = new LiteraryGenreModel();
+    }
+
+    /**
+     * Tras un conflicto al guardar: pone en el formulario el autor tal como está
+     * ahora en la BD (con su versión nueva), o lo limpia si ya no existe.
      */
-    private void loadGenres() {
-        this.genreList = genreModel.getAllGenres();
+    private void reloadConflictingAuthor() {
+        Author current = authorModel.findAuthorById(author.getId());
+        refreshAfterWrite();
+        if (current != null) {
+            prepareEdit(current);
+        } else {
+            resetForm();
+            addMessage(FacesMessage.SEVERITY_WARN, "Advertencia", "El autor ya no existe.");
+        }
+    }
+
+    /**
+     * Espera el resultado de una carga asíncrona (ver AsyncAuthorModel).
+     * Si falló o tardó más del timeout, avisa en la vista y devuelve null.
+     */
+    private <T> T await(CompletableFuture<T> future, String description) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            addMessage(FacesMessage.SEVERITY_ERROR, "Error", "No se pudo cargar " + description + ".");
+            return null;
+        }
     }
 
     /**
@@ -223,15 +522,23 @@ public class AuthorBean implements Serializable {
         this.selectedGenreId = selectedGenreId;
     }
 
-    public List<Author> getAuthorList() {
-        return authorList;
+    public boolean isPushEnabled() {
+        return PUSH_UPDATES;
     }
 
-    public void setAuthorList(List<Author> authorList) {
-        this.authorList = authorList;
+    public int getPageSize() {
+        return PAGE_SIZE;
+    }
+
+    public AuthorDataModel getAuthorPage() {
+        return authorPage;
     }
 
     public List<LiteraryGenre> getGenreList() {
+        if (genreList == null) {
+            List<LiteraryGenre> loaded = genreModel.getAllGenres();
+            genreList = loaded != null ? loaded : Collections.<LiteraryGenre>emptyList();
+        }
         return genreList;
     }
 
@@ -247,6 +554,18 @@ public class AuthorBean implements Serializable {
         this.filterGenreId = filterGenreId;
     }
 
+    /**
+     * @return Autores por ID de género (para el desglose en la vista).
+     */
+    public Map<Integer, Long> getGenreCounts() {
+        return genreCounts;
+    }
+
+    public long getAuthorsWithoutGenre() {
+        Long count = genreCounts.get(0);
+        return count != null ? count : 0;
+    }
+
     public int getAuthorCount() {
         return authorCount;
     }
@@ -254,4 +573,20 @@ public class AuthorBean implements Serializable {
     public void setAuthorCount(int authorCount) {
         this.authorCount = authorCount;
     }
+
+    public String getSearchTerm() {
+        return searchTerm;
+    }
+
+    public void setSearchTerm(String searchTerm) {
+        this.searchTerm = searchTerm;
+    }
+
+    public List<AuthorSuggestion> getSuggestions() {
+        return suggestions;
+    }
+
+    public Map<Integer, Boolean> getSelectedIds() {
+        return selectedIds;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,316 @@
+package com.udb.autores.directorioautores.controller;
+
+import com.udb.autores.directorioautores.model.Author;
+import com.udb.autores.directorioautores.model.AuthorModel;
+
+import javax.faces.model.DataModel;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataModel paginado para la tabla 'tablaAutores'.
+ * En lugar de cargar TODOS los autores, mantiene solo una "ventana" pequeña:
+ * la página visible más unas filas de pre-carga (prefetch) para que el
+ * botón "Siguiente" casi nunca tenga que ir a la BD.
+ * La paginación es por llave (keyset) sobre id_autor, así que la memoria
+ * por vista es la misma sin importar cuántos autores haya en la tabla.
+ *
+ * El estado de la vista es solo el cursor (filtro, ID desde donde empieza la
+ * ventana y posición de la página): las filas son 'transient' y, tras release()
+ * o al deserializar, se vuelven a pedir a la copia en memoria (DirectoryReadModel)
+ * o a AuthorQueryCache, compartidas por todas las vistas (ver AuthorBean y
+ * CompactViewStateListener).
+ *
+ * Con la tabla actualizada por push (index.xhtml), el navegador no vuelve a pedir
+ * la tabla tras cada cambio: marca como eliminadas las filas borradas, sin quitarlas.
+ * Para que cada botón siga correspondiendo a su autor, al recargar la ventana
+ * se respetan los IDs de la página tal como se mostró ('visibleIds'): un autor
+ * que ya no está queda como fila null (eliminada) en su misma posición.
+ */
+public class AuthorDataModel extends DataModel<Author> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int pageSize;  // Filas visibles por página
+    private final int prefetch;  // Filas extra que se traen por adelantado
+
+    // AuthorModel no es Serializable; se vuelve a crear si hace falta.
+    private transient AuthorModel authorModel;
+
+    private int genreId;                         // Filtro actual (0 = todos)
+    private int windowAfterId;                   // La ventana son los autores con ID > windowAfterId
+    private transient List<Author> window;       // Página visible + pre-carga (null = sin cargar)
+    private int offset;                          // Inicio de la página visible dentro de 'window'
+    private boolean moreBefore;                       // ¿Hay autores antes de la ventana?
+    private boolean moreAfter;                        // ¿Hay autores después de la ventana?
+    private int[] visibleIds;                    // IDs de la página tal como se mostró (null = sin soltar)
+    private transient boolean aligned;           // La ventana se alineó a 'visibleIds' (tiene filas null)
+    private int rowIndex = -1;
+
+    public AuthorDataModel(int pageSize, int prefetch) {
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+    }
+
+    // --- NAVEGACIÓN ---
+
+    /**
+     * Carga la primera página para un género (0 = todos).
+     */
+    public void filter(int genreId) {
+        this.genreId = genreId;
+        loadAfter(0);
+        moreBefore = false;
+    }
+
+    /**
+     * Vuelve a la primera página con el filtro actual.
+     */
+    public void first() {
+        filter(genreId);
+    }
+
+    /**
+     * Avanza una página. Si la siguiente página ya está en la ventana
+     * de pre-carga, no se consulta la BD.
+     */
+    public void next() {
+        List<Author> current = rows();
+        int nextOffset = offset + pageSize;
+        if (nextOffset + pageSize <= current.size() || (nextOffset < current.size() && !moreAfter)) {
+            offset = nextOffset; // La página ya estaba pre-cargada
+        } else if (moreAfter) {
+            loadAfter(idAt(Math.min(nextOffset, current.size()) - 1));
+            moreBefore = true;
+        }
+    }
+
+    /**
+     * Retrocede una página, desde la ventana si es posible.
+     */
+    public void previous() {
+        if (offset >= pageSize) {
+            offset -= pageSize;
+            return;
+        }
+        List<Author> current = rows();
+        if (!moreBefore || current.isEmpty()) {
+            offset = 0;
+            return;
+        }
+        int firstId = idAt(offset);
+        List<Author> rows = nonNull(getAuthorModel().findAuthorsBefore(firstId, genreId, pageSize + prefetch + 1));
+        if (rows.size() <= pageSize) {
+            // Estamos cerca del inicio: mostramos la primera página completa
+            first();
+            return;
+        }
+        boolean hasMore = rows.size() > pageSize + prefetch;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize + prefetch);
+        }
+        List<Author> ascending = new ArrayList<>(rows);
+        Collections.reverse(ascending); // La consulta viene en orden descendente
+        window = ascending;
+        aligned = false;
+        windowAfterId = ascending.get(0).getId() - 1;
+        offset = window.size() - pageSize;
+        moreBefore = hasMore;
+        moreAfter = true; // La página de la que venimos sigue existiendo
+    }
+
+    /**
+     * Recarga la página actual desde su primer autor (después de guardar o borrar).
+     */
+    public void refresh() {
+        List<Author> current = rows();
+        if (current.isEmpty() || offset >= current.size()) {
+            first();
+            return;
+        }
+        boolean before = offset > 0 || moreBefore;
+        loadAfter(idAt(offset) - 1);
+        moreBefore = before;
+        if (window.isEmpty()) {
+            // La página quedó vacía (ej: borramos su único autor)
+            first();
+        }
+    }
+
+    public boolean isPreviousAvailable() {
+        return offset > 0 || moreBefore;
+    }
+
+    public boolean isNextAvailable() {
+        return offset + pageSize < rows().size() || moreAfter;
+    }
+
+    /**
+     * Suelta las filas (se vuelven a pedir a la caché cuando se necesiten).
+     * Se llama al terminar de mostrar la vista, en modo compacto.
+     * Recuerda los IDs de la página visible (si la ventana ya estaba alineada a
+     * ellos, la tabla del navegador no cambió y se conservan).
+     */
+    public void release() {
+        if (window != null && !aligned) {
+            int count = getRowCount();
+            visibleIds = new int[count];
+            for (int i = 0; i < count; i++) {
+                visibleIds[i] = window.get(offset + i).getId();
+            }
+        }
+        window = null;
+        aligned = false;
+        rowIndex = -1;
+    }
+
+    /**
+     * @return La ventana cargada en memoria, o null si está suelta.
+     */
+    List<Author> getLoadedRows() {
+        return window != null ? new ArrayList<>(window) : null;
+    }
+
+    public int getGenreId() {
+        return genreId;
+    }
+
+    /**
+     * @return Los autores de la página visible (sin la pre-carga); null en las filas
+     *         de autores eliminados desde que se mostró la página.
+     */
+    public List<Author> getVisibleRows() {
+        return Collections.unmodifiableList(rows().subList(offset, offset + getRowCount()));
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    /**
+     * Llena la ventana con los autores posteriores a 'afterId'.
+     * Se pide una fila extra solo para saber si existen más autores.
+     */
+    private void loadAfter(int afterId) {
+        windowAfterId = afterId;
+        offset = 0;
+        reload();
+    }
+
+    /**
+     * Vuelve a pedir la ventana desde el cursor. La lista viene de la caché
+     * compartida, así que no se copia (nunca se modifica).
+     */
+    private void reload() {
+        List<Author> rows = nonNull(getAuthorModel().findAuthorsAfter(windowAfterId, genreId, pageSize + prefetch + 1));
+        moreAfter = rows.size() > pageSize + prefetch;
+        window = moreAfter ? rows.subList(0, pageSize + prefetch) : rows;
+        aligned = false;
+        // Si se borraron autores desde que se soltó la ventana, la página puede haberse corrido
+        offset = Math.max(0, Math.min(offset, window.size() - 1));
+        rowIndex = -1;
+    }
+
+    private List<Author> rows() {
+        if (window == null) {
+            reload();
+            alignToVisibleIds();
+        }
+        return window;
+    }
+
+    /**
+     * Tras soltar la ventana: deja la página visible con los mismos IDs que se
+     * mostraron, en el mismo orden, aunque otros usuarios hayan borrado autores
+     * (quedan como null) o agregado autores en medio (no se incluyen hasta
+     * que se cambie de página).
+     */
+    private void alignToVisibleIds() {
+        if (visibleIds == null || visibleIds.length == 0) {
+            return;
+        }
+        int firstId = visibleIds[0];
+        int lastId = visibleIds[visibleIds.length - 1];
+        Map<Integer, Author> byId = new HashMap<>();
+        List<Author> result = new ArrayList<>(window.size() + visibleIds.length);
+        for (Author row : window) {
+            if (row.getId() < firstId) {
+                result.add(row);
+            } else {
+                byId.put(row.getId(), row);
+            }
+        }
+        offset = result.size();
+        for (int id : visibleIds) {
+            result.add(byId.get(id)); // null: se eliminó o ya no es de este género
+        }
+        for (Author row : window) {
+            if (row.getId() > lastId) {
+                result.add(row);
+            }
+        }
+        window = result;
+        aligned = true;
+    }
+
+    /**
+     * ID del autor en una posición de la ventana (también si es una fila eliminada).
+     */
+    private int idAt(int index) {
+        Author row = window.get(index);
+        return row != null ? row.getId() : visibleIds[index - offset];
+    }
+
+    private AuthorModel getAuthorModel() {
+        if (authorModel == null) {
+            authorModel = new AuthorModel();
+        }
+        return authorModel;
+    }
+
+    private static List<Author> nonNull(List<Author> rows) {
+        return rows != null ? rows : Collections.<Author>emptyList();
+    }
+
+    // --- IMPLEMENTACIÓN DE DataModel (la usa <h:dataTable>) ---
+
+    @Override
+    public boolean isRowAvailable() {
+        return rowIndex >= 0 && rowIndex < getRowCount();
+    }
+
+    @Override
+    public int getRowCount() {
+        return Math.max(0, Math.min(pageSize, rows().size() - offset));
+    }
+
+    @Override
+    public Author getRowData() {
+        if (!isRowAvailable()) {
+            throw new IllegalArgumentException("Fila no disponible: " + rowIndex);
+        }
+        return rows().get(offset + rowIndex);
+    }
+
+    @Override
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    @Override
+    public void setRowIndex(int rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+
+    @Override
+    public Object getWrappedData() {
+        return rows();
+    }
+
+    @Override
+    public void setWrappedData(Object data) {
+        throw new UnsupportedOperationException("AuthorDataModel carga sus propias filas");
+    }
+}
@@ -0,0 +1,54 @@
+package com.udb.autores.directorioautores.controller;
+
+import javax.faces.component.UIViewRoot;
+import javax.faces.event.PhaseEvent;
+import javax.faces.event.PhaseId;
+import javax.faces.event.PhaseListener;
+import java.util.Map;
+
+/**
+ * Al terminar de mostrar la vista (RENDER_RESPONSE), deja AuthorBean en su forma
+ * compacta (ver AuthorBean.releaseViewData) y, de vez en cuando, mide cuánto
+ * ocupa su estado antes y después (ver ViewStateStats).
+ * Se registra en index.xhtml con <f:phaseListener>.
+ */
+public class CompactViewStateListener implements PhaseListener {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public PhaseId getPhaseId() {
+        return PhaseId.RENDER_RESPONSE;
+    }
+
+    @Override
+    public void beforePhase(PhaseEvent event) {
+    }
+
+    @Override
+    public void afterPhase(PhaseEvent event) {
+        UIViewRoot root = event.getFacesContext().getViewRoot();
+        Map<String, Object> viewMap = root != null ? root.getViewMap(false) : null;
+        if (viewMap == null) {
+            return;
+        }
+        for (Object value : viewMap.values()) {
+            if (value instanceof AuthorBean) {
+                compact((AuthorBean) value);
+            }
+        }
+    }
+
+    private static void compact(AuthorBean bean) {
+        ViewStateStats stats = ViewStateStats.getInstance();
+        boolean sample = stats.shouldSample();
+        // Sin compactar, la vista guardaría además sus filas y géneros
+        long full = sample ? ViewStateStats.serializedSize(new Object[]{bean, bean.getReleasableData()}) : 0;
+        if (AuthorBean.COMPACT_STATE) {
+            bean.releaseViewData();
+        }
+        if (sample) {
+            stats.record(full, AuthorBean.COMPACT_STATE ? ViewStateStats.serializedSize(bean) : full);
+        }
+    }
+}
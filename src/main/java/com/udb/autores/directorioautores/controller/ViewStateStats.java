@@ -0,0 +1,110 @@
+package com.udb.autores.directorioautores.controller;
+
+import com.udb.autores.directorioautores.model.AppConfig;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tamaño serializado del estado de cada vista (AuthorBean), antes y después de
+ * soltar los datos que se pueden volver a pedir a las cachés (modo compacto).
+ * Es lo que ocupa cada pestaña abierta en la sesión, o lo que viaja en cada
+ * postback si el estado se guarda en el cliente. Se publica en /metrics.
+ * Serializar cuesta, así que solo se mide una de cada 'view.stateSampleEvery' vistas.
+ */
+public final class ViewStateStats {
+
+    private static final ViewStateStats INSTANCE = new ViewStateStats();
+
+    private final int sampleEvery = AppConfig.getInt("view.stateSampleEvery", 16);
+    private final AtomicLong renders = new AtomicLong();
+
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder fullBytes = new LongAdder();
+    private final LongAdder compactBytes = new LongAdder();
+    private final LongAccumulator maxFullBytes = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxCompactBytes = new LongAccumulator(Math::max, 0);
+
+    private ViewStateStats() {
+    }
+
+    public static ViewStateStats getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true si esta vista se debe medir (una de cada 'view.stateSampleEvery').
+     */
+    boolean shouldSample() {
+        return sampleEvery > 0 && renders.incrementAndGet() % sampleEvery == 0;
+    }
+
+    void record(long full, long compact) {
+        if (full < 0 || compact < 0) {
+            return; // No se pudo serializar
+        }
+        samples.increment();
+        fullBytes.add(full);
+        compactBytes.add(compact);
+        maxFullBytes.accumulate(full);
+        maxCompactBytes.accumulate(compact);
+    }
+
+    /**
+     * @return Bytes de 'value' serializado, o -1 si no se puede serializar.
+     */
+    static long serializedSize(Object value) {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            return -1;
+        }
+        return counter.count;
+    }
+
+    // --- LECTURA (para MetricsServlet) ---
+
+    public long getSampleCount() {
+        return samples.sum();
+    }
+
+    public double getAverageFullBytes() {
+        long n = samples.sum();
+        return n == 0 ? 0 : (double) fullBytes.sum() / n;
+    }
+
+    public double getAverageCompactBytes() {
+        long n = samples.sum();
+        return n == 0 ? 0 : (double) compactBytes.sum() / n;
+    }
+
+    public long getMaxFullBytes() {
+        return maxFullBytes.get();
+    }
+
+    public long getMaxCompactBytes() {
+        return maxCompactBytes.get();
+    }
+
+    /**
+     * Solo cuenta los bytes (no los guarda).
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
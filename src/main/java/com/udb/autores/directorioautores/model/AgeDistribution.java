@@ -0,0 +1,80 @@
+package com.udb.autores.directorioautores.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cuántos autores hay por rango de edad (ej: 0-9, 10-19, ..., 100+), por género.
+ * Lo arma AuthorModel.getAgeDistribution() con un solo GROUP BY en la BD.
+ * Es inmutable: el mismo objeto se comparte desde la caché de consultas.
+ */
+public final class AgeDistribution {
+
+    private final LocalDate asOf;
+    private final int bucketYears;
+    private final int bucketCount;
+    private final Map<Integer, long[]> countsByGenre; // ID de género (0 = sin género) -> conteos
+    private final long[] totals;
+
+    AgeDistribution(LocalDate asOf, int bucketYears, int bucketCount, Map<Integer, long[]> countsByGenre) {
+        this.asOf = asOf;
+        this.bucketYears = bucketYears;
+        this.bucketCount = bucketCount;
+        this.countsByGenre = Collections.unmodifiableMap(countsByGenre);
+        this.totals = new long[bucketCount];
+        for (long[] counts : countsByGenre.values()) {
+            for (int i = 0; i < bucketCount; i++) {
+                totals[i] += counts[i];
+            }
+        }
+    }
+
+    /**
+     * @return La fecha con la que se calcularon las edades.
+     */
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public int getBucketYears() {
+        return bucketYears;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * @return El rango de edad de un intervalo (ej: "10-19"; el último es "100+").
+     */
+    public String getLabel(int bucket) {
+        int from = bucket * bucketYears;
+        return bucket == bucketCount - 1 ? from + "+" : from + "-" + (from + bucketYears - 1);
+    }
+
+    /**
+     * @return Los géneros con al menos un autor con fecha de nacimiento.
+     */
+    public List<Integer> getGenreIds() {
+        return new ArrayList<>(countsByGenre.keySet());
+    }
+
+    /**
+     * @param genreId El ID del género (0 = autores sin género).
+     * @return Autores de ese género por intervalo (una copia).
+     */
+    public long[] getCounts(int genreId) {
+        long[] counts = countsByGenre.get(genreId);
+        return counts != null ? counts.clone() : new long[bucketCount];
+    }
+
+    /**
+     * @return Autores de todos los géneros por intervalo (una copia).
+     */
+    public long[] getTotals() {
+        return totals.clone();
+    }
+}
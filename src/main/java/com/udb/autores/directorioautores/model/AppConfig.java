@@ -0,0 +1,92 @@
+package com.udb.autores.directorioautores.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Configuración de la aplicación.
+ * Lee el archivo 'autores.properties' del classpath y permite sobreescribir
+ * cualquier valor con una propiedad del sistema con el prefijo "autores.".
+ * Ej: -Dautores.db.url=jdbc:mysql://otro-servidor:3306/authors_database
+ * Con -Dautores.config=/otro-archivo.properties se lee otro archivo del classpath
+ * en lugar de 'autores.properties' (ej: los benchmarks, con una BD embebida).
+ */
+public final class AppConfig {
+
+    private static final String SYSTEM_PREFIX = "autores.";
+    private static final String CONFIG_FILE = System.getProperty(SYSTEM_PREFIX + "config", "/autores.properties");
+
+    // Se lee UNA SOLA VEZ al cargar la clase
+    private static final Properties FILE_PROPERTIES = loadFile();
+
+    private AppConfig() {
+    }
+
+    /**
+     * Obtiene un valor de configuración.
+     * @param key La llave (ej: "db.url").
+     * @param defaultValue El valor si la llave no está definida.
+     * @return El valor configurado.
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(SYSTEM_PREFIX + key);
+        if (value == null) {
+            value = FILE_PROPERTIES.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Obtiene todas las llaves que empiezan con un prefijo (sin el prefijo).
+     * Ej: con prefijo "db.property." la llave "db.property.cachePrepStmts"
+     * se devuelve como "cachePrepStmts".
+     * @param prefix El prefijo a buscar.
+     * @return Un mapa llave -> valor.
+     */
+    public static Map<String, String> getWithPrefix(String prefix) {
+        Map<String, String> result = new HashMap<>();
+        for (String key : FILE_PROPERTIES.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                result.put(key.substring(prefix.length()), FILE_PROPERTIES.getProperty(key).trim());
+            }
+        }
+        // Las propiedades del sistema tienen prioridad sobre el archivo
+        String systemPrefix = SYSTEM_PREFIX + prefix;
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(systemPrefix)) {
+                result.put(key.substring(systemPrefix.length()), System.getProperty(key).trim());
+            }
+        }
+        return result;
+    }
+
+    private static Properties loadFile() {
+        Properties properties = new Properties();
+        try (InputStream in = AppConfig.class.getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return properties;
+    }
+}
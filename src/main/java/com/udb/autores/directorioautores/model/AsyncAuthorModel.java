@@ -0,0 +1,99 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versión asíncrona de AuthorModel: cada método devuelve un CompletableFuture
+ * y la consulta corre en ModelExecutor, sin bloquear el hilo de la petición.
+ * Sirve para lanzar a la vez cargas independientes (ej: la primera página,
+ * el conteo y los géneros al abrir la vista) y esperar solo por la más lenta.
+ * Los resultados y errores son los mismos que los de AuthorModel.
+ * Las lecturas fallan con TimeoutException tras async.timeoutMs; las escrituras
+ * usan async.writeTimeoutMs (por defecto sin límite): tras un timeout no se sabe
+ * si se confirmaron (ver ModelExecutor.supplyWrite).
+ */
+public class AsyncAuthorModel {
+
+    private final AuthorModel authorModel = new AuthorModel();
+    private final ModelExecutor executor = ModelExecutor.getInstance();
+
+    public CompletableFuture<List<Author>> getAllAuthors() {
+        return executor.supply(authorModel::getAllAuthors);
+    }
+
+    public CompletableFuture<Void> saveAuthor(Author author) {
+        return executor.supplyWrite(() -> {
+            authorModel.saveAuthor(author);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> updateAuthor(Author author) {
+        return executor.supplyWrite(() -> {
+            authorModel.updateAuthor(author);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> deleteAuthor(Author author) {
+        return executor.supplyWrite(() -> {
+            authorModel.deleteAuthor(author);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Author>> deleteAuthors(List<Author> authors) {
+        return executor.supplyWrite(() -> authorModel.deleteAuthors(authors));
+    }
+
+    public CompletableFuture<List<Author>> findAuthorsByGenre(int genreId) {
+        return executor.supply(() -> authorModel.findAuthorsByGenre(genreId));
+    }
+
+    public CompletableFuture<List<Author>> findAuthorsAfter(int afterId, int genreId, int limit) {
+        return executor.supply(() -> authorModel.findAuthorsAfter(afterId, genreId, limit));
+    }
+
+    public CompletableFuture<List<Author>> findAuthorsBefore(int beforeId, int genreId, int limit) {
+        return executor.supply(() -> authorModel.findAuthorsBefore(beforeId, genreId, limit));
+    }
+
+    public CompletableFuture<Long> countAuthors(int genreId) {
+        return executor.supply(() -> authorModel.countAuthors(genreId));
+    }
+
+    public CompletableFuture<List<Author>> findAuthorsBornBetween(Date from, Date to, int genreId,
+                                                                 Date afterDate, int afterId, int limit) {
+        return executor.supply(() -> authorModel.findAuthorsBornBetween(from, to, genreId, afterDate, afterId, limit));
+    }
+
+    public CompletableFuture<Long> countAuthorsBornBetween(Date from, Date to, int genreId) {
+        return executor.supply(() -> authorModel.countAuthorsBornBetween(from, to, genreId));
+    }
+
+    public CompletableFuture<AgeDistribution> getAgeDistribution(int genreId, int bucketYears) {
+        return executor.supply(() -> authorModel.getAgeDistribution(genreId, bucketYears));
+    }
+
+    public CompletableFuture<Boolean> existsAuthorWithName(String name) {
+        return executor.supply(() -> authorModel.existsAuthorWithName(name));
+    }
+
+    public CompletableFuture<Author> findAuthorByName(String name) {
+        return executor.supply(() -> authorModel.findAuthorByName(name));
+    }
+
+    public CompletableFuture<Author> findAuthorById(int id) {
+        return executor.supply(() -> authorModel.findAuthorById(id));
+    }
+
+    public CompletableFuture<Author> findAuthorByPhone(String phone) {
+        return executor.supply(() -> authorModel.findAuthorByPhone(phone));
+    }
+
+    public CompletableFuture<List<AuthorSuggestion>> searchAuthorsByPrefix(String prefix, int limit) {
+        return executor.supply(() -> authorModel.searchAuthorsByPrefix(prefix, limit));
+    }
+}
@@ -0,0 +1,21 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versión asíncrona de LiteraryGenreModel (ver AsyncAuthorModel).
+ */
+public class AsyncLiteraryGenreModel {
+
+    private final LiteraryGenreModel genreModel = new LiteraryGenreModel();
+    private final ModelExecutor executor = ModelExecutor.getInstance();
+
+    public CompletableFuture<List<LiteraryGenre>> getAllGenres() {
+        return executor.supply(genreModel::getAllGenres);
+    }
+
+    public CompletableFuture<LiteraryGenre> findGenreById(int id) {
+        return executor.supply(() -> genreModel.findGenreById(id));
+    }
+}
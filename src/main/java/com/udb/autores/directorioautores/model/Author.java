@@ -1,49 +1,250 @@
 package com.udb.autores.directorioautores.model;
 
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.Column;
 import javax.persistence.ManyToOne;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.PostLoad;
+import javax.persistence.TableGenerator;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Transient;
+import javax.persistence.Version;
 import java.io.Serializable;
 import java.util.Date;
 
 
 @Entity
-@Table(name = "autor")
+// Índices para la validación de duplicados por nombre (ver AuthorNameIndex)
+// y para buscar un autor por su teléfono (ver AuthorModel.findAuthorByPhone).
+// Género + fecha de nacimiento: rangos de fechas y edades por género se resuelven
+// dentro del índice, sin leer las filas (ver AuthorModel.getAgeDistribution).
+// Última modificación: los cambios desde la copia guardada en disco (ver DirectoryReadModel.catchUp)
+@Table(name = "autor", indexes = {
+        @Index(name = "idx_autor_nombre", columnList = "nombre_autor"),
+        @Index(name = "idx_autor_telefono", columnList = "telefono_num"),
+        @Index(name = "idx_autor_genero_nacimiento", columnList = "id_genero, fecha_nacimiento"),
+        @Index(name = "idx_autor_modificacion", columnList = "ultima_modificacion")
+})
+// Consultas fijas de AuthorModel: Hibernate las compila (y revisa) una sola vez al crear
+// la fábrica, en el arranque, en lugar de hacerlo la primera petición que las usa.
+// Las que filtran por género tienen una versión "...InGenre" (sin el AND no hay parámetro).
+@NamedQueries({
+        @NamedQuery(name = Author.FIND_ALL,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre"),
+        @NamedQuery(name = Author.FIND_BY_ID,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre WHERE a.id = :id"),
+        @NamedQuery(name = Author.FIND_BY_GENRE,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre WHERE a.literaryGenre.id = :genreId"),
+        @NamedQuery(name = Author.FIND_BY_NAME,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre WHERE a.name = :name"),
+        @NamedQuery(name = Author.FIND_BY_PHONE,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre"
+                        + " WHERE a.phoneNumber = :phoneNumber ORDER BY a.id"),
+        @NamedQuery(name = Author.FIND_AFTER,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre WHERE a.id > :afterId ORDER BY a.id"),
+        @NamedQuery(name = Author.FIND_AFTER_IN_GENRE,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre"
+                        + " WHERE a.id > :afterId AND a.literaryGenre.id = :genreId ORDER BY a.id"),
+        @NamedQuery(name = Author.FIND_BEFORE,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre WHERE a.id < :beforeId ORDER BY a.id DESC"),
+        @NamedQuery(name = Author.FIND_BEFORE_IN_GENRE,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre"
+                        + " WHERE a.id < :beforeId AND a.literaryGenre.id = :genreId ORDER BY a.id DESC"),
+        @NamedQuery(name = Author.COUNT,
+                query = "SELECT COUNT(a) FROM Author a"),
+        @NamedQuery(name = Author.COUNT_IN_GENRE,
+                query = "SELECT COUNT(a) FROM Author a WHERE a.literaryGenre.id = :genreId"),
+        @NamedQuery(name = Author.COUNT_BY_GENRE,
+                query = "SELECT g.id, COUNT(a) FROM Author a LEFT JOIN a.literaryGenre g GROUP BY g.id"),
+        @NamedQuery(name = Author.UPDATE_VERSIONED,
+                query = "UPDATE Author a SET a.name = :name, a.phoneNumber = :phoneNumber, a.birthDate = :birthDate,"
+                        + " a.literaryGenre = :genre, a.version = a.version + 1"
+                        + " WHERE a.id = :id AND a.version = :version"),
+        @NamedQuery(name = Author.DELETE_VERSIONED,
+                query = "DELETE FROM Author a WHERE a.id = :id AND a.version = :version"),
+        @NamedQuery(name = Author.ROWS_AFTER,
+                query = Author.ROW_COLUMNS + " WHERE a.id > :afterId ORDER BY a.id"),
+        @NamedQuery(name = Author.ROWS_AFTER_IN_GENRE,
+                query = Author.ROW_COLUMNS + " WHERE a.id > :afterId AND g.id = :genreId ORDER BY a.id"),
+        @NamedQuery(name = Author.ROW_BY_ID,
+                query = Author.ROW_COLUMNS + " WHERE a.id = :id"),
+        @NamedQuery(name = Author.SNAPSHOT_ROWS,
+                query = "SELECT a.id, a.name, a.phoneNumber, a.birthDate, g.id, g.name, a.version"
+                        + " FROM Author a LEFT JOIN a.literaryGenre g ORDER BY a.id"),
+        @NamedQuery(name = Author.SNAPSHOT_IDS,
+                query = "SELECT a.id FROM Author a ORDER BY a.id"),
+        @NamedQuery(name = Author.FIND_MODIFIED_SINCE,
+                query = "SELECT a FROM Author a LEFT JOIN FETCH a.literaryGenre WHERE a.lastModified > :since"),
+        @NamedQuery(name = Author.COUNT_MODIFIED_SINCE,
+                query = "SELECT COUNT(a) FROM Author a WHERE a.lastModified > :since"),
+        @NamedQuery(name = Author.NAMES_MODIFIED_SINCE,
+                query = "SELECT a.name FROM Author a WHERE a.lastModified > :since"),
+        @NamedQuery(name = Author.LAST_MODIFIED,
+                query = "SELECT MAX(a.lastModified) FROM Author a"),
+        @NamedQuery(name = Author.DATA_VERSION,
+                query = "SELECT MAX(a.lastModified), COUNT(a) FROM Author a"),
+        @NamedQuery(name = Author.BIRTH_DATE_COUNTS,
+                query = "SELECT a.literaryGenre.id, a.birthDate, COUNT(a) FROM Author a"
+                        + " WHERE a.birthDate IS NOT NULL GROUP BY a.literaryGenre.id, a.birthDate"),
+        @NamedQuery(name = Author.SUGGEST_BY_NAME,
+                query = "SELECT a.id, a.name FROM Author a WHERE a.name LIKE :prefix ORDER BY a.name")
+})
 public class Author implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // Cantidad de IDs que se reservan de una sola vez en 'secuencia_id'
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Solo las columnas que se muestran/exportan (sin entidades), ver AuthorRowHandler
+    static final String ROW_COLUMNS = "SELECT a.id, a.name, a.phoneNumber, a.birthDate, g.name"
+            + " FROM Author a LEFT JOIN a.literaryGenre g";
+
+    // Nombres de las consultas (ver @NamedQueries)
+    static final String FIND_ALL = "Author.findAll";
+    static final String FIND_BY_ID = "Author.findById";
+    static final String FIND_BY_GENRE = "Author.findByGenre";
+    static final String FIND_BY_NAME = "Author.findByName";
+    static final String FIND_BY_PHONE = "Author.findByPhone";
+    static final String FIND_AFTER = "Author.findAfter";
+    static final String FIND_AFTER_IN_GENRE = "Author.findAfterInGenre";
+    static final String FIND_BEFORE = "Author.findBefore";
+    static final String FIND_BEFORE_IN_GENRE = "Author.findBeforeInGenre";
+    static final String COUNT = "Author.count";
+    static final String COUNT_IN_GENRE = "Author.countInGenre";
+    static final String COUNT_BY_GENRE = "Author.countByGenre";
+    static final String UPDATE_VERSIONED = "Author.updateVersioned";
+    static final String DELETE_VERSIONED = "Author.deleteVersioned";
+    static final String ROWS_AFTER = "Author.rowsAfter";
+    static final String ROWS_AFTER_IN_GENRE = "Author.rowsAfterInGenre";
+    static final String ROW_BY_ID = "Author.rowById";
+    static final String SNAPSHOT_ROWS = "Author.snapshotRows";
+    static final String SNAPSHOT_IDS = "Author.snapshotIds";
+    static final String FIND_MODIFIED_SINCE = "Author.findModifiedSince";
+    static final String COUNT_MODIFIED_SINCE = "Author.countModifiedSince";
+    static final String NAMES_MODIFIED_SINCE = "Author.namesModifiedSince";
+    static final String LAST_MODIFIED = "Author.lastModified";
+    static final String DATA_VERSION = "Author.dataVersion";
+    static final String BIRTH_DATE_COUNTS = "Author.birthDateCounts";
+    static final String SUGGEST_BY_NAME = "Author.suggestByName";
+
     @Id // Llave primaria
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Autoincremental
+    // Los IDs salen de la tabla 'secuencia_id' en bloques de ALLOCATION_SIZE.
+    // Con IDENTITY Hibernate no puede agrupar los INSERT en lotes (batch),
+    // porque necesita ejecutar cada INSERT para conocer el ID generado.
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "autorIds")
+    @TableGenerator(name = "autorIds", table = "secuencia_id",
+            pkColumnName = "entidad", valueColumnName = "siguiente_valor",
+            pkColumnValue = "autor", allocationSize = Author.ID_ALLOCATION_SIZE)
     @Column(name = "id_autor") // Columna SQL
     private int id;
 
     @Column(name = "nombre_autor") // Columna SQL
     private String name;
 
-    @Column(name = "telefono") // Columna SQL
-    private String phone;
+    // Se guarda como número (71234567) y se muestra como 7123-4567 (ver PhoneNumbers)
+    @Column(name = "telefono_num") // Columna SQL
+    private Integer phoneNumber;
 
     @Temporal(TemporalType.DATE) // Importante para manejar solo Fecha (sin hora)
     @Column(name = "fecha_nacimiento") // Columna SQL
     private Date birthDate;
 
     // Esta es la relación: Muchos autores (Many) tienen Un género (One)
-    @ManyToOne
+    // LAZY: el género no se consulta por separado; las consultas de AuthorModel
+    // lo traen con JOIN FETCH en el mismo SELECT que el autor.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_genero") // La llave foránea en la tabla 'autor'
     private LiteraryGenre literaryGenre;
 
+    // Bloqueo optimista: cada UPDATE lo incrementa. Si al guardar ya no coincide con
+    // el de la BD, otro usuario modificó el autor mientras se editaba (ver AuthorModel).
+    @Version
+    @Column(name = "version")
+    private int version;
+
+    // La pone la BD (no Hibernate) al insertar y en cada UPDATE, con el reloj del
+    // servidor de BD: es la marca con la que se buscan las filas cambiadas desde
+    // que se guardó la copia del directorio en disco (ver DirectorySnapshotFile)
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "ultima_modificacion", insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)")
+    private Date lastModified;
+
+    // Cómo estaba el autor al cargarlo de la BD (ver getLoadedState). Solo se guardan
+    // referencias a los valores, sin copiarlos, así que cuesta poco en listas grandes.
+    @Transient
+    private String loadedName;
+    @Transient
+    private Integer loadedPhoneNumber;
+    @Transient
+    private Date loadedBirthDate;
+    @Transient
+    private LiteraryGenre loadedLiteraryGenre;
+    @Transient
+    private boolean loaded;
+
     // --- Constructores ---
     public Author() {
     }
 
+    /**
+     * Crea una copia (ej: para editar sin tocar el objeto compartido por la caché).
+     */
+    public Author(Author other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.phoneNumber = other.phoneNumber;
+        this.birthDate = other.birthDate != null ? new Date(other.birthDate.getTime()) : null;
+        this.literaryGenre = other.literaryGenre;
+        this.version = other.version;
+        this.loadedName = other.loadedName;
+        this.loadedPhoneNumber = other.loadedPhoneNumber;
+        this.loadedBirthDate = other.loadedBirthDate;
+        this.loadedLiteraryGenre = other.loadedLiteraryGenre;
+        this.loaded = other.loaded;
+    }
+
+    /**
+     * Recuerda los valores tal como vinieron de la BD (o como quedaron tras guardarlos).
+     */
+    @PostLoad
+    void markLoaded() {
+        this.loadedName = name;
+        this.loadedPhoneNumber = phoneNumber;
+        this.loadedBirthDate = birthDate;
+        this.loadedLiteraryGenre = literaryGenre;
+        this.loaded = true;
+    }
+
+    /**
+     * El autor tal como está en la BD para la versión actual, sin consultarla
+     * (AuthorModel lo usa para avisar a cachés e índices qué cambió).
+     * @return Una copia con los valores cargados, o null si el objeto no vino de la BD.
+     */
+    Author getLoadedState() {
+        if (!loaded) {
+            return null;
+        }
+        Author state = new Author();
+        state.id = id;
+        state.name = loadedName;
+        state.phoneNumber = loadedPhoneNumber;
+        state.birthDate = loadedBirthDate;
+        state.literaryGenre = loadedLiteraryGenre;
+        state.version = version;
+        return state;
+    }
+
     // --- Getters y Setters ---
     // (JSF los necesita para acceder a los datos)
 
@@ -63,12 +264,38 @@ public class Author implements Serializable {
         this.name = name;
     }
 
+    /**
+     * @return El teléfono con formato (ej: 7123-4567), o null.
+     */
     public String getPhone() {
-        return phone;
+        return PhoneNumbers.format(phoneNumber);
     }
 
+    /**
+     * @param phone El teléfono con formato 7XXX-XXXX (ya validado), o vacío.
+     * @throws IllegalArgumentException Si no cumple el formato.
+     */
     public void setPhone(String phone) {
-        this.phone = phone;
+        if (PhoneNumbers.isBlank(phone)) {
+            this.phoneNumber = null;
+            return;
+        }
+        int number = PhoneNumbers.toNumber(phone);
+        if (number < 0) {
+            throw new IllegalArgumentException("Teléfono con formato inválido: " + phone);
+        }
+        this.phoneNumber = number;
+    }
+
+    public Integer getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    /**
+     * Para armar autores fuera de JPA (ver DirectorySnapshot); la vista usa setPhone().
+     */
+    void setPhoneNumber(Integer phoneNumber) {
+        this.phoneNumber = phoneNumber;
     }
 
     public Date getBirthDate() {
@@ -79,6 +306,14 @@ public class Author implements Serializable {
         this.birthDate = birthDate;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public LiteraryGenre getLiteraryGenre() {
         return literaryGenre;
     }
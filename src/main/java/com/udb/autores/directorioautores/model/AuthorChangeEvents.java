@@ -0,0 +1,96 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Avisa a los AuthorChangeListener cada vez que se confirma una escritura de autores.
+ * Un error en un listener se registra en el log pero NO afecta la escritura,
+ * que ya está confirmada en la BD.
+ */
+public final class AuthorChangeEvents {
+
+    private static final Logger LOG = Logger.getLogger(AuthorChangeEvents.class.getName());
+
+    // Las estructuras en memoria de la aplicación; se pueden agregar más con register()
+    private static final List<AuthorChangeListener> LISTENERS = new CopyOnWriteArrayList<>(Arrays.asList(
+            AuthorQueryCache.getInstance(),
+            AuthorNameIndex.getInstance(),
+            AuthorSearchIndex.getInstance(),
+            BirthDateIndex.getInstance(),
+            DirectoryReadModel.getInstance(),
+            AuthorCounters.getInstance(),
+            DataVersions.getInstance(),
+            ReadYourWrites.getInstance()
+    ));
+
+    private AuthorChangeEvents() {
+    }
+
+    public static void register(AuthorChangeListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void unregister(AuthorChangeListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    static void fireSaved(Author author) {
+        for (AuthorChangeListener listener : LISTENERS) {
+            try {
+                listener.authorSaved(author);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Error en " + listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    static void fireSaved(List<Author> authors) {
+        if (authors.isEmpty()) {
+            return;
+        }
+        for (AuthorChangeListener listener : LISTENERS) {
+            try {
+                listener.authorsSaved(authors);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Error en " + listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    static void fireUpdated(Author before, Author after) {
+        for (AuthorChangeListener listener : LISTENERS) {
+            try {
+                listener.authorUpdated(before, after);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Error en " + listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    static void fireDeleted(Author author) {
+        for (AuthorChangeListener listener : LISTENERS) {
+            try {
+                listener.authorDeleted(author);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Error en " + listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    static void fireDeleted(List<Author> authors) {
+        if (authors.isEmpty()) {
+            return;
+        }
+        for (AuthorChangeListener listener : LISTENERS) {
+            try {
+                listener.authorsDeleted(authors);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Error en " + listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.List;
+
+/**
+ * Recibe los cambios de autores DESPUÉS de que se confirmaron en la BD.
+ * La usan las estructuras en memoria (cachés e índices) para mantenerse al día
+ * sin volver a consultar la BD. Ver AuthorChangeEvents.
+ */
+public interface AuthorChangeListener {
+
+    void authorSaved(Author author);
+
+    /**
+     * @param before El autor como estaba antes de actualizarlo.
+     * @param after El autor como quedó.
+     */
+    void authorUpdated(Author before, Author after);
+
+    void authorDeleted(Author author);
+
+    /**
+     * Varios autores guardados en una misma transacción (ej: importación masiva).
+     * Por defecto se avisa uno por uno.
+     */
+    default void authorsSaved(List<Author> authors) {
+        for (Author author : authors) {
+            authorSaved(author);
+        }
+    }
+
+    /**
+     * Varios autores eliminados en una misma transacción (ej: selección múltiple).
+     * Por defecto se avisa uno por uno.
+     */
+    default void authorsDeleted(List<Author> authors) {
+        for (Author author : authors) {
+            authorDeleted(author);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Cuántos autores hay en total y por género, sin consultar la BD: el conteo de la
+ * tabla (botón "Contar") y el desglose por género se responden desde aquí.
+ * - Cada escritura de este servidor suma o resta 1 (AuthorChangeListener). Son
+ *   LongAdder: muchos hilos pueden sumar a la vez sin competir por un lock.
+ * - reconcile() (periódico) cuenta en la BD con un solo COUNT ... GROUP BY y ajusta
+ *   los contadores; así se incorporan los cambios de otros servidores. La diferencia
+ *   encontrada se publica en /metrics (autores_counters_drift_total).
+ * Los cambios que llegan mientras corre la consulta se vuelven a sumar sobre lo
+ * contado. Un cambio confirmado justo antes de la consulta puede contarse dos veces
+ * (o ninguna) por un momento: la siguiente conciliación lo corrige.
+ */
+public final class AuthorCounters implements AuthorChangeListener {
+
+    private static final Logger LOG = Logger.getLogger(AuthorCounters.class.getName());
+
+    private static final boolean ENABLED = AppConfig.getBoolean("counters.enabled", true);
+
+    private static final AuthorCounters INSTANCE = new AuthorCounters();
+
+    // ID de género (0 = sin género) -> autores; el total es la suma de todos
+    private final Map<Integer, LongAdder> byGenre = new ConcurrentHashMap<>();
+    private volatile boolean ready; // false hasta la primera conciliación
+
+    // Cambios durante reconcile() (null si no hay una en curso)
+    private volatile Map<Integer, LongAdder> pending;
+
+    private final LongAdder reconciles = new LongAdder();
+    private final LongAdder drift = new LongAdder();
+
+    private AuthorCounters() {
+    }
+
+    public static AuthorCounters getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return true si los conteos son confiables (ya se concilió una vez con la BD).
+     */
+    public boolean isReady() {
+        return ENABLED && ready;
+    }
+
+    /**
+     * @param genreId El ID del género (0 = todos).
+     * @return Cuántos autores hay (sin consultar la BD).
+     */
+    public long count(int genreId) {
+        if (genreId > 0) {
+            LongAdder counter = byGenre.get(genreId);
+            return counter != null ? Math.max(0, counter.sum()) : 0;
+        }
+        long total = 0;
+        for (LongAdder counter : byGenre.values()) {
+            total += counter.sum();
+        }
+        return Math.max(0, total);
+    }
+
+    /**
+     * @return Autores por ID de género (0 = sin género), solo los géneros con autores.
+     */
+    public Map<Integer, Long> getCountsByGenre() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : byGenre.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Cuenta los autores por género en la BD y ajusta los contadores.
+     */
+    public void reconcile() {
+        if (!ENABLED) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<Integer, LongAdder> changes = new ConcurrentHashMap<>();
+        pending = changes;
+        try {
+            Map<Integer, Long> loaded = new AuthorModel().countAuthorsByGenre();
+            long differences = 0;
+            synchronized (this) {
+                pending = null;
+                for (Map.Entry<Integer, LongAdder> entry : byGenre.entrySet()) {
+                    if (!loaded.containsKey(entry.getKey())) {
+                        loaded.put(entry.getKey(), 0L); // Género que se quedó sin autores
+                    }
+                }
+                for (Map.Entry<Integer, Long> entry : loaded.entrySet()) {
+                    LongAdder change = changes.get(entry.getKey());
+                    long target = entry.getValue() + (change != null ? change.sum() : 0);
+                    LongAdder counter = counter(entry.getKey());
+                    // add() en lugar de reset(): no se pierden las sumas que lleguen mientras tanto
+                    long difference = target - counter.sum();
+                    counter.add(difference);
+                    differences += Math.abs(difference);
+                }
+            }
+            if (ready) {
+                drift.add(differences);
+            }
+            if (differences > 0) {
+                DataVersions.getInstance().changedOutside(); // Cambios de otro servidor
+                AuthorQueryCache.getInstance().invalidateAll();
+            }
+            ready = true;
+            reconciles.increment();
+            LOG.fine(String.format("Contadores de autores conciliados: %d géneros, %d diferencias, en %d ms",
+                    loaded.size(), differences, (System.nanoTime() - start) / 1_000_000));
+        } finally {
+            pending = null;
+        }
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+
+    @Override
+    public void authorSaved(Author author) {
+        add(genreId(author), 1);
+    }
+
+    @Override
+    public void authorUpdated(Author before, Author after) {
+        int from = genreId(before);
+        int to = genreId(after);
+        if (from != to) {
+            add(from, -1);
+            add(to, 1);
+        }
+    }
+
+    @Override
+    public void authorDeleted(Author author) {
+        add(genreId(author), -1);
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public long getReconcileCount() {
+        return reconciles.sum();
+    }
+
+    public long getDriftCount() {
+        return drift.sum();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private void add(int genreId, long delta) {
+        if (!ENABLED) {
+            return;
+        }
+        counter(genreId).add(delta);
+        Map<Integer, LongAdder> changes = pending;
+        if (changes != null) {
+            changes.computeIfAbsent(genreId, id -> new LongAdder()).add(delta);
+        }
+    }
+
+    private LongAdder counter(int genreId) {
+        LongAdder counter = byGenre.get(genreId); // Sin lock en el caso común (ya existe)
+        return counter != null ? counter : byGenre.computeIfAbsent(genreId, id -> new LongAdder());
+    }
+
+    private static int genreId(Author author) {
+        return author.getLiteraryGenre() != null ? author.getLiteraryGenre().getId() : 0;
+    }
+}
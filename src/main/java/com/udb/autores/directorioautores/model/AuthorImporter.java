@@ -0,0 +1,262 @@
+package com.udb.autores.directorioautores.model;
+
+import com.udb.autores.directorioautores.view.SVPhoneValidator;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Importación masiva de autores desde un CSV.
+ * Formato (con o sin encabezado): nombre,telefono,fecha_nacimiento,genero
+ * Ej: "García Márquez, Gabriel",7123-4567,1927-03-06,Novela
+ *
+ * - Lee el archivo línea por línea: la memoria no depende del tamaño del archivo.
+ * - Inserta con lotes JDBC (batch) y confirma (commit) cada cierto número de filas.
+ * - Las filas inválidas NO detienen la importación: se escriben en el reporte de rechazos.
+ */
+public class AuthorImporter {
+
+    private static final Logger LOG = Logger.getLogger(AuthorImporter.class.getName());
+
+    private static final int MAX_NAME_LENGTH = 100; // Tamaño de 'nombre_autor'
+
+    private final int batchSize;   // Filas por lote JDBC (flush + clear)
+    private final int commitEvery; // Filas por transacción
+
+    public AuthorImporter() {
+        this(AppConfig.getInt("import.batchSize", 50), AppConfig.getInt("import.commitEvery", 5000));
+    }
+
+    public AuthorImporter(int batchSize, int commitEvery) {
+        this.batchSize = batchSize;
+        this.commitEvery = Math.max(commitEvery, batchSize);
+    }
+
+    /**
+     * Importa los autores de un CSV.
+     * @param input El contenido CSV (se lee una sola vez, de principio a fin).
+     * @param rejections Donde se escribe una línea por fila rechazada:
+     *                   linea,motivo,contenido
+     * @return El resumen de la importación (con el error, si la BD o la lectura fallaron
+     *         a mitad: lo confirmado antes se queda).
+     */
+    public ImportReport importCsv(Reader input, Writer rejections) throws IOException {
+        ImportReport report = new ImportReport();
+        Map<String, LiteraryGenre> genres = loadGenreMap();
+        // Autores de la transacción en curso, para avisar a cachés e índices al confirmar.
+        // Son a lo más 'commitEvery', así que la memoria sigue acotada.
+        List<Author> pendingAuthors = new ArrayList<>();
+        BufferedReader reader = input instanceof BufferedReader
+                ? (BufferedReader) input : new BufferedReader(input);
+
+        long start = System.nanoTime();
+        String error = null;
+        EntityManager em = JPAUtil.getEntityManager();
+        EntityTransaction tx = null;
+        try {
+            // Hibernate agrupa los INSERT en lotes de este tamaño
+            em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            tx = em.getTransaction();
+            tx.begin();
+
+            List<String> fields = new ArrayList<>();
+            long lineNumber = 0;
+            int pendingInBatch = 0;
+            int pendingInTx = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || (lineNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+                report.rowRead();
+
+                Author author = new Author();
+                String reason = parseRow(line, fields, genres, author);
+                if (reason != null) {
+                    report.rowRejected();
+                    writeRejection(rejections, lineNumber, reason, line);
+                    continue;
+                }
+
+                em.persist(author);
+                pendingAuthors.add(author);
+                pendingInBatch++;
+                pendingInTx++;
+
+                if (pendingInBatch >= batchSize) {
+                    em.flush(); // Envía el lote de INSERT
+                    em.clear(); // Suelta los autores ya enviados (memoria constante)
+                    pendingInBatch = 0;
+                }
+                if (pendingInTx >= commitEvery) {
+                    tx.commit();
+                    report.rowsCommitted(pendingInTx);
+                    AuthorChangeEvents.fireSaved(pendingAuthors);
+                    pendingAuthors.clear();
+                    pendingInTx = 0;
+                    tx.begin();
+                }
+            }
+            tx.commit();
+            report.rowsCommitted(pendingInTx);
+            AuthorChangeEvents.fireSaved(pendingAuthors);
+        } catch (RuntimeException e) {
+            // Error de BD: se pierde solo la transacción en curso
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            e.printStackTrace();
+            error = e.getMessage();
+        } catch (IOException e) {
+            // No se pudo leer el CSV o escribir el rechazo: igual, solo se pierde la transacción en curso
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            e.printStackTrace();
+            error = "Error de lectura/escritura: " + e.getMessage();
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+        }
+        try {
+            rejections.flush();
+        } catch (IOException e) {
+            if (error == null) {
+                error = "No se pudo escribir el reporte de rechazos: " + e.getMessage();
+            }
+        }
+        report.finish(System.nanoTime() - start, error);
+        LOG.info("Importación de autores: " + report);
+        return report;
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    /**
+     * Valida una fila y llena el autor.
+     * @return El motivo del rechazo, o null si la fila es válida.
+     */
+    private String parseRow(String line, List<String> fields,
+                            Map<String, LiteraryGenre> genres, Author author) {
+        if (!splitCsvLine(line, fields)) {
+            return "Comillas sin cerrar";
+        }
+        if (fields.size() != 4) {
+            return "Se esperaban 4 columnas y hay " + fields.size();
+        }
+        String name = fields.get(0).trim();
+        if (name.isEmpty()) {
+            return "El nombre es obligatorio";
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return "El nombre supera " + MAX_NAME_LENGTH + " caracteres";
+        }
+        String phone = fields.get(1).trim();
+        if (!SVPhoneValidator.isValidPhone(phone)) {
+            return "Teléfono inválido (formato 7XXX-XXXX)";
+        }
+        LocalDate birthDate;
+        try {
+            birthDate = LocalDate.parse(fields.get(2).trim()); // yyyy-MM-dd
+        } catch (DateTimeParseException e) {
+            return "Fecha inválida (formato yyyy-MM-dd)";
+        }
+        LiteraryGenre genre = genres.get(normalizeGenreName(fields.get(3)));
+        if (genre == null) {
+            return "Género desconocido";
+        }
+
+        author.setName(name);
+        author.setPhone(phone);
+        author.setBirthDate(java.sql.Date.valueOf(birthDate));
+        author.setLiteraryGenre(genre);
+        return null;
+    }
+
+    /**
+     * Mapa nombre normalizado -> género, para no consultar la BD en cada fila.
+     */
+    private static Map<String, LiteraryGenre> loadGenreMap() {
+        Map<String, LiteraryGenre> map = new HashMap<>();
+        List<LiteraryGenre> all = new LiteraryGenreModel().getAllGenres();
+        if (all != null) {
+            for (LiteraryGenre genre : all) {
+                map.put(normalizeGenreName(genre.getName()), genre);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * "  Ciencia Ficción " -> "ciencia ficcion"
+     */
+    private static String normalizeGenreName(String name) {
+        String withoutAccents = Normalizer.normalize(name.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        return withoutAccents.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase(Locale.ROOT).startsWith("nombre");
+    }
+
+    /**
+     * Separa una línea CSV en columnas. Soporta campos entre comillas
+     * (con comas adentro) y comillas dobles escapadas ("").
+     * @return false si hay comillas sin cerrar.
+     */
+    static boolean splitCsvLine(String line, List<String> fields) {
+        fields.clear();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return !quoted;
+    }
+
+    private static void writeRejection(Writer out, long lineNumber, String reason, String line) throws IOException {
+        out.write(Long.toString(lineNumber));
+        out.write(",\"");
+        out.write(reason.replace("\"", "\"\""));
+        out.write("\",\"");
+        out.write(line.replace("\"", "\"\""));
+        out.write("\"\n");
+    }
+}
@@ -1,11 +1,32 @@
 package com.udb.autores.directorioautores.model;
 
 import com.udb.autores.directorioautores.model.Author;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 // Importarás tu clase de utilidad de JPA (ej: JPAUtil.java)
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.TemporalType;
 import javax.persistence.TypedQuery;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Modelo para gestionar las operaciones CRUD de la entidad Author (Autor).
@@ -13,20 +34,108 @@ import java.util.List;
  */
 public class AuthorModel {
 
+    // Resultados de consultas por género, compartidos por todas las vistas
+    private static final AuthorQueryCache QUERY_CACHE = AuthorQueryCache.getInstance();
+
+    // Hashes de los nombres existentes, para la validación de duplicados
+    private static final AuthorNameIndex NAME_INDEX = AuthorNameIndex.getInstance();
+
+    // Palabras de los nombres, para la búsqueda mientras se escribe
+    private static final AuthorSearchIndex SEARCH_INDEX = AuthorSearchIndex.getInstance();
+
+    // Copia en memoria de todo el directorio (ver DirectoryReadModel)
+    private static final DirectoryReadModel READ_MODEL = DirectoryReadModel.getInstance();
+
+    // getAllAuthors() iguales al mismo tiempo comparten una consulta (las filtradas,
+    // en AuthorQueryCache)
+    private static final SingleFlight<String, List<Author>> ALL_AUTHORS_FLIGHT =
+            SingleFlight.named("AuthorModel.getAllAuthors");
+
+    // Escrituras confirmadas en grupo, varias por transacción (opcional, ver AuthorWriteQueue)
+    private static final AuthorWriteQueue WRITE_QUEUE = AuthorWriteQueue.getInstance();
+
+    // Conteos total y por género que se mantienen con cada escritura (ver AuthorCounters)
+    private static final AuthorCounters COUNTERS = AuthorCounters.getInstance();
+
+    // Autores por fecha de nacimiento, para contar rangos sin ir a la BD (opcional)
+    private static final BirthDateIndex BIRTH_DATE_INDEX = BirthDateIndex.getInstance();
+
+    // Edad desde la que todos van al último intervalo de getAgeDistribution() (ej: "100+")
+    private static final int MAX_AGE = AppConfig.getInt("ages.maxAge", 100);
+
+    // El género es LAZY (ver Author): las consultas que devuelven autores lo traen
+    // en el mismo SELECT, así una página de la tabla es UNA sola consulta
+    // sin importar cuántos géneros distintos tenga (evita el problema N+1).
+    // Las consultas fijas son consultas con nombre (@NamedQueries en Author),
+    // compiladas al arrancar; aquí se arman solo las que dependen de los filtros.
+    private static final String FETCH_GENRE = " LEFT JOIN FETCH a.literaryGenre";
+
+    // Latencia y errores de cada operación (se publican en /metrics)
+    private static final LatencyHistogram GET_ALL_TIMER = Metrics.histogram("AuthorModel.getAllAuthors");
+    private static final LatencyHistogram SAVE_TIMER = Metrics.histogram("AuthorModel.saveAuthor");
+    private static final LatencyHistogram UPDATE_TIMER = Metrics.histogram("AuthorModel.updateAuthor");
+    private static final LatencyHistogram DELETE_TIMER = Metrics.histogram("AuthorModel.deleteAuthor");
+    private static final LatencyHistogram DELETE_MANY_TIMER = Metrics.histogram("AuthorModel.deleteAuthors");
+    private static final LatencyHistogram BY_GENRE_TIMER = Metrics.histogram("AuthorModel.findAuthorsByGenre");
+    private static final LatencyHistogram AFTER_TIMER = Metrics.histogram("AuthorModel.findAuthorsAfter");
+    private static final LatencyHistogram BEFORE_TIMER = Metrics.histogram("AuthorModel.findAuthorsBefore");
+    private static final LatencyHistogram COUNT_TIMER = Metrics.histogram("AuthorModel.countAuthors");
+    private static final LatencyHistogram COUNT_BY_GENRE_TIMER = Metrics.histogram("AuthorModel.countAuthorsByGenre");
+    private static final LatencyHistogram BORN_BETWEEN_TIMER = Metrics.histogram("AuthorModel.findAuthorsBornBetween");
+    private static final LatencyHistogram COUNT_BORN_TIMER = Metrics.histogram("AuthorModel.countAuthorsBornBetween");
+    private static final LatencyHistogram AGES_TIMER = Metrics.histogram("AuthorModel.getAgeDistribution");
+    private static final LatencyHistogram BIRTH_DATES_TIMER = Metrics.histogram("AuthorModel.forEachBirthDateCount");
+    private static final LatencyHistogram FOR_EACH_TIMER = Metrics.histogram("AuthorModel.forEachAuthorRow");
+    private static final LatencyHistogram ROWS_TIMER = Metrics.histogram("AuthorModel.findAuthorRows");
+    private static final LatencyHistogram ROW_BY_ID_TIMER = Metrics.histogram("AuthorModel.findAuthorRowById");
+    private static final LatencyHistogram EXISTS_TIMER = Metrics.histogram("AuthorModel.existsAuthorWithName");
+    private static final LatencyHistogram BY_NAME_TIMER = Metrics.histogram("AuthorModel.findAuthorByName");
+    private static final LatencyHistogram BY_ID_TIMER = Metrics.histogram("AuthorModel.findAuthorById");
+    private static final LatencyHistogram BY_PHONE_TIMER = Metrics.histogram("AuthorModel.findAuthorByPhone");
+    private static final LatencyHistogram SEARCH_TIMER = Metrics.histogram("AuthorModel.searchAuthorsByPrefix");
+    private static final LatencyHistogram SNAPSHOT_TIMER = Metrics.histogram("AuthorModel.loadDirectorySnapshot");
+    private static final LatencyHistogram IDS_TIMER = Metrics.histogram("AuthorModel.loadAuthorIds");
+    private static final LatencyHistogram MODIFIED_TIMER = Metrics.histogram("AuthorModel.findAuthorsModifiedSince");
+    private static final LatencyHistogram COUNT_MODIFIED_TIMER = Metrics.histogram("AuthorModel.countAuthorsModifiedSince");
+    private static final LatencyHistogram NAMES_MODIFIED_TIMER = Metrics.histogram("AuthorModel.forEachNameModifiedSince");
+    private static final LatencyHistogram DATA_VERSION_TIMER = Metrics.histogram("AuthorModel.getDataVersion");
+
     /**
      * Obtiene todos los autores de la base de datos.
+     * Con el modelo de lectura cargado, salen de memoria (ver DirectoryReadModel).
      * @return Una lista de objetos Author.
      */
     public List<Author> getAllAuthors() {
-        EntityManager em = JPAUtil.getEntityManager();
+        long start = System.nanoTime();
+        DirectorySnapshot snapshot = READ_MODEL.current();
+        if (snapshot != null) {
+            try {
+                return snapshot.getAllAuthors();
+            } finally {
+                GET_ALL_TIMER.record(start);
+            }
+        }
         try {
-            // "SELECT a FROM Author a" (Obtener todos los autores)
-            TypedQuery<Author> query = em.createQuery(
-                    "SELECT a FROM Author a",
-                    Author.class
-            );
-            return query.getResultList();
+            // Llamadas al mismo tiempo (ej: todas las vistas tras una escritura) comparten
+            // una sola consulta. La versión de los datos va en la clave: quien acaba de
+            // escribir no recibe el resultado de una consulta que empezó antes.
+            String key = DataVersions.getInstance().getAuthorsVersion() + (ReadYourWrites.isPinned() ? "/primario" : "");
+            return ALL_AUTHORS_FLIGHT.execute(key, this::queryAllAuthors);
+        } finally {
+            GET_ALL_TIMER.record(start);
+        }
+    }
+
+    private List<Author> queryAllAuthors() {
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            // "SELECT a FROM Author a" (Obtener todos los autores), con su género
+            // en el mismo SELECT (JOIN FETCH) en lugar de una consulta por género
+            TypedQuery<Author> query = em.createNamedQuery(Author.FIND_ALL, Author.class);
+            // Inmodificable: la misma lista puede entregarse a varias llamadas
+            return Collections.unmodifiableList(query.getResultList());
         } catch (Exception e) {
+            GET_ALL_TIMER.error();
             e.printStackTrace();
             return null;
         } finally {
@@ -38,9 +147,25 @@ public class AuthorModel {
 
     /**
      * Guarda un nuevo autor en la base de datos (Create).
+     * Con writeQueue.enabled, se confirma junto con otras escrituras (ver AuthorWriteQueue).
      * @param author El objeto Author a persistir.
+     * @throws RejectedExecutionException Si la cola de escrituras está llena o la aplicación se detiene.
+     * @throws RuntimeException Si falla la confirmación del grupo (solo con writeQueue.enabled).
      */
     public void saveAuthor(Author author) {
+        long start = System.nanoTime();
+        if (AuthorWriteQueue.isEnabled()) {
+            try {
+                WRITE_QUEUE.save(author); // Vuelve después del commit de su grupo
+            } catch (RuntimeException e) {
+                // Rechazada por la cola o falló el commit: la vista debe avisarlo
+                SAVE_TIMER.error();
+                throw e;
+            } finally {
+                SAVE_TIMER.record(start);
+            }
+            return;
+        }
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction tx = null;
         try {
@@ -52,72 +177,277 @@ public class AuthorModel {
             em.persist(author); // Guarda el nuevo autor
 
             tx.commit(); // Confirmar transacción
+            author.markLoaded(); // Ya está en la BD tal como está en memoria
+            AuthorChangeEvents.fireSaved(author); // Actualiza cachés e índices
         } catch (Exception e) {
             if (tx != null && tx.isActive()) {
                 tx.rollback(); // Revertir si hay error
             }
+            SAVE_TIMER.error();
             e.printStackTrace();
         } finally {
             if (em != null) {
                 em.close();
             }
+            SAVE_TIMER.record(start);
         }
     }
 
     /**
      * Actualiza un autor existente en la base de datos (Update).
+     * Es UN solo UPDATE por ID y versión (sin el SELECT previo de 'merge'):
+     * si otro usuario modificó o borró el autor mientras se editaba, la versión ya
+     * no coincide, no se actualiza ninguna fila y se lanza OptimisticLockException
+     * en lugar de sobreescribir su cambio.
      * @param author El objeto Author con los datos actualizados.
+     * @throws OptimisticLockException Si el autor cambió o se borró desde que se cargó.
+     * @throws RejectedExecutionException Si la cola de escrituras está llena o la aplicación se detiene.
      */
     public void updateAuthor(Author author) {
+        long start = System.nanoTime();
+        if (AuthorWriteQueue.isEnabled()) {
+            try {
+                WRITE_QUEUE.update(author);
+            } catch (RuntimeException e) {
+                // Conflicto, rechazada por la cola o falló el commit: la vista lo avisa
+                UPDATE_TIMER.error();
+                throw e;
+            } finally {
+                UPDATE_TIMER.record(start);
+            }
+            return;
+        }
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction tx = null;
         try {
             tx = em.getTransaction();
             tx.begin();
 
-            em.merge(author); // 'merge' actualiza un objeto existente
+            Author before = applyUpdate(em, author);
 
             tx.commit();
+            author.setVersion(author.getVersion() + 1);
+            author.markLoaded();
+            AuthorChangeEvents.fireUpdated(before, author);
+        } catch (OptimisticLockException e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            UPDATE_TIMER.error();
+            throw e; // La vista avisa del conflicto
         } catch (Exception e) {
             if (tx != null && tx.isActive()) {
                 tx.rollback();
             }
+            UPDATE_TIMER.error();
             e.printStackTrace();
         } finally {
             if (em != null) {
                 em.close();
             }
+            UPDATE_TIMER.record(start);
         }
     }
 
     /**
      * Elimina un autor de la base de datos (Delete).
+     * Es UN solo DELETE por ID y versión (sin cargar el autor antes).
      * @param author El objeto Author a eliminar.
+     * @throws OptimisticLockException Si el autor cambió o se borró desde que se cargó.
+     * @throws RejectedExecutionException Si la cola de escrituras está llena o la aplicación se detiene.
      */
     public void deleteAuthor(Author author) {
+        long start = System.nanoTime();
+        if (AuthorWriteQueue.isEnabled()) {
+            try {
+                WRITE_QUEUE.delete(author);
+            } catch (RuntimeException e) {
+                DELETE_TIMER.error();
+                throw e;
+            } finally {
+                DELETE_TIMER.record(start);
+            }
+            return;
+        }
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction tx = null;
         try {
             tx = em.getTransaction();
             tx.begin();
 
-            // Para eliminar, el objeto debe estar "manejado" por el EntityManager.
-            // Si no lo está, primero lo buscamos y luego lo borramos.
-            Author toDelete = em.find(Author.class, author.getId());
-            if (toDelete != null) {
-                em.remove(toDelete); // Elimina el autor
+            Author before = applyDelete(em, author);
+
+            tx.commit();
+            AuthorChangeEvents.fireDeleted(before);
+        } catch (OptimisticLockException e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            DELETE_TIMER.error();
+            throw e;
+        } catch (Exception e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            DELETE_TIMER.error();
+            e.printStackTrace();
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            DELETE_TIMER.record(start);
+        }
+    }
+
+    /**
+     * El UPDATE de updateAuthor(), dentro de una transacción ya iniciada (también lo
+     * usa AuthorWriteQueue para varias escrituras en una misma transacción).
+     * @return Cómo estaba el autor antes del cambio.
+     * @throws OptimisticLockException Si el autor cambió o se borró desde que se cargó
+     *         (no se modificó ninguna fila: la transacción puede seguir).
+     */
+    static Author applyUpdate(EntityManager em, Author author) {
+        // Cómo estaba antes (ej: por si cambió de género), sin consultar la BD:
+        // si la versión coincide, la fila es exactamente la que se cargó.
+        Author before = author.getLoadedState();
+        if (before == null) {
+            before = findWithGenre(em, author.getId()); // El autor no vino de la BD
+            if (before == null) {
+                throw new OptimisticLockException("El autor " + author.getId() + " ya no existe");
+            }
+            before = new Author(before);
+            author.setVersion(before.getVersion());
+        }
+
+        int updated = em.createNamedQuery(Author.UPDATE_VERSIONED)
+                .setParameter("name", author.getName())
+                .setParameter("phoneNumber", author.getPhoneNumber())
+                .setParameter("birthDate", author.getBirthDate())
+                .setParameter("genre", author.getLiteraryGenre())
+                .setParameter("id", author.getId())
+                .setParameter("version", author.getVersion())
+                .executeUpdate();
+        if (updated == 0) {
+            throw new OptimisticLockException("El autor " + author.getId() + " fue modificado o eliminado por otro usuario");
+        }
+        return before;
+    }
+
+    /**
+     * El DELETE de deleteAuthor(), dentro de una transacción ya iniciada (ver applyUpdate).
+     * @return Cómo estaba el autor antes de eliminarlo.
+     * @throws OptimisticLockException Si el autor cambió o se borró desde que se cargó.
+     */
+    static Author applyDelete(EntityManager em, Author author) {
+        Author before = author.getLoadedState();
+        if (before == null) {
+            before = findWithGenre(em, author.getId()); // El autor no vino de la BD
+            if (before == null) {
+                throw new OptimisticLockException("El autor " + author.getId() + " ya no existe");
+            }
+            before = new Author(before);
+        }
+
+        int deleted = em.createNamedQuery(Author.DELETE_VERSIONED)
+                .setParameter("id", before.getId())
+                .setParameter("version", before.getVersion())
+                .executeUpdate();
+        if (deleted == 0) {
+            throw new OptimisticLockException("El autor " + author.getId() + " fue modificado o eliminado por otro usuario");
+        }
+        return before;
+    }
+
+    /**
+     * Elimina varios autores (selección múltiple de la tabla) en una transacción.
+     * Todos los DELETE van en un solo lote JDBC (un viaje a la BD) y cada uno lleva
+     * su versión: los autores que otro usuario modificó o borró mientras tanto se
+     * dejan como están y se devuelven para avisar en la vista.
+     * @param authors Los autores seleccionados (tal como se cargaron).
+     * @return Los autores que NO se eliminaron por conflicto (vacía si se eliminaron todos).
+     */
+    public List<Author> deleteAuthors(List<Author> authors) {
+        long start = System.nanoTime();
+        if (authors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Author> states = new ArrayList<>(authors.size());
+        for (Author author : authors) {
+            Author state = author.getLoadedState();
+            states.add(state != null ? state : author);
+        }
+        EntityManager em = JPAUtil.getEntityManager();
+        EntityTransaction tx = null;
+        try {
+            tx = em.getTransaction();
+            tx.begin();
+
+            final int[][] counts = new int[1][];
+            em.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement delete = connection.prepareStatement(
+                        "DELETE FROM autor WHERE id_autor = ? AND version = ?")) {
+                    for (Author state : states) {
+                        delete.setInt(1, state.getId());
+                        delete.setInt(2, state.getVersion());
+                        delete.addBatch();
+                    }
+                    counts[0] = delete.executeBatch();
+                }
+            });
+            // SUCCESS_NO_INFO (-2): el driver no informa por fila (ej: lote reescrito);
+            // se revisa en la misma transacción cuáles de esos autores siguen en la tabla
+            // (conflicto); los que ya no están se cuentan como eliminados
+            final Set<Integer> remaining = new HashSet<>();
+            final List<Integer> unknown = new ArrayList<>();
+            for (int i = 0; i < states.size(); i++) {
+                if (counts[0][i] == Statement.SUCCESS_NO_INFO) {
+                    unknown.add(states.get(i).getId());
+                }
+            }
+            if (!unknown.isEmpty()) {
+                em.unwrap(Session.class).doWork(connection -> {
+                    StringBuilder sql = new StringBuilder("SELECT id_autor FROM autor WHERE id_autor IN (");
+                    for (int i = 0; i < unknown.size(); i++) {
+                        sql.append(i == 0 ? "?" : ", ?");
+                    }
+                    try (PreparedStatement select = connection.prepareStatement(sql.append(')').toString())) {
+                        for (int i = 0; i < unknown.size(); i++) {
+                            select.setInt(i + 1, unknown.get(i));
+                        }
+                        try (ResultSet rs = select.executeQuery()) {
+                            while (rs.next()) {
+                                remaining.add(rs.getInt(1)); // No coincidió la versión
+                            }
+                        }
+                    }
+                });
             }
 
             tx.commit();
+            List<Author> deleted = new ArrayList<>(states.size());
+            List<Author> conflicts = new ArrayList<>();
+            for (int i = 0; i < states.size(); i++) {
+                int count = counts[0][i];
+                if (count > 0 || (count == Statement.SUCCESS_NO_INFO && !remaining.contains(states.get(i).getId()))) {
+                    deleted.add(states.get(i));
+                } else {
+                    conflicts.add(authors.get(i));
+                }
+            }
+            AuthorChangeEvents.fireDeleted(deleted);
+            return conflicts;
         } catch (Exception e) {
             if (tx != null && tx.isActive()) {
                 tx.rollback();
             }
+            DELETE_MANY_TIMER.error();
             e.printStackTrace();
+            return authors;
         } finally {
             if (em != null) {
                 em.close();
             }
+            DELETE_MANY_TIMER.record(start);
         }
     }
 
@@ -127,41 +457,830 @@ public class AuthorModel {
      * @return Una lista de autores que pertenecen a ese género.
      */
     public List<Author> findAuthorsByGenre(int genreId) {
-        EntityManager em = JPAUtil.getEntityManager();
+        long start = System.nanoTime();
+        try {
+            DirectorySnapshot snapshot = READ_MODEL.current();
+            if (snapshot != null) {
+                return snapshot.findAuthorsByGenre(genreId);
+            }
+            // Se sirve desde la caché mientras nadie escriba autores de este género
+            return QUERY_CACHE.get("byGenre", genreId, 0, 0, () -> queryAuthorsByGenre(genreId));
+        } finally {
+            BY_GENRE_TIMER.record(start);
+        }
+    }
+
+    private List<Author> queryAuthorsByGenre(int genreId) {
+        EntityManager em = JPAUtil.getReadEntityManager();
         try {
             // Consulta JPQL con un parámetro (:genreId)
-            TypedQuery<Author> query = em.createQuery(
-                    "SELECT a FROM Author a WHERE a.literaryGenre.id = :genreId",
-                    Author.class
-            );
+            TypedQuery<Author> query = em.createNamedQuery(Author.FIND_BY_GENRE, Author.class);
             // Asignamos el valor al parámetro
             query.setParameter("genreId", genreId);
 
+            // Inmodificable: la misma lista se comparte desde la caché
+            return Collections.unmodifiableList(query.getResultList());
+        } catch (Exception e) {
+            BY_GENRE_TIMER.error();
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * Obtiene una "página" de autores usando paginación por llave (keyset)
+     * sobre id_autor: solo trae los autores con ID mayor a 'afterId'.
+     * A diferencia de OFFSET, el costo no crece con el número de página,
+     * porque MySQL salta directo al ID usando la llave primaria.
+     * @param afterId El último ID ya mostrado (0 para empezar desde el inicio).
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @param limit Máximo de autores a devolver.
+     * @return Los autores en orden ascendente de ID.
+     */
+    public List<Author> findAuthorsAfter(int afterId, int genreId, int limit) {
+        long start = System.nanoTime();
+        try {
+            // La tabla de cada vista vuelve a pedir su página en cada postback (ver
+            // AuthorDataModel): sale de la copia en memoria, que se concilia con la BD
+            // y así incluye los cambios de otros servidores
+            DirectorySnapshot snapshot = READ_MODEL.current();
+            if (snapshot != null) {
+                return snapshot.findAuthorsAfter(afterId, genreId, limit);
+            }
+            // Sin ella, de la caché (también sin filtro, genreId = 0): la descartan las
+            // escrituras, las conciliaciones con diferencias y el vencimiento
+            return QUERY_CACHE.get("after", genreId, afterId, limit,
+                    () -> queryAuthorsAfter(afterId, genreId, limit));
+        } finally {
+            AFTER_TIMER.record(start);
+        }
+    }
+
+    private List<Author> queryAuthorsAfter(int afterId, int genreId, int limit) {
+        // De una réplica, salvo justo después de escribir (ver ReadYourWrites); lo leído
+        // de una réplica poco después de un cambio no se guarda (ver AuthorQueryCache)
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            TypedQuery<Author> query = em.createNamedQuery(
+                    genreId > 0 ? Author.FIND_AFTER_IN_GENRE : Author.FIND_AFTER, Author.class);
+            query.setParameter("afterId", afterId);
+            if (genreId > 0) {
+                query.setParameter("genreId", genreId);
+            }
+            query.setMaxResults(limit); // LIMIT: nunca traemos la tabla completa
+            return Collections.unmodifiableList(query.getResultList());
+        } catch (Exception e) {
+            AFTER_TIMER.error();
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * Igual que findAuthorsAfter(), pero hacia atrás: trae los autores con ID
+     * menor a 'beforeId' (los más cercanos primero) para el botón "Anterior".
+     * @param beforeId El primer ID mostrado actualmente.
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @param limit Máximo de autores a devolver.
+     * @return Los autores en orden DESCENDENTE de ID.
+     */
+    public List<Author> findAuthorsBefore(int beforeId, int genreId, int limit) {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            TypedQuery<Author> query = em.createNamedQuery(
+                    genreId > 0 ? Author.FIND_BEFORE_IN_GENRE : Author.FIND_BEFORE, Author.class);
+            query.setParameter("beforeId", beforeId);
+            if (genreId > 0) {
+                query.setParameter("genreId", genreId);
+            }
+            query.setMaxResults(limit);
+            return query.getResultList();
+        } catch (Exception e) {
+            BEFORE_TIMER.error();
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            BEFORE_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Cuenta los autores (opcionalmente de un género) sin cargarlos en memoria.
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @return El número de autores.
+     */
+    public long countAuthors(int genreId) {
+        long start = System.nanoTime();
+        try {
+            if (COUNTERS.isReady()) {
+                return COUNTERS.count(genreId);
+            }
+            DirectorySnapshot snapshot = READ_MODEL.current();
+            if (snapshot != null) {
+                return snapshot.count(genreId);
+            }
+            Long count = genreId > 0
+                    ? QUERY_CACHE.get("count", genreId, 0, 0, () -> queryCountAuthors(genreId))
+                    : queryCountAuthors(genreId);
+            return count != null ? count : 0;
+        } finally {
+            COUNT_TIMER.record(start);
+        }
+    }
+
+    private Long queryCountAuthors(int genreId) {
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            TypedQuery<Long> query = em.createNamedQuery(
+                    genreId > 0 ? Author.COUNT_IN_GENRE : Author.COUNT, Long.class);
+            if (genreId > 0) {
+                query.setParameter("genreId", genreId);
+            }
+            return query.getSingleResult();
+        } catch (Exception e) {
+            COUNT_TIMER.error();
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * Autores nacidos entre dos fechas (inclusive), en orden de fecha de nacimiento.
+     * Usa el índice idx_autor_genero_nacimiento: con género es una búsqueda por rango
+     * que ya sale ordenada (sin ordenar en memoria).
+     * Paginación por llave sobre (fecha, ID): para la página siguiente se pasan la
+     * fecha y el ID del último autor recibido.
+     * @param from Desde (null = sin límite).
+     * @param to Hasta (null = sin límite).
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @param afterDate Fecha de nacimiento del último autor ya entregado (null para empezar desde el inicio).
+     * @param afterId ID del último autor ya entregado.
+     * @param limit Máximo de autores a devolver.
+     * @return Los autores en orden de fecha de nacimiento y luego de ID.
+     */
+    public List<Author> findAuthorsBornBetween(Date from, Date to, int genreId, Date afterDate, int afterId, int limit) {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            TypedQuery<Author> query = em.createQuery(
+                    "SELECT a FROM Author a" + FETCH_GENRE + " WHERE a.birthDate IS NOT NULL"
+                            + (genreId > 0 ? " AND a.literaryGenre.id = :genreId" : "")
+                            + (from != null ? " AND a.birthDate >= :from" : "")
+                            + (to != null ? " AND a.birthDate <= :to" : "")
+                            + (afterDate != null
+                                    ? " AND (a.birthDate > :afterDate OR (a.birthDate = :afterDate AND a.id > :afterId))"
+                                    : "")
+                            + " ORDER BY a.birthDate, a.id",
+                    Author.class
+            );
+            if (genreId > 0) {
+                query.setParameter("genreId", genreId);
+            }
+            if (from != null) {
+                query.setParameter("from", from, TemporalType.DATE);
+            }
+            if (to != null) {
+                query.setParameter("to", to, TemporalType.DATE);
+            }
+            if (afterDate != null) {
+                query.setParameter("afterDate", afterDate, TemporalType.DATE);
+                query.setParameter("afterId", afterId);
+            }
+            query.setMaxResults(limit);
             return query.getResultList();
         } catch (Exception e) {
+            BORN_BETWEEN_TIMER.error();
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            BORN_BETWEEN_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Cuenta los autores nacidos entre dos fechas (inclusive) sin cargarlos.
+     * Con BirthDateIndex activo y cargado se responde en memoria en O(log días);
+     * si no, es un COUNT que se resuelve dentro del índice idx_autor_genero_nacimiento.
+     * @param from Desde (null = sin límite).
+     * @param to Hasta (null = sin límite).
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @return El número de autores.
+     */
+    public long countAuthorsBornBetween(Date from, Date to, int genreId) {
+        long start = System.nanoTime();
+        if (BIRTH_DATE_INDEX.isReady()) {
+            try {
+                return BIRTH_DATE_INDEX.countBetween(from, to, genreId);
+            } finally {
+                COUNT_BORN_TIMER.record(start);
+            }
+        }
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            TypedQuery<Long> query = em.createQuery(
+                    "SELECT COUNT(a) FROM Author a WHERE a.birthDate IS NOT NULL"
+                            + (genreId > 0 ? " AND a.literaryGenre.id = :genreId" : "")
+                            + (from != null ? " AND a.birthDate >= :from" : "")
+                            + (to != null ? " AND a.birthDate <= :to" : ""),
+                    Long.class
+            );
+            if (genreId > 0) {
+                query.setParameter("genreId", genreId);
+            }
+            if (from != null) {
+                query.setParameter("from", from, TemporalType.DATE);
+            }
+            if (to != null) {
+                query.setParameter("to", to, TemporalType.DATE);
+            }
+            return query.getSingleResult();
+        } catch (Exception e) {
+            COUNT_BORN_TIMER.error();
+            e.printStackTrace();
+            return 0;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            COUNT_BORN_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Cuántos autores hay por rango de edad, por género (histograma de edades).
+     * Es UN solo GROUP BY por género: cada intervalo es un SUM(CASE ...) sobre la
+     * fecha de nacimiento, así que la BD solo devuelve una fila por género y
+     * recorre el índice idx_autor_genero_nacimiento sin leer las filas.
+     * Se guarda en AuthorQueryCache hasta la siguiente escritura (o el día siguiente:
+     * las edades cambian con la fecha).
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @param bucketYears Años por intervalo (ej: 10 -> 0-9, 10-19, ...).
+     * @return Los conteos, o null si falló la consulta.
+     */
+    public AgeDistribution getAgeDistribution(int genreId, int bucketYears) {
+        long start = System.nanoTime();
+        try {
+            int years = Math.max(1, Math.min(bucketYears, MAX_AGE));
+            LocalDate today = LocalDate.now();
+            return QUERY_CACHE.get("ages", genreId, years, (int) today.toEpochDay(),
+                    () -> queryAgeDistribution(genreId, years, today));
+        } finally {
+            AGES_TIMER.record(start);
+        }
+    }
+
+    private AgeDistribution queryAgeDistribution(int genreId, int bucketYears, LocalDate today) {
+        // El último intervalo empieza en MAX_AGE o después (ej: "100+")
+        int bucketCount = (MAX_AGE + bucketYears - 1) / bucketYears + 1;
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            // Edad >= k * bucketYears  <=>  nació el día 'cut k' o antes
+            StringBuilder jpql = new StringBuilder("SELECT a.literaryGenre.id");
+            for (int i = 0; i < bucketCount; i++) {
+                jpql.append(", SUM(CASE WHEN ");
+                if (i > 0) {
+                    jpql.append("a.birthDate <= :cut").append(i);
+                }
+                if (i > 0 && i < bucketCount - 1) {
+                    jpql.append(" AND ");
+                }
+                if (i < bucketCount - 1) {
+                    jpql.append("a.birthDate > :cut").append(i + 1);
+                }
+                jpql.append(" THEN 1 ELSE 0 END)");
+            }
+            jpql.append(" FROM Author a WHERE a.birthDate IS NOT NULL AND a.birthDate <= :today");
+            if (genreId > 0) {
+                jpql.append(" AND a.literaryGenre.id = :genreId");
+            }
+            jpql.append(" GROUP BY a.literaryGenre.id");
+
+            TypedQuery<Object[]> query = em.createQuery(jpql.toString(), Object[].class);
+            query.setParameter("today", java.sql.Date.valueOf(today), TemporalType.DATE);
+            for (int k = 1; k < bucketCount; k++) {
+                query.setParameter("cut" + k, java.sql.Date.valueOf(today.minusYears((long) k * bucketYears)),
+                        TemporalType.DATE);
+            }
+            if (genreId > 0) {
+                query.setParameter("genreId", genreId);
+            }
+
+            Map<Integer, long[]> countsByGenre = new LinkedHashMap<>();
+            for (Object[] row : query.getResultList()) {
+                long[] counts = new long[bucketCount];
+                for (int i = 0; i < bucketCount; i++) {
+                    Number count = (Number) row[i + 1];
+                    counts[i] = count != null ? count.longValue() : 0;
+                }
+                countsByGenre.put(row[0] != null ? (Integer) row[0] : 0, counts);
+            }
+            return new AgeDistribution(today, bucketYears, bucketCount, countsByGenre);
+        } catch (Exception e) {
+            AGES_TIMER.error();
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * Cuántos autores nacieron cada día, por género (un GROUP BY, sin entidades).
+     * Es la carga de BirthDateIndex; siempre lee del primario.
+     * @return El número de filas (género, fecha) recorridas.
+     */
+    long forEachBirthDateCount(BirthDateIndex.DayCounts handler) {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getEntityManager();
+        ScrollableResults rows = null;
+        try {
+            org.hibernate.query.Query<Object[]> query = em.unwrap(Session.class).createNamedQuery(
+                    Author.BIRTH_DATE_COUNTS, Object[].class);
+            query.setFetchSize(1000);
+            query.setReadOnly(true);
+            rows = query.scroll(ScrollMode.FORWARD_ONLY);
+            long count = 0;
+            while (rows.next()) {
+                Object[] row = rows.get();
+                handler.add(row[0] != null ? (Integer) row[0] : 0, (Date) row[1], ((Number) row[2]).longValue());
+                count++;
+            }
+            return count;
+        } catch (RuntimeException e) {
+            BIRTH_DATES_TIMER.error();
+            throw e;
+        } finally {
+            if (rows != null) {
+                rows.close();
+            }
+            if (em != null) {
+                em.close();
+            }
+            BIRTH_DATES_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Autores por género, para el desglose de la vista. Sale de AuthorCounters
+     * (sin consultar la BD); mientras no estén listos, con un solo GROUP BY.
+     * @return ID de género (0 = sin género) -> autores, o null si hubo un error.
+     */
+    public Map<Integer, Long> getAuthorCountsByGenre() {
+        if (COUNTERS.isReady()) {
+            return COUNTERS.getCountsByGenre();
+        }
+        try {
+            return countAuthorsByGenre();
+        } catch (RuntimeException e) {
             e.printStackTrace();
             return null;
+        }
+    }
+
+    /**
+     * Cuenta los autores de cada género con un solo GROUP BY, para AuthorCounters.
+     * Siempre en el primario: es la referencia con la que se concilian los contadores.
+     * @return ID de género (0 = sin género) -> autores; solo géneros con autores.
+     */
+    Map<Integer, Long> countAuthorsByGenre() {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            Map<Integer, Long> counts = new HashMap<>();
+            for (Object[] row : em.createNamedQuery(Author.COUNT_BY_GENRE, Object[].class).getResultList()) {
+                counts.put(row[0] != null ? (Integer) row[0] : 0, (Long) row[1]);
+            }
+            return counts;
+        } catch (RuntimeException e) {
+            COUNT_BY_GENRE_TIMER.error();
+            throw e;
         } finally {
             if (em != null) {
                 em.close();
             }
+            COUNT_BY_GENRE_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Lee todo el directorio para DirectoryReadModel: solo las columnas que guarda
+     * (sin entidades), con un cursor de solo avance en orden de ID.
+     * Siempre lee del primario: es la referencia con la que se concilia la copia.
+     * @return La copia nueva.
+     */
+    DirectorySnapshot loadDirectorySnapshot() {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getEntityManager();
+        ScrollableResults rows = null;
+        try {
+            org.hibernate.query.Query<Object[]> query = em.unwrap(Session.class).createNamedQuery(
+                    Author.SNAPSHOT_ROWS, Object[].class);
+            query.setFetchSize(1000);
+            query.setReadOnly(true);
+            rows = query.scroll(ScrollMode.FORWARD_ONLY);
+            DirectorySnapshot.Builder builder = new DirectorySnapshot.Builder();
+            while (rows.next()) {
+                Object[] row = rows.get();
+                builder.add((Integer) row[0], (String) row[1], (Integer) row[2], (Date) row[3],
+                        (Integer) row[4], (String) row[5], (Integer) row[6]);
+            }
+            return builder.build();
+        } catch (RuntimeException e) {
+            SNAPSHOT_TIMER.error();
+            throw e;
+        } finally {
+            if (rows != null) {
+                rows.close();
+            }
+            if (em != null) {
+                em.close();
+            }
+            SNAPSHOT_TIMER.record(start);
+        }
+    }
+
+    /**
+     * La marca de cambios de la BD: hasta dónde llega lo que se lea después de pedirla
+     * (ver la columna 'ultima_modificacion' en Author). Siempre en el primario.
+     * @return Milisegundos desde 1970 de la última modificación, o 0 si no hay autores.
+     */
+    long getLastModification() {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            Date last = em.createNamedQuery(Author.LAST_MODIFIED, Date.class).getSingleResult();
+            return last != null ? last.getTime() : 0;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * La versión de la tabla para los ETags (ver DataVersions): la última
+     * 'ultima_modificacion' cambia con cada INSERT y UPDATE, y la cuenta con cada
+     * DELETE (que no deja marca). Es la misma en todos los servidores.
+     * Se lee del primario: una réplica atrasada daría una versión vieja.
+     * @return {marca en milisegundos (0 si no hay autores), cantidad de autores}.
+     */
+    long[] getDataVersion() {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            Object[] row = em.createNamedQuery(Author.DATA_VERSION, Object[].class).getSingleResult();
+            Date last = (Date) row[0];
+            return new long[]{last != null ? last.getTime() : 0, ((Number) row[1]).longValue()};
+        } catch (RuntimeException e) {
+            DATA_VERSION_TIMER.error();
+            throw e;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            DATA_VERSION_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Todos los IDs en orden, para que DirectoryReadModel detecte los autores borrados
+     * desde la copia en disco (un borrado no deja fila con 'ultima_modificacion').
+     * Lee solo la llave primaria: ~4 bytes por autor en lugar de la fila completa.
+     * @return Los IDs en orden ascendente.
+     */
+    int[] loadAuthorIds() {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getEntityManager();
+        ScrollableResults rows = null;
+        try {
+            org.hibernate.query.Query<Integer> query = em.unwrap(Session.class).createNamedQuery(
+                    Author.SNAPSHOT_IDS, Integer.class);
+            query.setFetchSize(10000);
+            query.setReadOnly(true);
+            rows = query.scroll(ScrollMode.FORWARD_ONLY);
+            int[] ids = new int[1024];
+            int size = 0;
+            while (rows.next()) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = (Integer) rows.get(0);
+            }
+            return Arrays.copyOf(ids, size);
+        } catch (RuntimeException e) {
+            IDS_TIMER.error();
+            throw e;
+        } finally {
+            if (rows != null) {
+                rows.close();
+            }
+            if (em != null) {
+                em.close();
+            }
+            IDS_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Autores insertados o modificados después de una marca (ver getLastModification),
+     * con su género. Siempre en el primario.
+     * @param since Milisegundos desde 1970 (exclusivo).
+     */
+    List<Author> findAuthorsModifiedSince(long since) {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.createNamedQuery(Author.FIND_MODIFIED_SINCE, Author.class)
+                    .setParameter("since", new Date(since), TemporalType.TIMESTAMP)
+                    .getResultList();
+        } catch (RuntimeException e) {
+            MODIFIED_TIMER.error();
+            throw e;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            MODIFIED_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Cuántos autores se insertaron o modificaron después de una marca (solo recorre el
+     * índice idx_autor_modificacion): DirectoryReadModel.catchUp() lo usa para decidir
+     * si le conviene pedir solo esos autores o volver a cargar todo.
+     * Siempre en el primario.
+     * @param since Milisegundos desde 1970 (exclusivo).
+     */
+    long countAuthorsModifiedSince(long since) {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.createNamedQuery(Author.COUNT_MODIFIED_SINCE, Long.class)
+                    .setParameter("since", new Date(since), TemporalType.TIMESTAMP)
+                    .getSingleResult();
+        } catch (RuntimeException e) {
+            COUNT_MODIFIED_TIMER.error();
+            throw e;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            COUNT_MODIFIED_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Los nombres de los autores insertados o modificados (ej: renombrados) después de
+     * una marca, con un cursor de solo avance (ver AuthorNameIndex.catchUp).
+     * Siempre en el primario; usa el índice idx_autor_modificacion.
+     * @param since Milisegundos desde 1970 (exclusivo).
+     * @param fetchSize Filas que se piden a la BD en cada viaje.
+     * @param handler Recibe cada nombre.
+     * @return El número de nombres recorridos.
+     */
+    long forEachNameModifiedSince(long since, int fetchSize, Consumer<String> handler) {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getEntityManager();
+        ScrollableResults rows = null;
+        try {
+            org.hibernate.query.Query<String> query = em.unwrap(Session.class).createNamedQuery(
+                    Author.NAMES_MODIFIED_SINCE, String.class);
+            query.setParameter("since", new Date(since), TemporalType.TIMESTAMP);
+            query.setFetchSize(fetchSize);
+            query.setReadOnly(true);
+            rows = query.scroll(ScrollMode.FORWARD_ONLY);
+            long count = 0;
+            while (rows.next()) {
+                handler.accept((String) rows.get(0));
+                count++;
+            }
+            return count;
+        } catch (RuntimeException e) {
+            NAMES_MODIFIED_TIMER.error();
+            throw e;
+        } finally {
+            if (rows != null) {
+                rows.close();
+            }
+            if (em != null) {
+                em.close();
+            }
+            NAMES_MODIFIED_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Recorre TODOS los autores (o los de un género) con un cursor de solo avance,
+     * entregándolos uno por uno. Pensado para exportar millones de filas:
+     * - No se arma una lista: la memoria no depende del número de autores.
+     * - 'fetchSize' filas viajan por red a la vez (con useCursorFetch de MySQL).
+     * - Se consultan solo las columnas necesarias (sin entidades).
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @param fetchSize Filas que se piden a la BD en cada viaje.
+     * @param handler Recibe cada autor.
+     * @return El número de autores recorridos.
+     * @throws IOException Si el handler falla al escribir (ej: el cliente se desconectó).
+     */
+    public long forEachAuthorRow(int genreId, int fetchSize, AuthorRowHandler handler) throws IOException {
+        // La exportación tolera unos segundos de atraso: va a una réplica si hay
+        return scanAuthorRows(JPAUtil.getReadEntityManager(), genreId, 0, fetchSize, handler);
+    }
+
+    /**
+     * Igual que forEachAuthorRow(genreId, fetchSize, handler), pero solo con los
+     * autores cuyo ID es mayor a 'afterId' (ej: para ponerse al día).
+     * Siempre lee del primario: lo usan los índices en memoria, que no pueden
+     * perder autores recién guardados.
+     */
+    public long forEachAuthorRow(int genreId, int afterId, int fetchSize, AuthorRowHandler handler) throws IOException {
+        return scanAuthorRows(JPAUtil.getEntityManager(), genreId, afterId, fetchSize, handler);
+    }
+
+    private long scanAuthorRows(EntityManager em, int genreId, int afterId, int fetchSize, AuthorRowHandler handler)
+            throws IOException {
+        long start = System.nanoTime();
+        ScrollableResults rows = null;
+        try {
+            Session session = em.unwrap(Session.class);
+            org.hibernate.query.Query<Object[]> query = session.createNamedQuery(
+                    genreId > 0 ? Author.ROWS_AFTER_IN_GENRE : Author.ROWS_AFTER, Object[].class);
+            query.setParameter("afterId", afterId);
+            if (genreId > 0) {
+                query.setParameter("genreId", genreId);
+            }
+            query.setFetchSize(fetchSize);
+            query.setReadOnly(true);
+            rows = query.scroll(ScrollMode.FORWARD_ONLY);
+
+            long count = 0;
+            while (rows.next()) {
+                Object[] row = rows.get();
+                handler.row((Integer) row[0], (String) row[1], PhoneNumbers.format((Integer) row[2]), (Date) row[3], (String) row[4]);
+                count++;
+                if (count % fetchSize == 0) {
+                    em.clear(); // Vaciamos el contexto de persistencia periódicamente
+                }
+            }
+            return count;
+        } catch (IOException | RuntimeException e) {
+            FOR_EACH_TIMER.error();
+            throw e;
+        } finally {
+            if (rows != null) {
+                rows.close();
+            }
+            if (em != null) {
+                em.close();
+            }
+            FOR_EACH_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Una página de autores (paginación por llave, como findAuthorsAfter), pero solo
+     * con las columnas que se muestran: sin entidades ni contexto de persistencia.
+     * Pensado para la API JSON, que escribe cada fila directo a la respuesta.
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @param afterId El último ID ya entregado (0 para empezar desde el inicio).
+     * @param limit Máximo de autores a devolver.
+     * @param handler Recibe cada autor, en orden ascendente de ID.
+     * @return El número de autores entregados.
+     * @throws IOException Si el handler falla al escribir.
+     */
+    public int findAuthorRows(int genreId, int afterId, int limit, AuthorRowHandler handler) throws IOException {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createNamedQuery(
+                    genreId > 0 ? Author.ROWS_AFTER_IN_GENRE : Author.ROWS_AFTER, Object[].class);
+            query.setParameter("afterId", afterId);
+            if (genreId > 0) {
+                query.setParameter("genreId", genreId);
+            }
+            query.setMaxResults(limit);
+            List<Object[]> rows = query.getResultList();
+            for (Object[] row : rows) {
+                handler.row((Integer) row[0], (String) row[1], PhoneNumbers.format((Integer) row[2]), (Date) row[3], (String) row[4]);
+            }
+            return rows.size();
+        } catch (IOException | RuntimeException e) {
+            ROWS_TIMER.error();
+            throw e;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            ROWS_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Un autor por su ID, solo con las columnas que se muestran (ver findAuthorRows).
+     * @param id El ID del autor.
+     * @param handler Recibe el autor, si existe.
+     * @return true si el autor existe.
+     * @throws IOException Si el handler falla al escribir.
+     */
+    public boolean findAuthorRowById(int id, AuthorRowHandler handler) throws IOException {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            List<Object[]> rows = em.createNamedQuery(Author.ROW_BY_ID, Object[].class)
+                    .setParameter("id", id)
+                    .getResultList();
+            if (rows.isEmpty()) {
+                return false;
+            }
+            Object[] row = rows.get(0);
+            handler.row((Integer) row[0], (String) row[1], PhoneNumbers.format((Integer) row[2]), (Date) row[3], (String) row[4]);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            ROW_BY_ID_TIMER.error();
+            throw e;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            ROW_BY_ID_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Revisa si ya existe un autor con ese nombre (validación de duplicados).
+     * Casi siempre responde desde AuthorNameIndex sin ir a la BD; solo cuando
+     * el índice dice "quizás existe" se confirma con findAuthorByName().
+     * @param name El nombre a revisar.
+     * @return true si existe al menos un autor con ese nombre.
+     */
+    public boolean existsAuthorWithName(String name) {
+        long start = System.nanoTime();
+        try {
+            if (NAME_INDEX.isReady() && !NAME_INDEX.mightContain(name)) {
+                return false; // Seguro no existe: ahorramos la consulta
+            }
+            DirectorySnapshot snapshot = READ_MODEL.current();
+            if (snapshot != null && snapshot.findAuthorByName(name) != null) {
+                return true; // Ya está en memoria: tampoco hace falta consultar
+            }
+            // La copia en memoria puede no tener lo que otro servidor guardó hace poco
+            return queryAuthorByName(name) != null;
+        } finally {
+            EXISTS_TIMER.record(start);
         }
     }
 
     /**
      * Busca un autor por su nombre exacto.
      * Útil para la validación de duplicados[cite: 67].
+     * Con el modelo de lectura cargado, sale de memoria; si no, de una réplica
+     * (o del primario si esta sesión acaba de escribir, ver ReadYourWrites).
      * @param name El nombre a buscar.
      * @return El Author si se encuentra, o null.
      */
     public Author findAuthorByName(String name) {
-        EntityManager em = JPAUtil.getEntityManager();
+        long start = System.nanoTime();
+        DirectorySnapshot snapshot = READ_MODEL.current();
+        if (snapshot != null) {
+            try {
+                return snapshot.findAuthorByName(name);
+            } finally {
+                BY_NAME_TIMER.record(start);
+            }
+        }
         try {
-            TypedQuery<Author> query = em.createQuery(
-                    "SELECT a FROM Author a WHERE a.name = :name",
-                    Author.class
-            );
+            return queryAuthorByName(name);
+        } finally {
+            BY_NAME_TIMER.record(start);
+        }
+    }
+
+    private Author queryAuthorByName(String name) {
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            TypedQuery<Author> query = em.createNamedQuery(Author.FIND_BY_NAME, Author.class);
             query.setParameter("name", name);
+            // Solo nos interesa saber si hay uno: LIMIT 1 (usa el índice idx_autor_nombre)
+            query.setMaxResults(1);
             // Usamos getSingleResult, pero puede fallar si no hay resultados.
             // Es mejor obtener una lista y revisar si está vacía.
             List<Author> results = query.getResultList();
@@ -170,12 +1289,134 @@ public class AuthorModel {
         } catch (javax.persistence.NoResultException e) {
             return null; // No se encontró
         } catch (Exception e) {
+            BY_NAME_TIMER.error();
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * Busca un autor por su ID (de una réplica, salvo justo después de escribir).
+     * Si una réplica atrasada da una versión vieja, guardar lo detecta como conflicto.
+     * @param id El ID del autor.
+     * @return El Author si se encuentra, o null.
+     */
+    public Author findAuthorById(int id) {
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            return findWithGenre(em, id);
+        } catch (Exception e) {
+            BY_ID_TIMER.error();
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            BY_ID_TIMER.record(start);
+        }
+    }
+
+    /**
+     * ¿Qué autor tiene este teléfono? Es una búsqueda exacta sobre 'telefono_num'
+     * en el índice idx_autor_telefono (sin recorrer la tabla ni comparar cadenas).
+     * @param phone El teléfono con formato 7XXX-XXXX.
+     * @return El Author si se encuentra (el de menor ID si hay varios), o null.
+     */
+    public Author findAuthorByPhone(String phone) {
+        long start = System.nanoTime();
+        int number = PhoneNumbers.toNumber(phone);
+        if (number < 0) {
+            BY_PHONE_TIMER.record(start);
+            return null; // Un teléfono inválido no puede estar guardado
+        }
+        EntityManager em = JPAUtil.getReadEntityManager();
+        try {
+            List<Author> results = em.createNamedQuery(Author.FIND_BY_PHONE, Author.class)
+                    .setParameter("phoneNumber", number)
+                    .setMaxResults(1)
+                    .getResultList();
+            return results.isEmpty() ? null : results.get(0);
+        } catch (Exception e) {
+            BY_PHONE_TIMER.error();
             e.printStackTrace();
             return null;
         } finally {
             if (em != null) {
                 em.close();
             }
+            BY_PHONE_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Busca autores por el inicio de cualquier palabra de su nombre, sin distinguir
+     * tildes ni mayúsculas. Se responde desde AuthorSearchIndex (en memoria); mientras
+     * el índice se carga, se consulta la BD solo por el inicio del nombre completo.
+     * @param prefix Lo que el usuario lleva escrito.
+     * @param limit Máximo de resultados.
+     * @return Los autores encontrados.
+     */
+    public List<AuthorSuggestion> searchAuthorsByPrefix(String prefix, int limit) {
+        long start = System.nanoTime();
+        try {
+            if (SEARCH_INDEX.isReady()) {
+                return SEARCH_INDEX.search(prefix, limit);
+            }
+            String term = prefix == null ? "" : prefix.trim();
+            if (term.isEmpty() || limit <= 0) {
+                return Collections.emptyList();
+            }
+            EntityManager em = JPAUtil.getReadEntityManager();
+            try {
+                // LIKE 'x%' (sin % al inicio) sí usa el índice idx_autor_nombre
+                List<Object[]> rows = em.createNamedQuery(Author.SUGGEST_BY_NAME, Object[].class)
+                        .setParameter("prefix", term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%")
+                        .setMaxResults(limit)
+                        .getResultList();
+                List<AuthorSuggestion> result = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    result.add(new AuthorSuggestion((Integer) row[0], (String) row[1]));
+                }
+                return result;
+            } catch (Exception e) {
+                SEARCH_TIMER.error();
+                e.printStackTrace();
+                return Collections.emptyList();
+            } finally {
+                if (em != null) {
+                    em.close();
+                }
+            }
+        } finally {
+            SEARCH_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Busca un autor por ID junto con su género, en un solo SELECT.
+     * (em.find() dejaría el género LAZY sin cargar, y ya no se puede cargar
+     * después de cerrar el EntityManager).
+     */
+    private static Author findWithGenre(EntityManager em, int id) {
+        List<Author> results = em.createNamedQuery(Author.FIND_BY_ID, Author.class)
+                .setParameter("id", id)
+                .getResultList();
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    /**
+     * Devuelve el ID del género de un autor (0 si no tiene).
+     */
+    static int genreIdOf(Author author) {
+        if (author == null || author.getLiteraryGenre() == null) {
+            return 0;
         }
+        return author.getLiteraryGenre().getId();
     }
 }
\ No newline at end of file
@@ -0,0 +1,266 @@
+package com.udb.autores.directorioautores.model;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Índice en memoria de los nombres de autores, para la validación de duplicados.
+ * Guarda un hash de 64 bits de cada nombre normalizado (sin tildes, minúsculas,
+ * espacios simples), igual que compara la colación utf8mb4_0900_ai_ci de MySQL.
+ * - Si el hash NO está, el nombre seguro no existe: no se consulta la BD.
+ * - Si el hash está, "quizás" existe: se confirma con la BD (índice idx_autor_nombre).
+ * Así que el índice solo puede ahorrar consultas, nunca dar una respuesta incorrecta
+ * sobre autores que este servidor ya conoce.
+ *
+ * Al borrar o renombrar NO se quita el nombre anterior (podría haber otro autor con
+ * el mismo nombre); solo cuesta una consulta extra hasta la siguiente reconstrucción.
+ * Los autores creados o renombrados por OTROS servidores se incorporan con catchUp()
+ * (periódico), que pide los nombres con 'ultima_modificacion' posterior a la última
+ * lectura. Una transacción que se confirma más de catchUpLookbackSeconds después de
+ * escribir la fila se pierde hasta la siguiente reconstrucción (rebuild, periódica).
+ *
+ * Memoria: 8 bytes por celda, con la tabla a lo más a la mitad de su capacidad
+ * (~16-32 bytes por autor; 1 millón de autores caben en 16-32 MB).
+ */
+public final class AuthorNameIndex implements AuthorChangeListener {
+
+    private static final Logger LOG = Logger.getLogger(AuthorNameIndex.class.getName());
+
+    // La marca de una fila es la hora del INSERT/UPDATE, no la del commit: se vuelven
+    // a pedir los nombres modificados un poco antes de la última marca leída
+    private static final long CATCH_UP_LOOKBACK_MS = AppConfig.getLong("nameIndex.catchUpLookbackSeconds", 60) * 1000;
+    private static final int FETCH_SIZE = 1000;
+
+    private static final AuthorNameIndex INSTANCE = new AuthorNameIndex();
+
+    private LongHashSet names = new LongHashSet(1024); // Protegido con 'synchronized (this)'
+    private LongHashSet rebuilding;                    // Tabla nueva durante rebuild()
+    private volatile boolean ready;                    // false hasta la primera carga completa
+    private volatile long changeMark;                  // Mayor 'ultima_modificacion' ya leída
+
+    private final LongAdder skippedQueries = new LongAdder(); // "Seguro no existe"
+    private final LongAdder confirmQueries = new LongAdder(); // "Quizás existe" -> BD
+
+    private AuthorNameIndex() {
+    }
+
+    public static AuthorNameIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true si el índice ya se cargó y sus respuestas negativas son confiables.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param name El nombre a revisar.
+     * @return false si el nombre seguro no existe; true si podría existir.
+     */
+    public boolean mightContain(String name) {
+        long hash = hash(name);
+        boolean found;
+        synchronized (this) {
+            found = names.contains(hash);
+        }
+        if (found) {
+            confirmQueries.increment();
+        } else {
+            skippedQueries.increment();
+        }
+        return found;
+    }
+
+    /**
+     * Carga (o vuelve a cargar) el índice completo desde la tabla 'autor'.
+     * Las escrituras que lleguen mientras tanto se agregan a las dos tablas.
+     */
+    public void rebuild() throws IOException {
+        long start = System.nanoTime();
+        synchronized (this) {
+            rebuilding = new LongHashSet(Math.max(1024, names.size()));
+        }
+        try {
+            AuthorModel model = new AuthorModel();
+            long mark = model.getLastModification(); // Antes de leer: lo posterior lo trae catchUp()
+            long count = model.forEachAuthorRow(0, 0, FETCH_SIZE, (id, name, phone, birthDate, genreName) -> {
+                long hash = hash(name);
+                synchronized (this) {
+                    rebuilding.add(hash);
+                }
+            });
+            synchronized (this) {
+                names = rebuilding;
+            }
+            changeMark = Math.max(changeMark, mark);
+            ready = true;
+            LOG.info(String.format("Índice de nombres cargado: %d autores en %d ms",
+                    count, (System.nanoTime() - start) / 1_000_000));
+        } finally {
+            synchronized (this) {
+                rebuilding = null;
+            }
+        }
+    }
+
+    /**
+     * Incorpora los nombres que otros servidores insertaron o cambiaron desde la última
+     * lectura (por 'ultima_modificacion', sin importar el ID).
+     */
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        AuthorModel model = new AuthorModel();
+        long mark = model.getLastModification();
+        model.forEachNameModifiedSince(changeMark - CATCH_UP_LOOKBACK_MS, FETCH_SIZE, name -> add(hash(name)));
+        changeMark = Math.max(changeMark, mark);
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+
+    @Override
+    public void authorSaved(Author author) {
+        add(hash(author.getName()));
+    }
+
+    @Override
+    public void authorUpdated(Author before, Author after) {
+        add(hash(after.getName()));
+    }
+
+    @Override
+    public void authorDeleted(Author author) {
+        // Se deja el nombre: otro autor podría tener el mismo (ver javadoc de la clase)
+    }
+
+    @Override
+    public void authorsSaved(List<Author> authors) {
+        synchronized (this) {
+            for (Author author : authors) {
+                add(hash(author.getName()));
+            }
+        }
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public long getSkippedQueries() {
+        return skippedQueries.sum();
+    }
+
+    public long getConfirmQueries() {
+        return confirmQueries.sum();
+    }
+
+    public synchronized int getSize() {
+        return names.size();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private synchronized void add(long hash) {
+        names.add(hash);
+        if (rebuilding != null) {
+            rebuilding.add(hash);
+        }
+    }
+
+    /**
+     * "  José   Martí " -> "jose marti"
+     */
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String withoutAccents = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits del nombre normalizado.
+     */
+    static long hash(String name) {
+        String normalized = normalize(name);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            h ^= normalized.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * Conjunto de 'long' con direccionamiento abierto (sin objetos por elemento).
+     * El 0 marca una celda vacía, así que el hash 0 se guarda como 1.
+     * No es thread-safe: AuthorNameIndex lo protege con 'synchronized'.
+     */
+    private static final class LongHashSet {
+        private long[] table;
+        private int size;
+
+        LongHashSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            table = new long[capacity];
+        }
+
+        boolean contains(long value) {
+            long key = value == 0 ? 1 : value;
+            int mask = table.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                long current = table[i];
+                if (current == 0) {
+                    return false;
+                }
+                if (current == key) {
+                    return true;
+                }
+            }
+        }
+
+        void add(long value) {
+            long key = value == 0 ? 1 : value;
+            if ((size + 1) * 2 > table.length) {
+                resize();
+            }
+            int mask = table.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                long current = table[i];
+                if (current == key) {
+                    return;
+                }
+                if (current == 0) {
+                    table[i] = key;
+                    size++;
+                    return;
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            size = 0;
+            for (long key : old) {
+                if (key != 0) {
+                    add(key);
+                }
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
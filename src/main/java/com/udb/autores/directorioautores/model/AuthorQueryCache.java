@@ -0,0 +1,326 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caché de resultados para las consultas de autores filtradas por género
+ * (y de las páginas sin filtro, con genreId = 0).
+ * Es un LRU acotado (los resultados menos usados se descartan primero) y se
+ * invalida con precisión: cuando se guarda, actualiza o borra un autor
+ * (ver AuthorChangeEvents), solo se descartan los resultados de los géneros afectados.
+ * Cada género lleva un número de "generación" para que una consulta que
+ * empezó ANTES de una escritura no guarde un resultado ya viejo.
+ * Los resultados sin filtro (genreId = 0) incluyen a todos los géneros, así que
+ * se descartan con cualquier escritura.
+ * Las escrituras de OTROS servidores no llegan como eventos: se descarta todo cuando
+ * una conciliación encuentra diferencias (DirectoryReadModel, AuthorCounters), y
+ * cada resultado vence a los maxAgeSeconds de cargado aunque nadie lo invalide.
+ * Si varias vistas piden el mismo resultado que falta (ej: justo después de una
+ * escritura), solo una consulta la BD y las demás esperan ese resultado (SingleFlight);
+ * solo se agrupan consultas de la misma generación, y las que van al primario (justo
+ * después de escribir, ver ReadYourWrites) no esperan a una que fue a una réplica.
+ */
+public final class AuthorQueryCache implements AuthorChangeListener {
+
+    private static final AuthorQueryCache INSTANCE = new AuthorQueryCache(
+            AppConfig.getInt("cache.authorQueries.maxEntries", 512),
+            AppConfig.getLong("cache.authorQueries.maxAgeSeconds", 60) * 1000);
+
+    private final int maxEntries;
+    private final long maxAgeMillis;
+
+    // LinkedHashMap en orden de acceso = LRU. Protegido con 'synchronized (entries)'.
+    private final LinkedHashMap<Key, Cached> entries;
+
+    // Generación por género; se incrementa en cada invalidación de ese género
+    private final ConcurrentHashMap<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    // Consultas en curso por (clave, generación)
+    private final SingleFlight<Flight, Object> flights = SingleFlight.named("AuthorQueryCache");
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private AuthorQueryCache(final int maxEntries, long maxAgeMillis) {
+        this.maxEntries = maxEntries;
+        this.maxAgeMillis = maxAgeMillis;
+        this.entries = new LinkedHashMap<Key, Cached>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Cached> eldest) {
+                if (size() > AuthorQueryCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static AuthorQueryCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Devuelve el resultado en caché o lo carga con 'loader' y lo guarda.
+     * Los resultados nulos (errores de BD) no se guardan, y los que tienen más de
+     * maxAgeSeconds se vuelven a cargar.
+     * @param query Nombre de la consulta (ej: "byGenre").
+     * @param genreId El género de la consulta.
+     * @param afterId Cursor de la página (0 si no aplica).
+     * @param limit Tamaño de la página (0 si no aplica).
+     * @param loader Ejecuta la consulta real si no hay resultado en caché.
+     * @return El resultado (el mismo objeto para todos los que lo pidan: NO modificarlo).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String query, int genreId, int afterId, int limit, Supplier<T> loader) {
+        Key key = new Key(query, genreId, afterId, limit);
+        Cached cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && System.currentTimeMillis() - cached.loadedAt >= maxAgeMillis) {
+                entries.remove(key); // Vencido: pudo cambiar en otro servidor
+                expirations.increment();
+                cached = null;
+            }
+        }
+        if (cached != null) {
+            hits.increment();
+            return (T) cached.value;
+        }
+        misses.increment();
+
+        // Anotamos la generación ANTES de consultar la BD
+        long generation = generation(genreId).get();
+        long loadedAt = System.currentTimeMillis();
+        T loaded = (T) flights.execute(new Flight(key, generation, ReadYourWrites.isPinned()), loader::get);
+        if (loaded != null && !mayMissRecentChange(loadedAt)) {
+            synchronized (entries) {
+                // Si hubo una escritura en este género mientras consultábamos, no guardamos
+                if (generation(genreId).get() == generation) {
+                    entries.put(key, new Cached(loaded, loadedAt));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+
+    @Override
+    public void authorSaved(Author author) {
+        invalidateGenre(AuthorModel.genreIdOf(author));
+    }
+
+    @Override
+    public void authorUpdated(Author before, Author after) {
+        // Si cambió de género, se afectan los dos
+        invalidateGenre(AuthorModel.genreIdOf(before));
+        invalidateGenre(AuthorModel.genreIdOf(after));
+    }
+
+    @Override
+    public void authorDeleted(Author author) {
+        invalidateGenre(AuthorModel.genreIdOf(author));
+    }
+
+    @Override
+    public void authorsSaved(List<Author> authors) {
+        invalidateGenresOf(authors);
+    }
+
+    @Override
+    public void authorsDeleted(List<Author> authors) {
+        invalidateGenresOf(authors);
+    }
+
+    /**
+     * Una sola invalidación por género, no una por autor.
+     */
+    private void invalidateGenresOf(List<Author> authors) {
+        Set<Integer> genreIds = new HashSet<>();
+        for (Author author : authors) {
+            genreIds.add(AuthorModel.genreIdOf(author));
+        }
+        for (Integer genreId : genreIds) {
+            invalidateGenre(genreId);
+        }
+    }
+
+    /**
+     * Descarta todos los resultados de un género y los resultados sin filtro.
+     * @param genreId El género afectado (0 si el autor no tiene género).
+     */
+    public void invalidateGenre(int genreId) {
+        synchronized (entries) {
+            generation(0).incrementAndGet();
+            if (genreId > 0) {
+                generation(genreId).incrementAndGet();
+            }
+            Iterator<Key> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                int keyGenreId = it.next().genreId;
+                if (keyGenreId == 0 || keyGenreId == genreId) {
+                    it.remove();
+                }
+            }
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Descarta todo: una conciliación encontró autores que otro servidor cambió
+     * (no se sabe de qué géneros).
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (AtomicLong generation : generations.values()) {
+                generation.incrementAndGet();
+            }
+            entries.clear();
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Las consultas van a una réplica (ver JPAUtil.getReadEntityManager), que puede
+     * no tener aún un cambio de este servidor de hace menos de db.readYourWritesMs:
+     * ese resultado se entrega, pero no se guarda.
+     */
+    private static boolean mayMissRecentChange(long loadedAt) {
+        return !JPAUtil.getReplicas().isEmpty() && !ReadYourWrites.isPinned()
+                && loadedAt - DataVersions.getInstance().getAuthorsChangedAt() < ReadYourWrites.getWindowMillis();
+    }
+
+    private AtomicLong generation(int genreId) {
+        return generations.computeIfAbsent(genreId, id -> new AtomicLong());
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Un resultado guardado y cuándo se empezó a cargar.
+     */
+    private static final class Cached {
+        private final Object value;
+        private final long loadedAt;
+
+        Cached(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Llave de la caché: consulta + parámetros.
+     */
+    private static final class Key {
+        private final String query;
+        private final int genreId;
+        private final int afterId;
+        private final int limit;
+
+        Key(String query, int genreId, int afterId, int limit) {
+            this.query = query;
+            this.genreId = genreId;
+            this.afterId = afterId;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return genreId == other.genreId && afterId == other.afterId
+                    && limit == other.limit && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = query.hashCode();
+            result = 31 * result + genreId;
+            result = 31 * result + afterId;
+            result = 31 * result + limit;
+            return result;
+        }
+    }
+
+    /**
+     * Una consulta en curso: la clave del resultado, la generación con la que empezó
+     * y si lee del primario.
+     */
+    private static final class Flight {
+        private final Key key;
+        private final long generation;
+        private final boolean primary;
+
+        Flight(Key key, long generation, boolean primary) {
+            this.key = key;
+            this.generation = generation;
+            this.primary = primary;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Flight)) {
+                return false;
+            }
+            Flight other = (Flight) o;
+            return generation == other.generation && primary == other.primary && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * key.hashCode() + Long.hashCode(generation)) + (primary ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.udb.autores.directorioautores.model;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Recibe los autores uno por uno durante un recorrido con cursor
+ * (ver AuthorModel.forEachAuthorRow). No se crean entidades: solo los
+ * valores de las columnas que se van a escribir.
+ */
+public interface AuthorRowHandler {
+
+    void row(int id, String name, String phone, Date birthDate, String genreName) throws IOException;
+}
@@ -0,0 +1,439 @@
+package com.udb.autores.directorioautores.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Logger;
+
+/**
+ * Índice en memoria para buscar autores por prefijo mientras se escribe (typeahead).
+ * No distingue tildes ni mayúsculas, y busca desde el inicio de CUALQUIER palabra:
+ * "garc" encuentra "Gabriel García Márquez".
+ *
+ * Tiene dos partes:
+ * - Base (inmutable): todos los nombres en un solo arreglo de caracteres y un
+ *   arreglo 'long' ordenado con el inicio de cada palabra (un "arreglo de sufijos"
+ *   por palabra). Buscar es una búsqueda binaria: microsegundos con millones de nombres.
+ * - Delta (concurrente): los cambios desde la última carga, aplicados en cuanto
+ *   se confirman (ver AuthorChangeEvents). Se vuelve a armar la base periódicamente.
+ *
+ * Memoria de la base por autor: 2 bytes por carácter del nombre (normalizado + original)
+ * + 8 bytes (ID e inicio) + 8 bytes por palabra. Ej: ~110 bytes para "Gabriel García Márquez".
+ */
+public final class AuthorSearchIndex implements AuthorChangeListener {
+
+    private static final Logger LOG = Logger.getLogger(AuthorSearchIndex.class.getName());
+
+    private static final AuthorSearchIndex INSTANCE = new AuthorSearchIndex();
+
+    private static final int FETCH_SIZE = 1000;
+    private static final char END = '\u0000'; // Fin de cada nombre dentro del texto
+
+    private volatile Segment base = Segment.EMPTY;
+    private volatile Delta delta = new Delta();
+    private Delta rebuildDelta; // Cambios que llegan durante rebuild() (protegido con 'this')
+    private volatile boolean ready;
+
+    private AuthorSearchIndex() {
+    }
+
+    public static AuthorSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Busca los autores cuyo nombre tiene una palabra que empieza con 'prefix'.
+     * @param prefix Lo que el usuario lleva escrito.
+     * @param limit Máximo de resultados.
+     * @return Los autores encontrados, en orden alfabético de la palabra encontrada.
+     */
+    public List<AuthorSuggestion> search(String prefix, int limit) {
+        String normalized = AuthorNameIndex.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Segment currentBase = base;
+        Delta currentDelta = delta;
+
+        // Candidatos de cada parte, ya ordenados; luego se mezclan
+        List<Match> fromBase = currentBase.search(normalized, limit, currentDelta.removed);
+        List<Match> fromDelta = currentDelta.search(normalized, limit);
+
+        List<AuthorSuggestion> result = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+        int i = 0;
+        int j = 0;
+        while (result.size() < limit && (i < fromBase.size() || j < fromDelta.size())) {
+            Match next;
+            if (j >= fromDelta.size()
+                    || (i < fromBase.size() && fromBase.get(i).key.compareTo(fromDelta.get(j).key) <= 0)) {
+                next = fromBase.get(i++);
+            } else {
+                next = fromDelta.get(j++);
+            }
+            if (seen.add(next.suggestion.getId())) {
+                result.add(next.suggestion);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Arma la base completa desde la tabla 'autor' y vacía el delta.
+     * Los cambios que lleguen mientras tanto se guardan en el delta nuevo.
+     */
+    public void rebuild() throws IOException {
+        long start = System.nanoTime();
+        synchronized (this) {
+            rebuildDelta = new Delta();
+        }
+        try {
+            final SegmentBuilder builder = new SegmentBuilder();
+            new AuthorModel().forEachAuthorRow(0, 0, FETCH_SIZE,
+                    (id, name, phone, birthDate, genreName) -> builder.add(id, name));
+            Segment segment = builder.build();
+            synchronized (this) {
+                base = segment;
+                delta = rebuildDelta;
+            }
+            ready = true;
+            LOG.info(String.format("Índice de búsqueda cargado: %d autores, %d palabras en %d ms",
+                    segment.ids.length, segment.entries.length, (System.nanoTime() - start) / 1_000_000));
+        } finally {
+            synchronized (this) {
+                rebuildDelta = null;
+            }
+        }
+    }
+
+    /**
+     * Vuelve a armar la base solo si el delta creció demasiado.
+     * @param maxDeltaSize Número de autores en el delta que dispara la reconstrucción.
+     */
+    public void compactIfNeeded(int maxDeltaSize) throws IOException {
+        if (ready && delta.size() > maxDeltaSize) {
+            rebuild();
+        }
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+
+    @Override
+    public synchronized void authorSaved(Author author) {
+        delta.put(author.getId(), author.getName());
+        if (rebuildDelta != null) {
+            rebuildDelta.put(author.getId(), author.getName());
+        }
+    }
+
+    @Override
+    public synchronized void authorUpdated(Author before, Author after) {
+        delta.put(after.getId(), after.getName());
+        if (rebuildDelta != null) {
+            rebuildDelta.put(after.getId(), after.getName());
+        }
+    }
+
+    @Override
+    public synchronized void authorDeleted(Author author) {
+        delta.remove(author.getId());
+        if (rebuildDelta != null) {
+            rebuildDelta.remove(author.getId());
+        }
+    }
+
+    // --- ESTRUCTURAS INTERNAS ---
+
+    /**
+     * Un candidato: la palabra (y lo que sigue) donde coincidió el prefijo, y el autor.
+     */
+    private static final class Match {
+        final String key;
+        final AuthorSuggestion suggestion;
+
+        Match(String key, AuthorSuggestion suggestion) {
+            this.key = key;
+            this.suggestion = suggestion;
+        }
+    }
+
+    /**
+     * Cambios desde la última base. 'removed' oculta las entradas de la base
+     * de autores borrados o modificados (su versión nueva vive aquí).
+     */
+    private static final class Delta {
+        final ConcurrentSkipListMap<String, AuthorSuggestion> entries = new ConcurrentSkipListMap<>();
+        final Map<Integer, List<String>> keysById = new ConcurrentHashMap<>();
+        final Set<Integer> removed = ConcurrentHashMap.newKeySet();
+
+        void put(int id, String name) {
+            remove(id);
+            AuthorSuggestion suggestion = new AuthorSuggestion(id, name);
+            String normalized = AuthorNameIndex.normalize(name);
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < normalized.length(); i++) {
+                if (isWordStart(normalized, i)) {
+                    // El ID al final hace única la llave (dos autores con el mismo nombre)
+                    String key = normalized.substring(i) + END + id;
+                    entries.put(key, suggestion);
+                    keys.add(key);
+                }
+            }
+            keysById.put(id, keys);
+        }
+
+        void remove(int id) {
+            removed.add(id);
+            List<String> keys = keysById.remove(id);
+            if (keys != null) {
+                for (String key : keys) {
+                    entries.remove(key);
+                }
+            }
+        }
+
+        int size() {
+            return removed.size();
+        }
+
+        List<Match> search(String prefix, int limit) {
+            List<Match> matches = new ArrayList<>();
+            Set<Integer> seen = new HashSet<>();
+            ConcurrentNavigableMap<String, AuthorSuggestion> range = entries.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+            for (Map.Entry<String, AuthorSuggestion> entry : range.entrySet()) {
+                if (seen.add(entry.getValue().getId())) {
+                    matches.add(new Match(entry.getKey(), entry.getValue()));
+                    if (matches.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            return matches;
+        }
+    }
+
+    /**
+     * Base inmutable. Para cada autor (posición 'slot') el texto guarda:
+     * nombre normalizado + END + nombre original + END.
+     * Cada entrada de 'entries' es (slot << 32 | inicio de una palabra en el texto),
+     * ordenadas alfabéticamente por el texto desde ese inicio.
+     */
+    private static final class Segment {
+        static final Segment EMPTY = new Segment(new char[0], new int[0], new int[0], new long[0]);
+
+        final char[] text;
+        final int[] ids;
+        final int[] nameStart;
+        final long[] entries;
+
+        Segment(char[] text, int[] ids, int[] nameStart, long[] entries) {
+            this.text = text;
+            this.ids = ids;
+            this.nameStart = nameStart;
+            this.entries = entries;
+        }
+
+        List<Match> search(String prefix, int limit, Set<Integer> removed) {
+            List<Match> matches = new ArrayList<>();
+            Set<Integer> seen = new HashSet<>();
+            for (int i = lowerBound(prefix); i < entries.length; i++) {
+                int offset = (int) entries[i];
+                if (comparePrefix(text, offset, prefix) != 0) {
+                    break; // Ya pasamos el rango que empieza con el prefijo
+                }
+                int slot = (int) (entries[i] >>> 32);
+                int id = ids[slot];
+                if (removed.contains(id) || !seen.add(id)) {
+                    continue;
+                }
+                matches.add(new Match(keyAt(offset) + END + id, new AuthorSuggestion(id, displayName(slot))));
+                if (matches.size() >= limit) {
+                    break;
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Primera entrada cuyo texto es >= prefix (búsqueda binaria).
+         */
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparePrefix(text, (int) entries[mid], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private String keyAt(int offset) {
+            int end = offset;
+            while (text[end] != END) {
+                end++;
+            }
+            return new String(text, offset, end - offset);
+        }
+
+        private String displayName(int slot) {
+            int start = nameStart[slot];
+            while (text[start] != END) {
+                start++;
+            }
+            start++; // El nombre original va después del normalizado
+            int end = start;
+            while (text[end] != END) {
+                end++;
+            }
+            return new String(text, start, end - start);
+        }
+    }
+
+    /**
+     * Arma un Segment a partir de los autores leídos de la BD.
+     */
+    private static final class SegmentBuilder {
+        private char[] text = new char[1 << 16];
+        private int textLength;
+        private int[] ids = new int[1024];
+        private int[] nameStart = new int[1024];
+        private int count;
+        private long[] entries = new long[4096];
+        private int entryCount;
+
+        void add(int id, String name) {
+            String display = name != null ? name : "";
+            String normalized = AuthorNameIndex.normalize(display);
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                nameStart = Arrays.copyOf(nameStart, count * 2);
+            }
+            ensureText(normalized.length() + display.length() + 2);
+
+            int start = textLength;
+            ids[count] = id;
+            nameStart[count] = start;
+            normalized.getChars(0, normalized.length(), text, textLength);
+            textLength += normalized.length();
+            text[textLength++] = END;
+            display.getChars(0, display.length(), text, textLength);
+            textLength += display.length();
+            text[textLength++] = END;
+
+            for (int i = 0; i < normalized.length(); i++) {
+                if (isWordStart(normalized, i)) {
+                    if (entryCount == entries.length) {
+                        entries = Arrays.copyOf(entries, entryCount * 2);
+                    }
+                    entries[entryCount++] = ((long) count << 32) | (start + i);
+                }
+            }
+            count++;
+        }
+
+        Segment build() {
+            char[] finalText = Arrays.copyOf(text, textLength);
+            long[] sorted = Arrays.copyOf(entries, entryCount);
+            sortBySuffix(sorted, finalText);
+            return new Segment(finalText, Arrays.copyOf(ids, count), Arrays.copyOf(nameStart, count), sorted);
+        }
+
+        private void ensureText(int extra) {
+            if (textLength + extra > text.length) {
+                text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + extra));
+            }
+        }
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    /**
+     * Una palabra empieza en una letra o dígito que no va después de otra letra o dígito.
+     */
+    private static boolean isWordStart(String s, int i) {
+        return Character.isLetterOrDigit(s.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(s.charAt(i - 1)));
+    }
+
+    /**
+     * Compara el texto desde 'offset' con el prefijo.
+     * @return 0 si el texto empieza con el prefijo; negativo/positivo si va antes/después.
+     */
+    private static int comparePrefix(char[] text, int offset, String prefix) {
+        for (int k = 0; k < prefix.length(); k++) {
+            char c = text[offset + k];
+            if (c == END) {
+                return -1; // El texto es más corto que el prefijo
+            }
+            if (c != prefix.charAt(k)) {
+                return c - prefix.charAt(k);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compara dos sufijos del texto (cada uno termina en END).
+     */
+    private static int compareSuffix(char[] text, long a, long b) {
+        int i = (int) a;
+        int j = (int) b;
+        while (true) {
+            char ca = text[i++];
+            char cb = text[j++];
+            if (ca != cb) {
+                return ca - cb;
+            }
+            if (ca == END) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Merge sort de abajo hacia arriba sobre long[] (sin objetos por elemento).
+     */
+    private static void sortBySuffix(long[] values, char[] text) {
+        long[] source = values;
+        long[] target = new long[values.length];
+        for (int width = 1; width < values.length; width *= 2) {
+            for (int left = 0; left < values.length; left += 2 * width) {
+                int mid = Math.min(left + width, values.length);
+                int right = Math.min(left + 2 * width, values.length);
+                int i = left;
+                int j = mid;
+                int k = left;
+                while (i < mid && j < right) {
+                    target[k++] = compareSuffix(text, source[i], source[j]) <= 0 ? source[i++] : source[j++];
+                }
+                while (i < mid) {
+                    target[k++] = source[i++];
+                }
+                while (j < right) {
+                    target[k++] = source[j++];
+                }
+            }
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, values.length);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.udb.autores.directorioautores.model;
+
+import java.io.Serializable;
+
+/**
+ * Resultado de la búsqueda por prefijo (typeahead): solo ID y nombre.
+ */
+public class AuthorSuggestion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int id;
+    private final String name;
+
+    public AuthorSuggestion(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
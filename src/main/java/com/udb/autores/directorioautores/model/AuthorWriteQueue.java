@@ -0,0 +1,436 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import javax.persistence.OptimisticLockException;
+
+/**
+ * Escrituras de autores confirmadas en grupo ("group commit", opcional: writeQueue.enabled).
+ * Sin ella, cada saveAuthor/updateAuthor/deleteAuthor abre su EntityManager y confirma
+ * su propia transacción: con muchos usuarios e integraciones escribiendo a la vez, lo
+ * que más cuesta es el commit (y la escritura a disco de la BD) de cada fila. Con ella:
+ * - Cada escritura entra a una cola ACOTADA (writeQueue.capacity). Si está llena, quien
+ *   escribe espera hasta 'writeQueue.offerTimeoutMs' y luego se rechaza con
+ *   RejectedExecutionException, en lugar de acumular trabajo sin límite.
+ * - Un solo hilo toma de la cola hasta 'writeQueue.maxBatch' escrituras (o las que
+ *   lleguen en 'writeQueue.maxDelayMs' desde la primera) y las confirma en UNA
+ *   transacción; los INSERT van en lotes JDBC (hibernate.jdbc.batch_size).
+ * - Quien escribe sigue esperando: la llamada vuelve solo después del commit que
+ *   incluye su escritura y del aviso a cachés e índices, igual que sin cola.
+ * - Un conflicto de versión afecta solo a esa escritura (OptimisticLockException para
+ *   quien la pidió). Si el grupo falla por otra causa, cada escritura se reintenta en
+ *   su propia transacción, para que un error no arrastre a las demás.
+ * Profundidad de la cola y tamaño de cada commit se publican en /metrics
+ * (autores_write_queue_*).
+ */
+public final class AuthorWriteQueue {
+
+    private static final Logger LOG = Logger.getLogger(AuthorWriteQueue.class.getName());
+
+    private static final boolean ENABLED = AppConfig.getBoolean("writeQueue.enabled", false);
+    private static final int CAPACITY = AppConfig.getInt("writeQueue.capacity", 1000);
+    private static final int MAX_BATCH = AppConfig.getInt("writeQueue.maxBatch", 100);
+    private static final long MAX_DELAY_MS = AppConfig.getLong("writeQueue.maxDelayMs", 2);
+    private static final long OFFER_TIMEOUT_MS = AppConfig.getLong("writeQueue.offerTimeoutMs", 2000);
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    // Límites de los intervalos del histograma de tamaño de cada commit (escrituras)
+    private static final int[] BATCH_LIMITS = {1, 2, 5, 10, 20, 50, 100, 200, 500};
+
+    private static final LatencyHistogram COMMIT_TIMER = Metrics.histogram("AuthorWriteQueue.commit");
+
+    private static final AuthorWriteQueue INSTANCE = new AuthorWriteQueue();
+
+    private final BlockingQueue<Write> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final Thread writer;
+    private volatile boolean stopping;
+
+    private final LongAdder[] batchCounts = new LongAdder[BATCH_LIMITS.length + 1]; // El último: más grandes
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    private AuthorWriteQueue() {
+        for (int i = 0; i < batchCounts.length; i++) {
+            batchCounts[i] = new LongAdder();
+        }
+        if (ENABLED) {
+            writer = new Thread(this::run, "autores-escrituras");
+            writer.setDaemon(true);
+            writer.start();
+            LOG.info(String.format("Escrituras agrupadas: hasta %d por commit, %d ms de espera, cola de %d",
+                    MAX_BATCH, MAX_DELAY_MS, CAPACITY));
+        } else {
+            writer = null;
+        }
+    }
+
+    public static AuthorWriteQueue getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Guarda un autor nuevo; vuelve después del commit.
+     */
+    void save(Author author) {
+        submit(new Write(Write.SAVE, author));
+    }
+
+    /**
+     * Actualiza un autor; vuelve después del commit.
+     * @throws OptimisticLockException Si el autor cambió o se borró desde que se cargó.
+     */
+    void update(Author author) {
+        submit(new Write(Write.UPDATE, author));
+    }
+
+    /**
+     * Elimina un autor; vuelve después del commit.
+     * @throws OptimisticLockException Si el autor cambió o se borró desde que se cargó.
+     */
+    void delete(Author author) {
+        submit(new Write(Write.DELETE, author));
+    }
+
+    /**
+     * Deja de aceptar escrituras y espera a que se confirmen las que ya están en la
+     * cola (al apagar la aplicación, antes de cerrar el pool de conexiones).
+     */
+    public void shutdown() {
+        stopping = true;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPending(new RejectedExecutionException("La aplicación se detuvo antes de confirmar la escritura"));
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return CAPACITY;
+    }
+
+    /**
+     * @return Escrituras confirmadas (la suma de los tamaños de todos los commits).
+     */
+    public long getWriteCount() {
+        return writes.sum();
+    }
+
+    /**
+     * @return Escrituras rechazadas por tener la cola llena.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return Grupos que fallaron y se reintentaron escritura por escritura.
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    public static int[] getBatchLimits() {
+        return BATCH_LIMITS.clone();
+    }
+
+    /**
+     * @return Commits con a lo más BATCH_LIMITS[i] escrituras (acumulado); el último
+     *         elemento es el total de commits.
+     */
+    public long[] getCumulativeBatchCounts() {
+        long[] counts = new long[batchCounts.length];
+        long total = 0;
+        for (int i = 0; i < batchCounts.length; i++) {
+            total += batchCounts[i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private void submit(Write write) {
+        if (stopping) {
+            throw new RejectedExecutionException("La aplicación se está deteniendo");
+        }
+        try {
+            if (!queue.offer(write, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new RejectedExecutionException("Demasiadas escrituras pendientes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrumpido esperando lugar en la cola de escrituras", e);
+        }
+        if (stopping && !writer.isAlive()) {
+            failPending(new RejectedExecutionException("La aplicación se está deteniendo"));
+        }
+        try {
+            write.done.join(); // Ya en la cola, siempre se espera el resultado del commit
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        // Los avisos a los listeners corren en el hilo de escritura: ReadYourWrites
+        // necesita enterarse en el hilo de la petición
+        ReadYourWrites.recordWrite();
+    }
+
+    /**
+     * Hilo de escritura: junta un grupo y lo confirma, hasta que se detenga la
+     * aplicación y la cola quede vacía.
+     */
+    private void run() {
+        List<Write> batch = new ArrayList<>(MAX_BATCH);
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                stopping = true;
+            } catch (RuntimeException | Error e) {
+                LOG.log(Level.SEVERE, "Error inesperado al confirmar escrituras", e);
+                for (Write write : batch) {
+                    write.done.completeExceptionally(e); // Nadie se queda esperando
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Agrega al grupo lo que ya espera en la cola y lo que llegue antes de
+     * 'writeQueue.maxDelayMs' (0: solo lo que ya espera), hasta 'writeQueue.maxBatch'.
+     */
+    private void fill(List<Write> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_DELAY_MS);
+        while (batch.size() < MAX_BATCH) {
+            queue.drainTo(batch, MAX_BATCH - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= MAX_BATCH || remaining <= 0) {
+                return;
+            }
+            try {
+                Write next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            } catch (InterruptedException e) {
+                stopping = true;
+                return; // Se confirma lo que ya se juntó
+            }
+        }
+    }
+
+    private void commit(List<Write> batch) {
+        RuntimeException error = tryCommit(batch);
+        if (error == null) {
+            committed(batch);
+            return;
+        }
+        if (batch.size() == 1) {
+            batch.get(0).done.completeExceptionally(error);
+            return;
+        }
+        // Una escritura inválida no debe arrastrar a las demás: cada una por separado
+        retries.increment();
+        LOG.log(Level.FINE, "Falló el commit de " + batch.size() + " escrituras; se reintentan una por una", error);
+        for (Write write : batch) {
+            write.reset();
+            List<Write> alone = Collections.singletonList(write);
+            RuntimeException aloneError = tryCommit(alone);
+            if (aloneError == null) {
+                committed(alone);
+            } else {
+                write.done.completeExceptionally(aloneError);
+            }
+        }
+    }
+
+    /**
+     * Aplica las escrituras en una sola transacción.
+     * @return null si se confirmó, o la excepción si se revirtió todo.
+     */
+    private static RuntimeException tryCommit(List<Write> batch) {
+        long start = System.nanoTime();
+        EntityManager em = null;
+        EntityTransaction tx = null;
+        try {
+            em = JPAUtil.getEntityManager();
+            tx = em.getTransaction();
+            tx.begin();
+            for (Write write : batch) {
+                write.apply(em);
+            }
+            tx.commit();
+            return null;
+        } catch (RuntimeException e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            COMMIT_TIMER.error();
+            return e;
+        } finally {
+            if (em != null) {
+                em.close();
+            }
+            COMMIT_TIMER.record(start);
+        }
+    }
+
+    /**
+     * Después del commit: avisa a cachés e índices en el orden de las escrituras (los
+     * autores nuevos seguidos, en un solo aviso) y libera a quienes esperaban.
+     */
+    private void committed(List<Write> batch) {
+        writes.add(batch.size());
+        batchCounts[bucket(batch.size())].increment();
+        List<Author> saved = new ArrayList<>();
+        for (Write write : batch) {
+            if (write.conflict != null) {
+                continue;
+            }
+            if (write.type == Write.SAVE) {
+                write.author.markLoaded();
+                saved.add(write.author);
+                continue;
+            }
+            saved = fireSaved(saved);
+            if (write.type == Write.UPDATE) {
+                write.author.setVersion(write.author.getVersion() + 1);
+                write.author.markLoaded();
+                AuthorChangeEvents.fireUpdated(write.before, write.author);
+            } else {
+                AuthorChangeEvents.fireDeleted(write.before);
+            }
+        }
+        fireSaved(saved);
+        for (Write write : batch) {
+            if (write.conflict != null) {
+                write.done.completeExceptionally(write.conflict);
+            } else {
+                write.done.complete(null);
+            }
+        }
+    }
+
+    /**
+     * @return Una lista vacía para los siguientes autores nuevos.
+     */
+    private static List<Author> fireSaved(List<Author> saved) {
+        if (saved.isEmpty()) {
+            return saved;
+        }
+        if (saved.size() == 1) {
+            AuthorChangeEvents.fireSaved(saved.get(0));
+        } else {
+            AuthorChangeEvents.fireSaved(saved);
+        }
+        return new ArrayList<>();
+    }
+
+    private void failPending(RuntimeException error) {
+        Write write;
+        while ((write = queue.poll()) != null) {
+            write.done.completeExceptionally(error);
+        }
+    }
+
+    private static int bucket(int size) {
+        for (int i = 0; i < BATCH_LIMITS.length; i++) {
+            if (size <= BATCH_LIMITS[i]) {
+                return i;
+            }
+        }
+        return BATCH_LIMITS.length;
+    }
+
+    /**
+     * Una escritura en la cola y el future que se completa tras su commit.
+     */
+    private static final class Write {
+
+        static final int SAVE = 0;
+        static final int UPDATE = 1;
+        static final int DELETE = 2;
+
+        final int type;
+        final Author author;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        // Para reintentar sola si el grupo se revierte (persist() ya asignó el ID)
+        private final int originalId;
+        private final int originalVersion;
+
+        Author before;                     // UPDATE/DELETE: cómo estaba antes
+        OptimisticLockException conflict;  // Cambió o se borró: solo esta escritura falla
+
+        Write(int type, Author author) {
+            this.type = type;
+            this.author = author;
+            this.originalId = author.getId();
+            this.originalVersion = author.getVersion();
+        }
+
+        void apply(EntityManager em) {
+            before = null;
+            conflict = null;
+            try {
+                if (type == SAVE) {
+                    em.persist(author);
+                } else if (type == UPDATE) {
+                    before = AuthorModel.applyUpdate(em, author);
+                } else {
+                    before = AuthorModel.applyDelete(em, author);
+                }
+            } catch (OptimisticLockException e) {
+                conflict = e; // Lanzada por AuthorModel antes de tocar la fila: la transacción sigue
+            }
+        }
+
+        void reset() {
+            author.setId(originalId);
+            author.setVersion(originalVersion);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.udb.autores.directorioautores.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Índice en memoria de las fechas de nacimiento, para contar autores nacidos entre
+ * dos fechas sin consultar la BD (ver AuthorModel.countAuthorsBornBetween).
+ * Es opcional ('birthDateIndex.enabled'); sin él, el conteo es un COUNT sobre
+ * el índice idx_autor_genero_nacimiento.
+ *
+ * Un árbol de Fenwick por género (y uno con todos) con un contador por día:
+ * contar un rango y registrar un cambio cuestan O(log días), sin importar
+ * cuántos autores haya. Memoria fija: 4 bytes por día desde 'birthDateIndex.fromYear'
+ * (~330 KB por género desde 1800). Las fechas fuera de ese rango se cuentan en
+ * el primer o el último día.
+ *
+ * Se carga con un GROUP BY (autores por género y fecha, sin entidades) y se mantiene
+ * con los cambios de este servidor; los de otros servidores se incorporan al
+ * reconstruirlo (periódico). Una escritura que coincide justo con la carga puede
+ * quedar contada dos veces hasta la siguiente reconstrucción.
+ */
+public final class BirthDateIndex implements AuthorChangeListener {
+
+    private static final Logger LOG = Logger.getLogger(BirthDateIndex.class.getName());
+
+    private static final boolean ENABLED = AppConfig.getBoolean("birthDateIndex.enabled", false);
+    private static final long FIRST_DAY = LocalDate.of(AppConfig.getInt("birthDateIndex.fromYear", 1800), 1, 1).toEpochDay();
+
+    // Después de FIRST_DAY: el constructor ya lo necesita
+    private static final BirthDateIndex INSTANCE = new BirthDateIndex();
+
+    private final int days = (int) (LocalDate.now().plusYears(1).toEpochDay() - FIRST_DAY);
+
+    private volatile Trees trees = new Trees(days);
+    private Trees rebuilding;          // Árboles nuevos durante rebuild(), protegido con 'synchronized (this)'
+    private volatile boolean ready;    // false hasta la primera carga completa
+
+    private final LongAdder rangeQueries = new LongAdder();
+
+    private BirthDateIndex() {
+    }
+
+    public static BirthDateIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return true si el índice está activo y ya se cargó.
+     */
+    public boolean isReady() {
+        return ENABLED && ready;
+    }
+
+    /**
+     * Cuenta los autores nacidos entre dos fechas (inclusive).
+     * @param from Desde (null = sin límite).
+     * @param to Hasta (null = sin límite).
+     * @param genreId El ID del género por el cual filtrar (0 = todos).
+     * @return El número de autores.
+     */
+    public long countBetween(Date from, Date to, int genreId) {
+        rangeQueries.increment();
+        DayCounter counter = trees.get(genreId, false);
+        if (counter == null) {
+            return 0;
+        }
+        int first = from != null ? dayOf(from) : 0;
+        int last = to != null ? dayOf(to) : days - 1;
+        if (first > last) {
+            return 0;
+        }
+        return counter.prefix(last) - (first > 0 ? counter.prefix(first - 1) : 0);
+    }
+
+    /**
+     * Carga (o vuelve a cargar) el índice desde la tabla 'autor'.
+     * Los cambios que lleguen mientras tanto se aplican a los dos juegos de árboles.
+     */
+    public void rebuild() {
+        if (!ENABLED) {
+            return;
+        }
+        long start = System.nanoTime();
+        Loader loader = new Loader(days);
+        synchronized (this) {
+            rebuilding = new Trees(days);
+        }
+        try {
+            long rows = new AuthorModel().forEachBirthDateCount(loader);
+            synchronized (this) {
+                // Lo cargado más lo que cambió durante la carga
+                trees = loader.toTrees(rebuilding);
+            }
+            ready = true;
+            LOG.info(String.format("Índice de fechas de nacimiento cargado: %d fechas en %d ms",
+                    rows, (System.nanoTime() - start) / 1_000_000));
+        } finally {
+            synchronized (this) {
+                rebuilding = null;
+            }
+        }
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+
+    @Override
+    public void authorSaved(Author author) {
+        add(AuthorModel.genreIdOf(author), author.getBirthDate(), 1);
+    }
+
+    @Override
+    public void authorUpdated(Author before, Author after) {
+        add(AuthorModel.genreIdOf(before), before.getBirthDate(), -1);
+        add(AuthorModel.genreIdOf(after), after.getBirthDate(), 1);
+    }
+
+    @Override
+    public void authorDeleted(Author author) {
+        add(AuthorModel.genreIdOf(author), author.getBirthDate(), -1);
+    }
+
+    @Override
+    public void authorsSaved(List<Author> authors) {
+        synchronized (this) {
+            for (Author author : authors) {
+                authorSaved(author);
+            }
+        }
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public long getRangeQueries() {
+        return rangeQueries.sum();
+    }
+
+    /**
+     * @return Autores en el índice (todos los géneros).
+     */
+    public long getSize() {
+        DayCounter all = trees.get(0, false);
+        return all != null ? all.prefix(days - 1) : 0;
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private synchronized void add(int genreId, Date birthDate, int delta) {
+        if (!ENABLED || birthDate == null) {
+            return;
+        }
+        int day = dayOf(birthDate);
+        trees.add(genreId, day, delta);
+        if (rebuilding != null) {
+            rebuilding.add(genreId, day, delta);
+        }
+    }
+
+    /**
+     * Posición de la fecha en los árboles (días desde FIRST_DAY, dentro del rango).
+     */
+    private int dayOf(Date date) {
+        long epochDay = date instanceof java.sql.Date
+                ? ((java.sql.Date) date).toLocalDate().toEpochDay()
+                : Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+        return (int) Math.max(0, Math.min(days - 1, epochDay - FIRST_DAY));
+    }
+
+    /**
+     * Recibe las filas del GROUP BY (ver AuthorModel.forEachBirthDateCount).
+     */
+    interface DayCounts {
+        void add(int genreId, Date birthDate, long count);
+    }
+
+    /**
+     * Junta los conteos de la carga en arreglos simples y arma los árboles al final
+     * en O(días), en lugar de O(log días) por fila.
+     */
+    private final class Loader implements DayCounts {
+        private final int size;
+        private final Map<Integer, int[]> counts = new HashMap<>();
+
+        Loader(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void add(int genreId, Date birthDate, long count) {
+            int day = dayOf(birthDate);
+            if (genreId != 0) {
+                counts.computeIfAbsent(genreId, id -> new int[size])[day] += (int) count;
+            }
+            counts.computeIfAbsent(0, id -> new int[size])[day] += (int) count;
+        }
+
+        /**
+         * @param changes Lo que cambió durante la carga (se suma a lo cargado).
+         */
+        Trees toTrees(Trees changes) {
+            Trees result = new Trees(size);
+            for (Map.Entry<Integer, int[]> entry : counts.entrySet()) {
+                result.counters.put(entry.getKey(), DayCounter.of(entry.getValue()));
+            }
+            for (Map.Entry<Integer, DayCounter> entry : changes.counters.entrySet()) {
+                DayCounter target = result.get(entry.getKey(), true);
+                DayCounter delta = entry.getValue();
+                for (int day = 0; day < size; day++) {
+                    int value = delta.valueAt(day);
+                    if (value != 0) {
+                        target.add(day, value);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Un árbol por género; el 0 lleva a todos los autores (también a los sin género).
+     */
+    private static final class Trees {
+        private final int size;
+        private final ConcurrentHashMap<Integer, DayCounter> counters = new ConcurrentHashMap<>();
+
+        Trees(int size) {
+            this.size = size;
+        }
+
+        DayCounter get(int genreId, boolean create) {
+            return create ? counters.computeIfAbsent(genreId, id -> new DayCounter(size)) : counters.get(genreId);
+        }
+
+        void add(int genreId, int day, int delta) {
+            if (genreId != 0) {
+                get(genreId, true).add(day, delta);
+            }
+            get(0, true).add(day, delta);
+        }
+    }
+
+    /**
+     * Árbol de Fenwick (binary indexed tree) con un contador por día.
+     * Las lecturas no usan locks; las escrituras llegan con 'synchronized' desde add().
+     */
+    private static final class DayCounter {
+        private final AtomicIntegerArray tree; // Posiciones 1..n
+
+        DayCounter(int size) {
+            tree = new AtomicIntegerArray(size + 1);
+        }
+
+        private DayCounter(AtomicIntegerArray tree) {
+            this.tree = tree;
+        }
+
+        /**
+         * Arma el árbol a partir de los conteos por día, en O(n).
+         */
+        static DayCounter of(int[] counts) {
+            int[] tree = new int[counts.length + 1];
+            System.arraycopy(counts, 0, tree, 1, counts.length);
+            for (int i = 1; i < tree.length; i++) {
+                int parent = i + (i & -i);
+                if (parent < tree.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+            return new DayCounter(new AtomicIntegerArray(tree));
+        }
+
+        void add(int day, int delta) {
+            for (int i = day + 1; i < tree.length(); i += i & -i) {
+                tree.addAndGet(i, delta);
+            }
+        }
+
+        /**
+         * @return La suma de los días 0..day.
+         */
+        long prefix(int day) {
+            long sum = 0;
+            for (int i = day + 1; i > 0; i -= i & -i) {
+                sum += tree.get(i);
+            }
+            return sum;
+        }
+
+        int valueAt(int day) {
+            return (int) (prefix(day) - (day > 0 ? prefix(day - 1) : 0));
+        }
+    }
+}
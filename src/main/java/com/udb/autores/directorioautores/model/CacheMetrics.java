@@ -0,0 +1,76 @@
+package com.udb.autores.directorioautores.model;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * Aciertos (hits) y fallos (misses) de las cachés, para confirmar que valen la pena:
+ * - Caché de segundo nivel de Hibernate (entidad LiteraryGenre).
+ * - Caché de consultas de Hibernate (lista de géneros).
+ * - AuthorQueryCache (consultas de autores filtradas por género).
+ */
+public class CacheMetrics implements CacheMetricsMBean {
+
+    @Override
+    public long getGenreCacheHitCount() {
+        Statistics stats = JPAUtil.getStatistics();
+        return stats != null ? stats.getSecondLevelCacheHitCount() : 0;
+    }
+
+    @Override
+    public long getGenreCacheMissCount() {
+        Statistics stats = JPAUtil.getStatistics();
+        return stats != null ? stats.getSecondLevelCacheMissCount() : 0;
+    }
+
+    @Override
+    public double getGenreCacheHitRatio() {
+        return ratio(getGenreCacheHitCount(), getGenreCacheMissCount());
+    }
+
+    @Override
+    public long getQueryCacheHitCount() {
+        Statistics stats = JPAUtil.getStatistics();
+        return stats != null ? stats.getQueryCacheHitCount() : 0;
+    }
+
+    @Override
+    public long getQueryCacheMissCount() {
+        Statistics stats = JPAUtil.getStatistics();
+        return stats != null ? stats.getQueryCacheMissCount() : 0;
+    }
+
+    @Override
+    public double getQueryCacheHitRatio() {
+        return ratio(getQueryCacheHitCount(), getQueryCacheMissCount());
+    }
+
+    @Override
+    public long getAuthorQueryCacheHitCount() {
+        return AuthorQueryCache.getInstance().getHitCount();
+    }
+
+    @Override
+    public long getAuthorQueryCacheMissCount() {
+        return AuthorQueryCache.getInstance().getMissCount();
+    }
+
+    @Override
+    public double getAuthorQueryCacheHitRatio() {
+        return AuthorQueryCache.getInstance().getHitRatio();
+    }
+
+    @Override
+    public long getAuthorQueryCacheInvalidationCount() {
+        return AuthorQueryCache.getInstance().getInvalidationCount();
+    }
+
+    @Override
+    public int getAuthorQueryCacheSize() {
+        return AuthorQueryCache.getInstance().getSize();
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
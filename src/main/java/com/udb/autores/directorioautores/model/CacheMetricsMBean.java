@@ -0,0 +1,29 @@
+package com.udb.autores.directorioautores.model;
+
+/**
+ * Interfaz JMX de CacheMetrics ("com.udb.autores:type=CacheMetrics").
+ */
+public interface CacheMetricsMBean {
+
+    long getGenreCacheHitCount();
+
+    long getGenreCacheMissCount();
+
+    double getGenreCacheHitRatio();
+
+    long getQueryCacheHitCount();
+
+    long getQueryCacheMissCount();
+
+    double getQueryCacheHitRatio();
+
+    long getAuthorQueryCacheHitCount();
+
+    long getAuthorQueryCacheMissCount();
+
+    double getAuthorQueryCacheHitRatio();
+
+    long getAuthorQueryCacheInvalidationCount();
+
+    int getAuthorQueryCacheSize();
+}
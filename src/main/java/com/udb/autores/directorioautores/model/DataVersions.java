@@ -0,0 +1,179 @@
+package com.udb.autores.directorioautores.model;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Número de versión de cada tabla: cambia cada vez que se confirma una escritura.
+ * Sirve para armar ETags (ver la API REST): si la versión no cambió, el cliente
+ * ya tiene los datos actuales y se responde 304 sin consultar la tabla.
+ *
+ * La versión de 'autor' sale de la BD (MAX(ultima_modificacion) y COUNT, ver
+ * AuthorModel.getDataVersion), así que es la misma en todos los servidores y tras
+ * reiniciar, y ve también las escrituras de otros servidores:
+ * - Se guarda refreshMillis y se vuelve a leer (una consulta por servidor, no por petición).
+ * - Una escritura de este servidor la invalida: la siguiente petición ya ve el cambio.
+ * - También la invalidan las conciliaciones que encuentran diferencias (ver changedOutside).
+ * La versión de 'genero' es un hash de sus filas: también es la misma en todos los servidores.
+ */
+public final class DataVersions implements AuthorChangeListener {
+
+    private static final Logger LOG = Logger.getLogger(DataVersions.class.getName());
+
+    // Cuánto se reutiliza la versión leída de la BD (lo que tarda en verse un cambio de otro servidor)
+    private static final long REFRESH_MILLIS = AppConfig.getLong("dataVersions.refreshMillis", 2000);
+
+    private static final DataVersions INSTANCE = new DataVersions();
+
+    private final String instanceId = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong authors = new AtomicLong(); // Sube con cada cambio visto por este servidor
+    private volatile String authorsVersion;          // La última leída de la BD
+    private volatile long authorsReadAt;             // 0 = hay que volver a leerla
+    private volatile long authorsChangedAt; // System.currentTimeMillis() del último cambio
+    private volatile String genresVersion;  // null = aún no se calcula
+    private final Object refreshLock = new Object();
+
+    private DataVersions() {
+    }
+
+    public static DataVersions getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return La versión actual de la tabla 'autor' (ej: "v-lz2k1f0a-1000000").
+     */
+    public String getAuthorsVersion() {
+        long readAt = authorsReadAt; // Antes que la versión: se escriben en el orden inverso
+        String version = authorsVersion;
+        if (System.currentTimeMillis() - readAt < REFRESH_MILLIS) {
+            return version;
+        }
+        // Un solo hilo consulta; los demás esperan y reutilizan su resultado
+        synchronized (refreshLock) {
+            version = authorsVersion;
+            if (System.currentTimeMillis() - authorsReadAt < REFRESH_MILLIS) {
+                return version;
+            }
+            long generation = authors.get();
+            long now = System.currentTimeMillis();
+            try {
+                long[] mark = new AuthorModel().getDataVersion();
+                version = "v-" + Long.toString(mark[0], 36) + "-" + mark[1];
+            } catch (RuntimeException e) {
+                // Sin BD no hay versión: una que nunca coincide (no se responde 304 con datos dudosos)
+                LOG.log(Level.WARNING, "No se pudo leer la versión de la tabla 'autor'", e);
+                return instanceId + "-" + generation;
+            }
+            if (authorsVersion != null && !authorsVersion.equals(version)) {
+                authorsChangedAt = now; // Ej: un cambio de otro servidor
+            }
+            // Si hubo un cambio mientras se consultaba, la lectura pudo ser anterior: no se guarda
+            if (authors.get() == generation) {
+                authorsVersion = version;
+                authorsReadAt = now;
+            }
+            return version;
+        }
+    }
+
+    /**
+     * @return Cuándo cambió por última vez la tabla 'autor', según este servidor
+     *         (0 si no ha cambiado desde el arranque).
+     */
+    public long getAuthorsChangedAt() {
+        return authorsChangedAt;
+    }
+
+    /**
+     * La aplicación no modifica la tabla 'genero' (se carga con el script SQL): la
+     * versión es un hash de sus filas (ID y nombre), calculado una vez (al arrancar,
+     * ver AppLifecycleListener). Un cambio hecho con SQL se ve al reiniciar.
+     * @return La versión actual de la tabla 'genero' (ej: "g-1x2k3j4h5g6f").
+     */
+    public String getGenresVersion() {
+        String version = genresVersion;
+        if (version != null) {
+            return version;
+        }
+        List<LiteraryGenre> genres = new LiteraryGenreModel().getAllGenres();
+        if (genres == null) {
+            // Sin BD no hay versión: una que nunca coincide; se vuelve a calcular en la siguiente
+            return instanceId + "-0";
+        }
+        version = "g-" + Long.toString(hash(genres) & Long.MAX_VALUE, 36);
+        genresVersion = version;
+        return version;
+    }
+
+    /**
+     * Una conciliación encontró autores que otro servidor cambió (ej: DirectoryReadModel):
+     * la versión se vuelve a leer de la BD sin esperar refreshMillis.
+     */
+    void changedOutside() {
+        changed();
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+
+    @Override
+    public void authorSaved(Author author) {
+        changed();
+    }
+
+    @Override
+    public void authorUpdated(Author before, Author after) {
+        changed();
+    }
+
+    @Override
+    public void authorDeleted(Author author) {
+        changed();
+    }
+
+    @Override
+    public void authorsSaved(List<Author> authors) {
+        changed(); // Una transacción, un cambio de versión
+    }
+
+    @Override
+    public void authorsDeleted(List<Author> authors) {
+        changed();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private void changed() {
+        authorsChangedAt = System.currentTimeMillis();
+        authors.incrementAndGet();
+        authorsReadAt = 0;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre el ID y el nombre de cada género, en orden de ID
+     * (no depende del orden en que los devuelva la BD).
+     */
+    private static long hash(List<LiteraryGenre> genres) {
+        List<LiteraryGenre> sorted = new ArrayList<>(genres);
+        sorted.sort(Comparator.comparingInt(LiteraryGenre::getId));
+        long hash = 0xcbf29ce484222325L;
+        for (LiteraryGenre genre : sorted) {
+            String name = genre.getName() != null ? genre.getName() : "";
+            hash = mix(hash, genre.getId());
+            hash = mix(hash, name.length());
+            for (int i = 0; i < name.length(); i++) {
+                hash = mix(hash, name.charAt(i));
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+}
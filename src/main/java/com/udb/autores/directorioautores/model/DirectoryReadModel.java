@@ -0,0 +1,317 @@
+package com.udb.autores.directorioautores.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Modelo de lectura en memoria: AuthorModel responde getAllAuthors, findAuthorsByGenre,
+ * findAuthorByName y los conteos desde un DirectorySnapshot, sin ir a la BD.
+ * - Lectores: leen el campo volatile 'snapshot' y trabajan sobre esa copia
+ *   inmutable; nunca esperan por un lock.
+ * - Escrituras de este servidor: llegan como AuthorChangeListener justo después
+ *   del commit; se arma una copia nueva con el cambio y se reemplaza de golpe.
+ * - Conciliación (reconcile, periódica): vuelve a cargar todo de la BD. Así se
+ *   incorporan los cambios de otros servidores; cuántos autores difieren se
+ *   publica en /metrics (autores_read_model_drift_total).
+ * - Copia en disco (opcional, ver DirectorySnapshotFile): al arrancar, loadFile()
+ *   carga la última copia guardada y el modelo responde de inmediato; catchUp() pide
+ *   a la BD solo los autores modificados desde la marca de la copia (columna
+ *   'ultima_modificacion') y los IDs para detectar los borrados, en lugar de todo.
+ * Los cambios que llegan mientras se carga se vuelven a aplicar sobre lo cargado:
+ * son idempotentes (por ID y versión), así que aplicarlos dos veces no importa.
+ */
+public final class DirectoryReadModel implements AuthorChangeListener {
+
+    private static final Logger LOG = Logger.getLogger(DirectoryReadModel.class.getName());
+
+    private static final boolean ENABLED = AppConfig.getBoolean("readModel.enabled", true);
+
+    // catchUp() vuelve a leer los autores modificados un poco antes de la marca: una
+    // transacción que empezó antes (marca más vieja) pudo confirmarse después de leerla
+    private static final long CATCH_UP_LOOKBACK_MS = AppConfig.getLong("readModel.catchUpLookbackSeconds", 60) * 1000;
+    // catchUp() arma en memoria la lista de autores modificados: con una copia más vieja
+    // que esto, o con más cambios que esto, conviene volver a cargar todo (reconcile)
+    private static final long CATCH_UP_MAX_AGE_MS = AppConfig.getLong("readModel.catchUpMaxAgeHours", 24) * 3_600_000;
+    private static final long CATCH_UP_MAX_CHANGES = AppConfig.getLong("readModel.catchUpMaxChanges", 100_000);
+
+    private static final DirectorySnapshotFile FILE = DirectorySnapshotFile.getInstance();
+
+    private static final DirectoryReadModel INSTANCE = new DirectoryReadModel();
+
+    private volatile DirectorySnapshot snapshot = DirectorySnapshot.EMPTY;
+    private volatile boolean ready; // false hasta la primera carga completa
+    private volatile long changeMark; // Marca de cambios de la BD incluida en la copia (0 = ninguna)
+    private volatile long fileWrittenAt; // Cuándo se guardó la copia cargada de disco (0 = ninguna)
+
+    // Una escritura del archivo a la vez (la periódica y la del apagado)
+    private final Object fileLock = new Object();
+
+    // Cambios durante reconcile() o catchUp(); protegidos con 'synchronized (this)'
+    private List<Author> pendingUpserts;
+    private List<Integer> pendingDeletes;
+
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder drift = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder catchUps = new LongAdder();
+    private final LongAdder catchUpChanges = new LongAdder();
+
+    private DirectoryReadModel() {
+    }
+
+    public static DirectoryReadModel getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return La copia actual, o null si el modelo está desactivado o aún no se carga
+     *         (en ese caso, AuthorModel consulta la BD).
+     */
+    public DirectorySnapshot current() {
+        return ENABLED && ready ? snapshot : null;
+    }
+
+    /**
+     * Carga todo el directorio desde la BD y reemplaza la copia actual.
+     */
+    public void reconcile() {
+        if (!ENABLED) {
+            return;
+        }
+        long start = System.nanoTime();
+        startTracking();
+        try {
+            AuthorModel model = new AuthorModel();
+            long mark = model.getLastModification(); // Antes de leer: lo posterior se vuelve a pedir
+            DirectorySnapshot loaded = model.loadDirectorySnapshot();
+            int differences;
+            synchronized (this) {
+                DirectorySnapshot fresh = loaded.withChanges(pendingUpserts, pendingDeletes);
+                differences = ready ? snapshot.countDifferences(fresh) : 0;
+                snapshot = fresh;
+                swaps.increment();
+            }
+            ready = true;
+            changeMark = mark;
+            reloads.increment();
+            drift.add(differences);
+            if (differences > 0) {
+                DataVersions.getInstance().changedOutside(); // Cambios de otro servidor
+                AuthorQueryCache.getInstance().invalidateAll();
+            }
+            LOG.info(String.format("Modelo de lectura cargado: %d autores (~%d KB), %d diferencias, en %d ms",
+                    loaded.size(), loaded.estimateBytes() / 1024, differences, (System.nanoTime() - start) / 1_000_000));
+        } finally {
+            stopTracking();
+        }
+    }
+
+    /**
+     * Carga la copia guardada en disco (si hay) y empieza a responder con ella; la
+     * llama AppLifecycleListener al arrancar, antes de recibir peticiones.
+     * @return true si se cargó: falta catchUp() para incorporar lo que cambió después
+     *         de guardarla. false si no hay copia (o está dañada): falta reconcile().
+     */
+    public boolean loadFile() {
+        if (!ENABLED || !DirectorySnapshotFile.isEnabled()) {
+            return false;
+        }
+        try {
+            DirectorySnapshotFile.Contents contents = FILE.load();
+            if (contents == null) {
+                return false;
+            }
+            synchronized (this) {
+                snapshot = contents.snapshot;
+                changeMark = contents.changeMark;
+                fileWrittenAt = contents.writtenAt;
+                swaps.increment();
+            }
+            ready = true;
+            LOG.info(String.format("Modelo de lectura cargado de la copia en disco (guardada hace %d s)",
+                    Math.max(0, System.currentTimeMillis() - contents.writtenAt) / 1000));
+            return true;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "No se pudo cargar la copia en disco; se carga de la BD", e);
+            return false;
+        }
+    }
+
+    /**
+     * Incorpora los cambios hechos en la BD desde la marca de la copia actual: los
+     * autores modificados (por 'ultima_modificacion') y los borrados (IDs que ya no están).
+     * Lee mucho menos que reconcile(); se usa después de loadFile(). Si la copia es
+     * muy vieja o cambiaron demasiados autores desde entonces, hace reconcile() en su lugar.
+     */
+    public void catchUp() {
+        if (!ENABLED || !ready) {
+            return;
+        }
+        long start = System.nanoTime();
+        long since = changeMark - CATCH_UP_LOOKBACK_MS;
+        AuthorModel model = new AuthorModel();
+        long age = System.currentTimeMillis() - fileWrittenAt;
+        if (age > CATCH_UP_MAX_AGE_MS) {
+            LOG.info(String.format("La copia en disco tiene %d h; se carga todo de la BD", age / 3_600_000));
+            reconcile();
+            return;
+        }
+        long pending = model.countAuthorsModifiedSince(since);
+        if (pending > CATCH_UP_MAX_CHANGES) {
+            LOG.info(String.format("%d autores modificados desde la copia en disco; se carga todo de la BD", pending));
+            reconcile();
+            return;
+        }
+        startTracking();
+        try {
+            long mark = model.getLastModification();
+            // Primero los IDs: un autor insertado después queda en 'changed' y no se borra
+            int[] ids = model.loadAuthorIds();
+            List<Author> changed = model.findAuthorsModifiedSince(since);
+            int deleted;
+            synchronized (this) {
+                List<Integer> missing = snapshot.findMissing(ids);
+                deleted = missing.size();
+                // Lo que este servidor escribió mientras tanto va encima (pudo faltar en 'ids')
+                snapshot = snapshot.withChanges(changed, missing).withChanges(pendingUpserts, pendingDeletes);
+                swaps.increment();
+            }
+            changeMark = Math.max(changeMark, mark);
+            catchUps.increment();
+            catchUpChanges.add(changed.size() + deleted);
+            if (changed.size() + deleted > 0) {
+                DataVersions.getInstance().changedOutside();
+                AuthorQueryCache.getInstance().invalidateAll();
+            }
+            LOG.info(String.format("Modelo de lectura actualizado: %d autores modificados y %d borrados, en %d ms",
+                    changed.size(), deleted, (System.nanoTime() - start) / 1_000_000));
+        } finally {
+            stopTracking();
+        }
+    }
+
+    /**
+     * Guarda la copia actual en disco (periódico y al apagar, ver AppLifecycleListener).
+     */
+    public void writeFile() throws IOException {
+        if (!ENABLED || !ready || !DirectorySnapshotFile.isEnabled()) {
+            return;
+        }
+        DirectorySnapshot current;
+        long mark;
+        synchronized (this) {
+            current = snapshot;
+            mark = changeMark;
+        }
+        synchronized (fileLock) {
+            FILE.write(current, mark);
+        }
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+
+    @Override
+    public void authorSaved(Author author) {
+        apply(Collections.singletonList(author), Collections.<Integer>emptyList());
+    }
+
+    @Override
+    public void authorUpdated(Author before, Author after) {
+        apply(Collections.singletonList(after), Collections.<Integer>emptyList());
+    }
+
+    @Override
+    public void authorDeleted(Author author) {
+        apply(Collections.<Author>emptyList(), Collections.singletonList(author.getId()));
+    }
+
+    @Override
+    public void authorsSaved(List<Author> authors) {
+        apply(authors, Collections.<Integer>emptyList()); // Una sola copia nueva para todo el lote
+    }
+
+    @Override
+    public void authorsDeleted(List<Author> authors) {
+        List<Integer> ids = new ArrayList<>(authors.size());
+        for (Author author : authors) {
+            ids.add(author.getId());
+        }
+        apply(Collections.<Author>emptyList(), ids);
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public long getReloadCount() {
+        return reloads.sum();
+    }
+
+    public long getDriftCount() {
+        return drift.sum();
+    }
+
+    public long getSwapCount() {
+        return swaps.sum();
+    }
+
+    public long getCatchUpCount() {
+        return catchUps.sum();
+    }
+
+    public long getCatchUpChangeCount() {
+        return catchUpChanges.sum();
+    }
+
+    public int getSize() {
+        return snapshot.size();
+    }
+
+    public long getEstimatedBytes() {
+        return snapshot.estimateBytes();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    /**
+     * Desde aquí, apply() también guarda los cambios para volver a aplicarlos sobre lo
+     * que se está cargando (ver reconcile y catchUp).
+     */
+    private synchronized void startTracking() {
+        pendingUpserts = new ArrayList<>();
+        pendingDeletes = new ArrayList<>();
+    }
+
+    private synchronized void stopTracking() {
+        pendingUpserts = null;
+        pendingDeletes = null;
+    }
+
+    /**
+     * Arma la copia nueva con el cambio y la publica. Las escrituras se ordenan con
+     * 'synchronized'; los lectores siguen con la copia anterior mientras tanto.
+     */
+    private synchronized void apply(List<Author> upserts, List<Integer> deletedIds) {
+        if (!ENABLED) {
+            return;
+        }
+        if (pendingUpserts != null) {
+            // Se copian: el autor puede seguir cambiando en la vista que lo guardó
+            for (Author author : upserts) {
+                pendingUpserts.add(new Author(author));
+            }
+            pendingDeletes.addAll(deletedIds);
+        }
+        if (ready) {
+            snapshot = snapshot.withChanges(upserts, deletedIds);
+            swaps.increment();
+        }
+    }
+}
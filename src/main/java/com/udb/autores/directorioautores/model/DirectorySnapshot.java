@@ -0,0 +1,487 @@
+package com.udb.autores.directorioautores.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copia INMUTABLE de todo el directorio, guardada por columnas (un arreglo por
+ * campo, una posición por autor, en orden de ID). La usa DirectoryReadModel para
+ * responder lecturas sin ir a la BD: como nunca cambia, se puede leer desde
+ * cualquier hilo sin locks; cada cambio arma una copia nueva (withChanges).
+ *
+ * Memoria por autor (JVM de 64 bits con referencias comprimidas):
+ * - 5 columnas int (ID, teléfono, fecha, género, versión): 20 bytes.
+ * - Referencia al nombre: 4 bytes; hash del nombre: 8 bytes.
+ * - Tabla de nombres (a lo más a la mitad de su capacidad): ~8 bytes.
+ * - Posición en el arreglo de su género: 4 bytes.
+ * Unos 44 bytes más el nombre (~40 bytes + 1 por carácter si es Latin-1):
+ * ~100 bytes para un nombre de 20 caracteres, ~100 MB por millón de autores.
+ * Al cambiar conviven dos copias un momento, pero comparten los nombres.
+ */
+public final class DirectorySnapshot {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int[] NO_POSITIONS = new int[0];
+
+    static final DirectorySnapshot EMPTY = new Builder().build();
+
+    // Columnas: una posición por autor, en orden ascendente de ID
+    private final int[] ids;
+    private final String[] names;
+    private final int[] phones;      // 0 = sin teléfono (ningún teléfono válido es 0)
+    private final int[] birthDays;   // Días desde 1970-01-01, NO_DATE = sin fecha
+    private final int[] genreIds;    // 0 = sin género
+    private final int[] versions;
+
+    // Derivados de las columnas
+    private final long[] nameHashes;                  // AuthorNameIndex.hash() de cada nombre
+    private final int[] nameTable;                    // Posición + 1 por hash (0 = vacío)
+    private final Map<Integer, int[]> genrePositions; // Posiciones de cada género, en orden de ID
+    private final Map<Integer, LiteraryGenre> genres;
+    private final long estimatedBytes;
+
+    /**
+     * @param nameHashes Los hashes de los nombres si ya se conocen (ej: del archivo), o null.
+     */
+    private DirectorySnapshot(int[] ids, String[] names, int[] phones, int[] birthDays, int[] genreIds,
+                              int[] versions, Map<Integer, LiteraryGenre> genres, long[] nameHashes) {
+        this.ids = ids;
+        this.names = names;
+        this.phones = phones;
+        this.birthDays = birthDays;
+        this.genreIds = genreIds;
+        this.versions = versions;
+        this.genres = genres;
+
+        int size = ids.length;
+        // Normalizar cada nombre es lo más caro de armar la copia: si vienen, se reutilizan
+        boolean hashed = nameHashes != null;
+        this.nameHashes = hashed ? nameHashes : new long[size];
+        nameTable = new int[Integer.highestOneBit(Math.max(16, size * 2 - 1)) << 1];
+        int mask = nameTable.length - 1;
+        Map<Integer, Integer> genreSizes = new HashMap<>();
+        long nameBytes = 0;
+        for (int pos = 0; pos < size; pos++) {
+            nameBytes += names[pos] != null ? 40 + names[pos].length() : 0;
+            long hash = hashed ? nameHashes[pos] : AuthorNameIndex.hash(names[pos]);
+            this.nameHashes[pos] = hash;
+            int slot = mix(hash) & mask;
+            while (nameTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            nameTable[slot] = pos + 1;
+            if (genreIds[pos] != 0) {
+                genreSizes.merge(genreIds[pos], 1, Integer::sum);
+            }
+        }
+        genrePositions = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : genreSizes.entrySet()) {
+            genrePositions.put(entry.getKey(), new int[entry.getValue()]);
+        }
+        Map<Integer, Integer> filled = new HashMap<>();
+        for (int pos = 0; pos < size; pos++) {
+            if (genreIds[pos] != 0) {
+                int index = filled.merge(genreIds[pos], 1, Integer::sum) - 1;
+                genrePositions.get(genreIds[pos])[index] = pos;
+            }
+        }
+        estimatedBytes = (long) size * (5 * 4 + 4 + 8 + 4) + nameTable.length * 4L + nameBytes;
+    }
+
+    // --- LECTURAS ---
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param genreId El ID del género (0 = todos).
+     * @return El número de autores.
+     */
+    public int count(int genreId) {
+        return genreId > 0 ? positionsOf(genreId).length : ids.length;
+    }
+
+    /**
+     * @return Todos los autores, en orden de ID (objetos nuevos: se pueden modificar).
+     */
+    public List<Author> getAllAuthors() {
+        List<Author> result = new ArrayList<>(ids.length);
+        for (int pos = 0; pos < ids.length; pos++) {
+            result.add(toAuthor(pos));
+        }
+        return result;
+    }
+
+    /**
+     * @return Los autores de un género, en orden de ID.
+     */
+    public List<Author> findAuthorsByGenre(int genreId) {
+        int[] positions = positionsOf(genreId);
+        List<Author> result = new ArrayList<>(positions.length);
+        for (int pos : positions) {
+            result.add(toAuthor(pos));
+        }
+        return result;
+    }
+
+    /**
+     * Una página de la tabla (igual que AuthorModel.findAuthorsAfter): los autores
+     * con ID mayor a 'afterId', con búsqueda binaria en lugar de recorrer la copia.
+     * @param genreId El ID del género (0 = todos).
+     * @return A lo más 'limit' autores, en orden de ID.
+     */
+    public List<Author> findAuthorsAfter(int afterId, int genreId, int limit) {
+        List<Author> result = new ArrayList<>(Math.max(0, Math.min(limit, ids.length)));
+        if (genreId > 0) {
+            // Las posiciones de un género también van en orden de ID
+            int[] positions = positionsOf(genreId);
+            int low = 0;
+            int high = positions.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ids[positions[mid]] <= afterId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < positions.length && result.size() < limit; i++) {
+                result.add(toAuthor(positions[i]));
+            }
+        } else {
+            int from = Arrays.binarySearch(ids, afterId);
+            from = from >= 0 ? from + 1 : -from - 1;
+            for (int pos = from; pos < ids.length && result.size() < limit; pos++) {
+                result.add(toAuthor(pos));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Busca por nombre sin distinguir tildes, mayúsculas ni espacios repetidos
+     * (igual que AuthorNameIndex).
+     * @return El autor con ese nombre y menor ID, o null.
+     */
+    public Author findAuthorByName(String name) {
+        long hash = AuthorNameIndex.hash(name);
+        String normalized = null;
+        int found = -1;
+        int mask = nameTable.length - 1;
+        for (int slot = mix(hash) & mask; nameTable[slot] != 0; slot = (slot + 1) & mask) {
+            int pos = nameTable[slot] - 1;
+            if (nameHashes[pos] != hash || (found >= 0 && pos > found)) {
+                continue;
+            }
+            if (normalized == null) {
+                normalized = AuthorNameIndex.normalize(name);
+            }
+            if (normalized.equals(AuthorNameIndex.normalize(names[pos]))) {
+                found = pos;
+            }
+        }
+        return found >= 0 ? toAuthor(found) : null;
+    }
+
+    /**
+     * @return Cuántos autores difieren (agregados, borrados o con otra versión) entre
+     *         esta copia y 'other'. Sirve para medir cuánto se desvió de la BD.
+     */
+    public int countDifferences(DirectorySnapshot other) {
+        int differences = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ids.length || j < other.ids.length) {
+            if (j >= other.ids.length || (i < ids.length && ids[i] < other.ids[j])) {
+                differences++;
+                i++;
+            } else if (i >= ids.length || other.ids[j] < ids[i]) {
+                differences++;
+                j++;
+            } else {
+                if (versions[i] != other.versions[j]) {
+                    differences++;
+                }
+                i++;
+                j++;
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * @return Bytes aproximados que ocupa esta copia (ver el javadoc de la clase).
+     */
+    public long estimateBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @param existingIds Los IDs que hay en la BD, en orden ascendente.
+     * @return Los IDs de esta copia que ya no están en 'existingIds' (autores borrados).
+     */
+    List<Integer> findMissing(int[] existingIds) {
+        List<Integer> missing = new ArrayList<>();
+        int j = 0;
+        for (int id : ids) {
+            while (j < existingIds.length && existingIds[j] < id) {
+                j++;
+            }
+            if (j >= existingIds.length || existingIds[j] != id) {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+
+    // --- COLUMNAS (DirectorySnapshotFile) ---
+    // Los arreglos internos, sin copiar: no se deben modificar
+
+    int[] ids() {
+        return ids;
+    }
+
+    String[] names() {
+        return names;
+    }
+
+    int[] phones() {
+        return phones;
+    }
+
+    int[] birthDays() {
+        return birthDays;
+    }
+
+    int[] genreIds() {
+        return genreIds;
+    }
+
+    int[] versions() {
+        return versions;
+    }
+
+    long[] nameHashes() {
+        return nameHashes;
+    }
+
+    Map<Integer, LiteraryGenre> genres() {
+        return genres;
+    }
+
+    /**
+     * Arma una copia con columnas ya leídas (ej: del archivo), sin copiarlas.
+     * @param nameHashes AuthorNameIndex.hash() de cada nombre.
+     * @throws IllegalArgumentException Si las columnas no tienen el mismo largo o los
+     *         IDs no están en orden ascendente.
+     */
+    static DirectorySnapshot fromColumns(int[] ids, String[] names, int[] phones, int[] birthDays, int[] genreIds,
+                                         int[] versions, long[] nameHashes, Map<Integer, LiteraryGenre> genres) {
+        int size = ids.length;
+        if (names.length != size || phones.length != size || birthDays.length != size
+                || genreIds.length != size || versions.length != size || nameHashes.length != size) {
+            throw new IllegalArgumentException("Las columnas deben tener el mismo largo");
+        }
+        for (int pos = 1; pos < size; pos++) {
+            if (ids[pos - 1] >= ids[pos]) {
+                throw new IllegalArgumentException("Los autores deben llegar en orden ascendente de ID");
+            }
+        }
+        return new DirectorySnapshot(ids, names, phones, birthDays, genreIds, versions,
+                Collections.unmodifiableMap(new HashMap<>(genres)), nameHashes);
+    }
+
+    // --- CAMBIOS (copia nueva) ---
+
+    /**
+     * Arma una copia nueva con los cambios aplicados, en O(autores) y sin tocar esta.
+     * @param upserts Autores guardados o actualizados (se ignoran los que traen una
+     *                versión más vieja que la que ya está en la copia).
+     * @param deletedIds IDs de autores eliminados.
+     * @return La copia nueva.
+     */
+    public DirectorySnapshot withChanges(Collection<Author> upserts, Collection<Integer> deletedIds) {
+        if (upserts.isEmpty() && deletedIds.isEmpty()) {
+            return this;
+        }
+        // Un solo autor por ID (gana el último), en orden de ID
+        Map<Integer, Author> byId = new HashMap<>();
+        for (Author author : upserts) {
+            byId.put(author.getId(), author);
+        }
+        for (Integer id : deletedIds) {
+            byId.remove(id);
+        }
+        List<Author> sorted = new ArrayList<>(byId.values());
+        sorted.sort(Comparator.comparingInt(Author::getId));
+        Set<Integer> deleted = new HashSet<>(deletedIds);
+
+        Map<Integer, LiteraryGenre> newGenres = genres;
+        Builder builder = new Builder(ids.length + sorted.size());
+        int i = 0;
+        int j = 0;
+        while (i < ids.length || j < sorted.size()) {
+            Author upsert = j < sorted.size() ? sorted.get(j) : null;
+            if (upsert == null || (i < ids.length && ids[i] < upsert.getId())) {
+                if (!deleted.contains(ids[i])) {
+                    builder.addRow(ids[i], names[i], phones[i], birthDays[i], genreIds[i], versions[i], nameHashes[i]);
+                }
+                i++;
+            } else if (i < ids.length && ids[i] == upsert.getId() && versions[i] > upsert.getVersion()) {
+                // Ya es más nuevo
+                builder.addRow(ids[i], names[i], phones[i], birthDays[i], genreIds[i], versions[i], nameHashes[i]);
+                i++;
+                j++;
+            } else {
+                LiteraryGenre genre = upsert.getLiteraryGenre();
+                if (genre != null && !newGenres.containsKey(genre.getId())) {
+                    newGenres = new HashMap<>(newGenres);
+                    newGenres.put(genre.getId(), genre);
+                }
+                // Solo se normalizan los nombres que cambiaron; el resto reutiliza su hash
+                builder.addRow(upsert.getId(), upsert.getName(),
+                        upsert.getPhoneNumber() != null ? upsert.getPhoneNumber() : 0,
+                        toEpochDay(upsert.getBirthDate()), genre != null ? genre.getId() : 0, upsert.getVersion(),
+                        AuthorNameIndex.hash(upsert.getName()));
+                if (i < ids.length && ids[i] == upsert.getId()) {
+                    i++;
+                }
+                j++;
+            }
+        }
+        builder.genres.putAll(newGenres);
+        return builder.build();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private int[] positionsOf(int genreId) {
+        int[] positions = genrePositions.get(genreId);
+        return positions != null ? positions : NO_POSITIONS;
+    }
+
+    /**
+     * Arma un Author nuevo, como si viniera de la BD (con su versión y su estado
+     * cargado, para que se pueda editar y guardar).
+     */
+    private Author toAuthor(int pos) {
+        Author author = new Author();
+        author.setId(ids[pos]);
+        author.setName(names[pos]);
+        author.setPhoneNumber(phones[pos] != 0 ? phones[pos] : null);
+        author.setBirthDate(birthDays[pos] != NO_DATE ? java.sql.Date.valueOf(LocalDate.ofEpochDay(birthDays[pos])) : null);
+        author.setLiteraryGenre(genreIds[pos] != 0 ? genres.get(genreIds[pos]) : null);
+        author.setVersion(versions[pos]);
+        author.markLoaded();
+        return author;
+    }
+
+    static int toEpochDay(Date date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        return (int) (date instanceof java.sql.Date
+                ? ((java.sql.Date) date).toLocalDate().toEpochDay()
+                : Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay());
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Junta las filas (en orden ascendente de ID) y arma la copia.
+     */
+    static final class Builder {
+        private int size;
+        private int[] ids;
+        private String[] names;
+        private int[] phones;
+        private int[] birthDays;
+        private int[] genreIds;
+        private int[] versions;
+        private long[] nameHashes;
+        private final Map<Integer, LiteraryGenre> genres = new HashMap<>();
+
+        Builder() {
+            this(1024);
+        }
+
+        Builder(int expected) {
+            int capacity = Math.max(16, expected);
+            ids = new int[capacity];
+            names = new String[capacity];
+            phones = new int[capacity];
+            birthDays = new int[capacity];
+            genreIds = new int[capacity];
+            versions = new int[capacity];
+            nameHashes = new long[capacity];
+        }
+
+        /**
+         * Agrega una fila leída de la BD.
+         * @throws IllegalArgumentException Si los IDs no llegan en orden ascendente.
+         */
+        void add(int id, String name, Integer phoneNumber, Date birthDate, Integer genreId, String genreName,
+                 int version) {
+            int genre = genreId != null ? genreId : 0;
+            if (genre != 0 && !genres.containsKey(genre)) {
+                LiteraryGenre literaryGenre = new LiteraryGenre();
+                literaryGenre.setId(genre);
+                literaryGenre.setName(genreName);
+                genres.put(genre, literaryGenre);
+            }
+            addRow(id, name, phoneNumber != null ? phoneNumber : 0, toEpochDay(birthDate), genre, version,
+                    AuthorNameIndex.hash(name));
+        }
+
+        /**
+         * @param nameHash AuthorNameIndex.hash(name) (el de la copia anterior, si la fila no cambió).
+         */
+        private void addRow(int id, String name, int phone, int birthDay, int genreId, int version, long nameHash) {
+            if (size > 0 && ids[size - 1] >= id) {
+                throw new IllegalArgumentException("Los autores deben llegar en orden ascendente de ID");
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                phones = Arrays.copyOf(phones, capacity);
+                birthDays = Arrays.copyOf(birthDays, capacity);
+                genreIds = Arrays.copyOf(genreIds, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                nameHashes = Arrays.copyOf(nameHashes, capacity);
+            }
+            ids[size] = id;
+            names[size] = name;
+            phones[size] = phone;
+            birthDays[size] = birthDay;
+            genreIds[size] = genreId;
+            versions[size] = version;
+            nameHashes[size] = nameHash;
+            size++;
+        }
+
+        DirectorySnapshot build() {
+            // Arreglos del tamaño exacto: la copia vive hasta el siguiente cambio
+            return new DirectorySnapshot(Arrays.copyOf(ids, size), Arrays.copyOf(names, size),
+                    Arrays.copyOf(phones, size), Arrays.copyOf(birthDays, size), Arrays.copyOf(genreIds, size),
+                    Arrays.copyOf(versions, size), Collections.unmodifiableMap(new HashMap<>(genres)),
+                    Arrays.copyOf(nameHashes, size));
+        }
+    }
+}
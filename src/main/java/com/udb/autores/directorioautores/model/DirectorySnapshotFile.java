@@ -0,0 +1,338 @@
+package com.udb.autores.directorioautores.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Copia del directorio (DirectorySnapshot) guardada en un archivo local, para que un
+ * servidor que reinicia no tenga que leer todos los autores de la BD: al arrancar se
+ * mapea el archivo en memoria (mmap), se arma la copia y DirectoryReadModel responde
+ * de inmediato; después solo pide a la BD lo que cambió desde la marca guardada.
+ *
+ * Formato (binario, big-endian), por columnas como DirectorySnapshot:
+ * - Encabezado: MAGIC, FORMAT_VERSION, marca de cambios de la BD y cuándo se escribió.
+ * - Géneros: cantidad y, por cada uno, ID y nombre (largo + UTF-8).
+ * - Autores: cantidad y las columnas completas una tras otra (IDs, teléfonos, fechas,
+ *   géneros, versiones, hash de cada nombre, largo de cada nombre) y luego todos los
+ *   nombres en UTF-8. Con los hashes guardados no hay que normalizar cada nombre al
+ *   cargar (lo más caro de armar la copia); si cambia AuthorNameIndex.hash(), hay que
+ *   subir FORMAT_VERSION para descartar los archivos anteriores.
+ * - Al final, el CRC32 de todo lo anterior: un archivo incompleto o dañado se descarta.
+ * Las columnas se leen del mapeo de un solo golpe (sin decodificar fila por fila):
+ * ~55 bytes por autor, ~55 MB por millón de autores (máximo 2 GB por archivo).
+ *
+ * Se escribe en un archivo temporal que luego reemplaza al anterior (ATOMIC_MOVE):
+ * quien lee nunca ve un archivo a medio escribir. En Windows el archivo mapeado queda
+ * en uso hasta que el GC libere el mapeo; si el reemplazo falla, se reintenta en la
+ * siguiente escritura.
+ */
+public final class DirectorySnapshotFile {
+
+    private static final Logger LOG = Logger.getLogger(DirectorySnapshotFile.class.getName());
+
+    // Sin ruta configurada no se guarda ni se carga nada (cada arranque lee la BD)
+    private static final String PATH = AppConfig.getString("snapshotFile.path", "").trim();
+
+    private static final int MAGIC = 0x41555452; // "AUTR"
+    private static final int FORMAT_VERSION = 1;
+    private static final int NO_NAME = -1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final LatencyHistogram WRITE_TIMER = Metrics.histogram("DirectorySnapshotFile.write");
+    private static final LatencyHistogram LOAD_TIMER = Metrics.histogram("DirectorySnapshotFile.load");
+
+    private static final DirectorySnapshotFile INSTANCE = new DirectorySnapshotFile();
+
+    private final Path path;
+
+    private volatile long fileBytes;
+    private volatile long lastWriteMillis;
+    private volatile long lastLoadMillis;
+    private final LongAdder writes = new LongAdder();
+
+    private DirectorySnapshotFile() {
+        this(PATH.isEmpty() ? null : Paths.get(PATH));
+    }
+
+    /**
+     * @param path El archivo (null = no se guarda ni se carga nada). Fuera de getInstance(), solo para pruebas.
+     */
+    DirectorySnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public static DirectorySnapshotFile getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return !PATH.isEmpty();
+    }
+
+    /**
+     * Guarda la copia (reemplaza la anterior).
+     * @param snapshot La copia a guardar.
+     * @param changeMark La marca de cambios de la BD que ya incluye la copia
+     *                   (ver AuthorModel.getLastModification).
+     * @throws IOException Si no se pudo escribir o reemplazar el archivo.
+     */
+    void write(DirectorySnapshot snapshot, long changeMark) throws IOException {
+        if (path == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream file = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                CRC32 crc = new CRC32();
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(file, crc));
+                writeContents(out, snapshot, changeMark);
+                out.flush();
+                DataOutputStream trailer = new DataOutputStream(file); // El CRC no se incluye a sí mismo
+                trailer.writeLong(crc.getValue());
+                trailer.flush();
+                channel.force(true); // En disco antes de reemplazar el anterior
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            fileBytes = Files.size(path);
+            writes.increment();
+        } catch (IOException | RuntimeException e) {
+            WRITE_TIMER.error();
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            WRITE_TIMER.record(start);
+        }
+        lastWriteMillis = (System.nanoTime() - start) / 1_000_000;
+        LOG.info(String.format("Copia del directorio guardada en %s: %d autores, %d KB, en %d ms",
+                path, snapshot.size(), fileBytes / 1024, lastWriteMillis));
+    }
+
+    /**
+     * Carga la copia guardada.
+     * @return La copia y su marca de cambios, o null si no hay archivo (o no hay ruta).
+     * @throws IOException Si no se pudo leer, o el archivo está dañado o es de otro formato.
+     */
+    Contents load() throws IOException {
+        if (path == null || !Files.isRegularFile(path)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Contents contents;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 8 || size > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño inválido: " + size + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodySize = (int) size - 8;
+            ByteBuffer body = buffer.duplicate();
+            body.limit(bodySize);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if (crc.getValue() != buffer.getLong(bodySize)) {
+                throw new IOException("El CRC no coincide (archivo incompleto o dañado)");
+            }
+            buffer.limit(bodySize);
+            contents = readContents(buffer);
+            fileBytes = size;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                | NegativeArraySizeException e) {
+            LOAD_TIMER.error();
+            throw new IOException("Archivo inválido: " + path, e);
+        } catch (IOException | RuntimeException e) {
+            LOAD_TIMER.error();
+            throw e;
+        } finally {
+            LOAD_TIMER.record(start);
+        }
+        lastLoadMillis = (System.nanoTime() - start) / 1_000_000;
+        LOG.info(String.format("Copia del directorio cargada de %s: %d autores, %d KB, en %d ms",
+                path, contents.snapshot.size(), fileBytes / 1024, lastLoadMillis));
+        return contents;
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public long getFileBytes() {
+        return fileBytes;
+    }
+
+    public long getLastWriteMillis() {
+        return lastWriteMillis;
+    }
+
+    public long getLastLoadMillis() {
+        return lastLoadMillis;
+    }
+
+    public long getWriteCount() {
+        return writes.sum();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private static void writeContents(DataOutputStream out, DirectorySnapshot snapshot, long changeMark)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(changeMark);
+        out.writeLong(System.currentTimeMillis());
+
+        Map<Integer, LiteraryGenre> genres = snapshot.genres();
+        out.writeInt(genres.size());
+        for (LiteraryGenre genre : genres.values()) {
+            out.writeInt(genre.getId());
+            writeString(out, genre.getName());
+        }
+
+        out.writeInt(snapshot.size());
+        writeInts(out, snapshot.ids());
+        writeInts(out, snapshot.phones());
+        writeInts(out, snapshot.birthDays());
+        writeInts(out, snapshot.genreIds());
+        writeInts(out, snapshot.versions());
+        for (long hash : snapshot.nameHashes()) {
+            out.writeLong(hash);
+        }
+        String[] names = snapshot.names();
+        byte[][] encoded = new byte[names.length][];
+        int total = 0;
+        for (int pos = 0; pos < names.length; pos++) {
+            if (names[pos] != null) {
+                encoded[pos] = names[pos].getBytes(StandardCharsets.UTF_8);
+                total += encoded[pos].length;
+            }
+            out.writeInt(encoded[pos] != null ? encoded[pos].length : NO_NAME);
+        }
+        out.writeInt(total);
+        for (byte[] name : encoded) {
+            if (name != null) {
+                out.write(name);
+            }
+        }
+    }
+
+    private static Contents readContents(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("No es una copia del directorio");
+        }
+        int formatVersion = buffer.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Formato " + formatVersion + " no soportado (se espera " + FORMAT_VERSION + ")");
+        }
+        long changeMark = buffer.getLong();
+        long writtenAt = buffer.getLong();
+
+        int genreCount = buffer.getInt();
+        Map<Integer, LiteraryGenre> genres = new HashMap<>();
+        for (int i = 0; i < genreCount; i++) {
+            LiteraryGenre genre = new LiteraryGenre();
+            genre.setId(buffer.getInt());
+            genre.setName(readString(buffer));
+            genres.put(genre.getId(), genre);
+        }
+
+        int size = buffer.getInt();
+        int[] ids = readInts(buffer, size);
+        int[] phones = readInts(buffer, size);
+        int[] birthDays = readInts(buffer, size);
+        int[] genreIds = readInts(buffer, size);
+        int[] versions = readInts(buffer, size);
+        long[] nameHashes = new long[size];
+        buffer.asLongBuffer().get(nameHashes);
+        buffer.position(buffer.position() + size * 8);
+        int[] nameLengths = readInts(buffer, size);
+        byte[] nameBytes = new byte[buffer.getInt()];
+        buffer.get(nameBytes);
+        String[] names = new String[size];
+        int offset = 0;
+        for (int pos = 0; pos < size; pos++) {
+            if (nameLengths[pos] != NO_NAME) {
+                names[pos] = new String(nameBytes, offset, nameLengths[pos], StandardCharsets.UTF_8);
+                offset += nameLengths[pos];
+            }
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Sobran " + buffer.remaining() + " bytes al final");
+        }
+        DirectorySnapshot snapshot = DirectorySnapshot.fromColumns(ids, names, phones, birthDays, genreIds, versions,
+                nameHashes, genres);
+        return new Contents(snapshot, changeMark, writtenAt);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Lee una columna completa de una vez (copia en bloque desde el mapeo).
+     */
+    private static int[] readInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * 4);
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NO_NAME);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NO_NAME) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lo que se cargó del archivo.
+     */
+    static final class Contents {
+        final DirectorySnapshot snapshot;
+        final long changeMark; // Marca de cambios de la BD incluida en la copia
+        final long writtenAt;  // Cuándo se escribió (milisegundos desde 1970)
+
+        Contents(DirectorySnapshot snapshot, long changeMark, long writtenAt) {
+            this.snapshot = snapshot;
+            this.changeMark = changeMark;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
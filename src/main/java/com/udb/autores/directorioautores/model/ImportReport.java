@@ -0,0 +1,71 @@
+package com.udb.autores.directorioautores.model;
+
+/**
+ * Resultado de una importación masiva de autores.
+ * El detalle de cada fila rechazada se escribe aparte (ver AuthorImporter),
+ * así que este objeto ocupa lo mismo sin importar el tamaño del archivo.
+ */
+public class ImportReport {
+
+    private long rowsRead;     // Filas de datos leídas (sin contar el encabezado)
+    private long inserted;     // Filas guardadas y confirmadas (commit)
+    private long rejected;     // Filas que no pasaron la validación
+    private long elapsedNanos; // Duración total
+    private String error;      // Error de BD que detuvo la importación (o null)
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void rowRejected() {
+        rejected++;
+    }
+
+    void rowsCommitted(long count) {
+        inserted += count;
+    }
+
+    void finish(long elapsedNanos, String error) {
+        this.elapsedNanos = elapsedNanos;
+        this.error = error;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    /**
+     * Velocidad de la importación (filas leídas por segundo).
+     */
+    public double getRowsPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds == 0 ? 0 : rowsRead / seconds;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("filas leídas=%d, insertadas=%d, rechazadas=%d, tiempo=%.2f s, filas/s=%.0f%s",
+                rowsRead, inserted, rejected, getElapsedSeconds(), getRowsPerSecond(),
+                error != null ? ", error=" + error : "");
+    }
+}
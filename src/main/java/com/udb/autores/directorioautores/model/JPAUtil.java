@@ -1,36 +1,408 @@
 package com.udb.autores.directorioautores.model;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
 
 /**
  * Clase de utilidad para manejar la creación del EntityManagerFactory
  * y proveer EntityManagers para la aplicación.
  * Sigue el patrón Singleton para la fábrica.
+ * Las conexiones salen de un pool (HikariCP) configurado en 'autores.properties'.
+ *
+ * Opcionalmente hay réplicas de lectura ('db.replicas'): cada una con su propio
+ * pool y su propia fábrica. Las escrituras y las lecturas que no toleran atraso
+ * usan getEntityManager() (el primario); las demás lecturas, getReadEntityManager().
  */
 public class JPAUtil {
 
+    private static final Logger LOG = Logger.getLogger(JPAUtil.class.getName());
+
     // El nombre "AuthorsPU" DEBE COINCIDIR con el 'persistence-unit name'
     // que definimos en persistence.xml
     private static final String PERSISTENCE_UNIT_NAME = "AuthorsPU";
 
+    // Nombres con los que se publican las métricas por JMX
+    private static final String POOL_METRICS_MBEAN = "com.udb.autores:type=PoolMetrics";
+    private static final String CACHE_METRICS_MBEAN = "com.udb.autores:type=CacheMetrics";
+
     // El EntityManagerFactory es "costoso" de crear.
     // Lo creamos UNA SOLA VEZ para toda la aplicación.
-    private static EntityManagerFactory factory;
+    // 'volatile' para que todos los hilos vean la fábrica ya construida.
+    private static volatile EntityManagerFactory factory;
+    private static HikariDataSource dataSource;
+    private static final PoolMetrics POOL_METRICS = new PoolMetrics();
+    private static final CacheMetrics CACHE_METRICS = new CacheMetrics();
+
+    // Réplicas de lectura (vacía si no se configuró ninguna)
+    private static volatile List<Replica> replicas = Collections.emptyList();
+    private static final boolean LEAST_LOADED = "leastLoaded".equalsIgnoreCase(
+            AppConfig.getString("db.replicaSelection", "roundRobin"));
+    private static final AtomicInteger NEXT_REPLICA = new AtomicInteger();
+    private static final LongAdder PRIMARY_READS = new LongAdder();
+
+    /**
+     * Una réplica de lectura: su pool, su fábrica y cuántas lecturas ha atendido.
+     */
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final EntityManagerFactory factory;
+        private final LongAdder reads = new LongAdder();
+
+        private Replica(String name, HikariDataSource dataSource, EntityManagerFactory factory) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.factory = factory;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getReadCount() {
+            return reads.sum();
+        }
+
+        public int getActiveConnections() {
+            return dataSource.getHikariPoolMXBean().getActiveConnections();
+        }
+
+        /**
+         * Conexiones en uso más hilos esperando una: la "carga" de la réplica.
+         */
+        private int getLoad() {
+            return dataSource.getHikariPoolMXBean().getActiveConnections()
+                    + dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection();
+        }
+    }
+
+    /**
+     * Crea el pool y la fábrica ya, en lugar de esperar a la primera petición.
+     * Lo llama AppLifecycleListener al arrancar; cada fase queda en el log con su duración.
+     * @throws RuntimeException Si no se pudo conectar o el esquema no coincide con las entidades.
+     */
+    public static void init() {
+        initFactory();
+    }
 
     /**
      * Inicializa el EntityManagerFactory.
+     * Es seguro llamarlo desde varios hilos: solo el primero construye la fábrica.
+     * Hibernate valida el esquema (hbm2ddl.auto=validate, ver persistence.xml) y
+     * compila las consultas con nombre de Author y LiteraryGenre: si algo no coincide,
+     * falla aquí y no en la primera petición que lo use.
      */
     private static void initFactory() {
+        if (factory != null) {
+            return; // Camino rápido: ya está inicializada
+        }
+        synchronized (JPAUtil.class) {
+            if (factory != null) {
+                return;
+            }
+            EntityManagerFactory created = null;
+            try {
+                long start = System.nanoTime();
+                dataSource = createDataSource("AuthorsPool", "db.", true);
+                registerMBean(POOL_METRICS_MBEAN, POOL_METRICS);
+                registerMBean(CACHE_METRICS_MBEAN, CACHE_METRICS);
+                start = logPhase("pool de conexiones", start);
+
+                Map<String, Object> properties = new HashMap<>();
+                // Hibernate usa nuestro pool en lugar de su pool interno de pruebas
+                properties.put("hibernate.connection.datasource", dataSource);
+                // Permite cambiar dialecto, show_sql, etc. sin tocar persistence.xml
+                properties.putAll(AppConfig.getWithPrefix("jpa."));
+
+                created = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME, properties);
+                start = logPhase("Hibernate (mapeo, esquema y consultas con nombre)", start);
+                alignAuthorIdSequence();
+                migratePhoneNumbers();
+                start = logPhase("secuencia de IDs y migraciones", start);
+                replicas = createReplicas();
+                logPhase("réplicas de lectura (" + replicas.size() + ")", start);
+                // Se publica al final: los demás hilos no usan una fábrica a medio preparar
+                factory = created;
+            } catch (Exception e) {
+                // Error grave: la aplicación no puede conectarse a la BD
+                e.printStackTrace();
+                if (created != null) {
+                    created.close();
+                }
+                if (dataSource != null) {
+                    dataSource.close();
+                    dataSource = null;
+                }
+                throw new RuntimeException("Error al inicializar el EntityManagerFactory", e);
+            }
+        }
+    }
+
+    /**
+     * Crea el pool de conexiones con los valores de 'autores.properties'.
+     * @param poolName Nombre del pool (aparece en el log y en JMX).
+     * @param prefix "db." para el primario o "db.replica.<nombre>." para una réplica;
+     *               lo que la réplica no defina se toma de "db.".
+     * @param withMetrics true si el pool alimenta PoolMetrics (solo el primario).
+     */
+    private static HikariDataSource createDataSource(String poolName, String prefix, boolean withMetrics) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(AppConfig.getString(prefix + "url", null));
+        config.setUsername(dbString(prefix, "user"));
+        config.setPassword(dbString(prefix, "password"));
+        String driver = dbString(prefix, "driver");
+        if (driver != null) {
+            config.setDriverClassName(driver);
+        }
+
+        // Tamaño del pool: mínimo de conexiones libres y máximo total
+        config.setMinimumIdle(dbInt(prefix, "pool.minIdle", 5));
+        config.setMaximumPoolSize(dbInt(prefix, "pool.maxSize", 10));
+        // Cuánto espera un hilo por una conexión antes de fallar (timeout)
+        config.setConnectionTimeout(dbLong(prefix, "pool.connectionTimeoutMs", 5000));
+        // Validación: Hikari usa Connection.isValid() salvo que se defina una consulta
+        config.setValidationTimeout(dbLong(prefix, "pool.validationTimeoutMs", 2000));
+        String testQuery = dbString(prefix, "pool.testQuery");
+        if (testQuery != null && !testQuery.isEmpty()) {
+            config.setConnectionTestQuery(testQuery);
+        }
+        config.setIdleTimeout(dbLong(prefix, "pool.idleTimeoutMs", 600000));
+        config.setMaxLifetime(dbLong(prefix, "pool.maxLifetimeMs", 1800000));
+        // Detección de fugas: avisa en el log si una conexión no se devuelve a tiempo
+        config.setLeakDetectionThreshold(dbLong(prefix, "pool.leakDetectionMs", 10000));
+
+        // Propiedades del driver (ej: caché de sentencias preparadas de MySQL)
+        Map<String, String> driverProperties = new HashMap<>(AppConfig.getWithPrefix("db.property."));
+        driverProperties.putAll(AppConfig.getWithPrefix(prefix + "property."));
+        for (Map.Entry<String, String> entry : driverProperties.entrySet()) {
+            config.addDataSourceProperty(entry.getKey(), entry.getValue());
+        }
+
+        config.setRegisterMbeans(true); // Estado del pool también por JMX (Hikari)
+        if (withMetrics) {
+            config.setMetricsTrackerFactory(POOL_METRICS);
+        }
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Crea un pool y una fábrica por cada réplica de 'db.replicas'.
+     * Las fábricas de réplica no tienen caché de segundo nivel (la del primario ya
+     * se invalida con cada escritura) ni tocan el esquema (hbm2ddl): son de solo lectura.
+     * Una réplica que no arranca se omite con un aviso; sus lecturas van al primario.
+     */
+    private static List<Replica> createReplicas() {
+        String names = AppConfig.getString("db.replicas", "");
+        List<Replica> created = new ArrayList<>();
+        for (String rawName : names.split(",")) {
+            String name = rawName.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String prefix = "db.replica." + name + ".";
+            HikariDataSource replicaSource = null;
+            try {
+                replicaSource = createDataSource("AuthorsPool-" + name, prefix, false);
+
+                Map<String, Object> properties = new HashMap<>();
+                properties.put("hibernate.connection.datasource", replicaSource);
+                properties.putAll(AppConfig.getWithPrefix("jpa."));
+                properties.put("hibernate.hbm2ddl.auto", "none");
+                properties.put("hibernate.cache.use_second_level_cache", "false");
+                properties.put("hibernate.cache.use_query_cache", "false");
+                properties.put("hibernate.generate_statistics", "false");
+                properties.putAll(AppConfig.getWithPrefix(prefix + "jpa."));
+
+                EntityManagerFactory replicaFactory =
+                        Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME, properties);
+                created.add(new Replica(name, replicaSource, replicaFactory));
+                LOG.info("Réplica de lectura '" + name + "' lista");
+            } catch (Exception e) {
+                LOG.warning("No se pudo iniciar la réplica '" + name + "'; sus lecturas irán al primario: " + e);
+                if (replicaSource != null) {
+                    replicaSource.close();
+                }
+            }
+        }
+        return Collections.unmodifiableList(created);
+    }
+
+    /**
+     * Registra cuánto tardó una fase del arranque.
+     * @return El inicio de la fase siguiente.
+     */
+    private static long logPhase(String phase, long start) {
+        long now = System.nanoTime();
+        LOG.info(String.format("Arranque: %s en %d ms", phase, (now - start) / 1_000_000));
+        return now;
+    }
+
+    private static String dbString(String prefix, String key) {
+        return AppConfig.getString(prefix + key, AppConfig.getString("db." + key, null));
+    }
+
+    private static int dbInt(String prefix, String key, int defaultValue) {
+        return AppConfig.getInt(prefix + key, AppConfig.getInt("db." + key, defaultValue));
+    }
+
+    private static long dbLong(String prefix, String key, long defaultValue) {
+        return AppConfig.getLong(prefix + key, AppConfig.getLong("db." + key, defaultValue));
+    }
+
+    /**
+     * Asegura que 'secuencia_id' entregue IDs mayores a los que ya existen en 'autor'
+     * (ej: autores creados cuando la tabla usaba AUTO_INCREMENT).
+     * Solo sube el valor, nunca lo baja, así que es seguro con varios servidores.
+     */
+    private static void alignAuthorIdSequence() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            long minimum;
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id_autor), 0) FROM autor")) {
+                rs.next();
+                // Con el optimizador "pooled" el primer bloque empieza en valor - 49
+                minimum = rs.getLong(1) + Author.ID_ALLOCATION_SIZE + 1;
+            }
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE secuencia_id SET siguiente_valor = ? WHERE entidad = 'autor' AND siguiente_valor < ?")) {
+                update.setLong(1, minimum);
+                update.setLong(2, minimum);
+                if (update.executeUpdate() > 0) {
+                    LOG.info("secuencia_id ajustada para 'autor': " + minimum);
+                    return;
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO secuencia_id (entidad, siguiente_valor) "
+                            + "SELECT 'autor', ? FROM secuencia_id WHERE entidad = 'autor' HAVING COUNT(*) = 0")) {
+                insert.setLong(1, minimum);
+                insert.executeUpdate();
+            } catch (SQLException e) {
+                // Otro servidor creó la fila al mismo tiempo: ya no hace falta
+                LOG.fine("secuencia_id ya inicializada por otro servidor: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Copia a 'telefono_num' los teléfonos de la columna anterior 'telefono' (VARCHAR)
+     * en las filas que aún no lo tienen. Solo hace algo en BDs creadas antes de
+     * guardar el teléfono como número; es seguro repetirlo y con varios servidores.
+     * Los teléfonos viejos sin un formato reconocible se dejan vacíos (se avisa en el log).
+     */
+    private static void migratePhoneNumbers() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (ResultSet columns = connection.getMetaData().getColumns(null, null, "autor", "telefono")) {
+                if (!columns.next()) {
+                    return; // BD nueva: no hay columna anterior
+                }
+            }
+            connection.setAutoCommit(false);
+            int migrated = 0;
+            int skipped = 0;
+            try (Statement select = connection.createStatement();
+                 PreparedStatement update = connection.prepareStatement(
+                         "UPDATE autor SET telefono_num = ? WHERE id_autor = ? AND telefono_num IS NULL")) {
+                select.setFetchSize(1000);
+                try (ResultSet rs = select.executeQuery(
+                        "SELECT id_autor, telefono FROM autor WHERE telefono_num IS NULL AND telefono IS NOT NULL")) {
+                    while (rs.next()) {
+                        int number = legacyPhoneNumber(rs.getString(2));
+                        if (number < 0) {
+                            skipped++;
+                            continue;
+                        }
+                        update.setInt(1, number);
+                        update.setInt(2, rs.getInt(1));
+                        update.addBatch();
+                        if (++migrated % 1000 == 0) {
+                            update.executeBatch();
+                        }
+                    }
+                }
+                update.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+            if (migrated > 0 || skipped > 0) {
+                LOG.info("Teléfonos copiados a 'telefono_num': " + migrated + ", sin formato reconocible: " + skipped);
+            }
+        }
+    }
+
+    /**
+     * Acepta los teléfonos viejos con o sin guion/espacios (ej: "7123 4567").
+     * @return El número, o -1 si no son 8 dígitos que empiezan con 2, 3, 6 o 7.
+     */
+    private static int legacyPhoneNumber(String phone) {
+        StringBuilder digits = new StringBuilder(9);
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c != '-' && c != ' ') {
+                return -1;
+            }
+        }
+        if (digits.length() != 8) {
+            return -1;
+        }
+        digits.insert(4, '-');
+        return PhoneNumbers.toNumber(digits);
+    }
+
+    /**
+     * Publica un objeto de métricas por JMX
+     * (ej: tiempo de espera y timeouts del pool, que Hikari no publica).
+     */
+    private static void registerMBean(String objectName, Object mbean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+            }
+        } catch (Exception e) {
+            // Las métricas son opcionales: la aplicación sigue funcionando
+            LOG.warning("No se pudieron registrar las métricas " + objectName + " por JMX: " + e);
+        }
+    }
+
+    private static void unregisterMBean(String objectName) {
         try {
-            if (factory == null) {
-                factory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
             }
         } catch (Exception e) {
-            // Error grave: la aplicación no puede conectarse a la BD
             e.printStackTrace();
-            throw new RuntimeException("Error al inicializar el EntityManagerFactory", e);
         }
     }
 
@@ -46,13 +418,95 @@ public class JPAUtil {
         return factory.createEntityManager();
     }
 
+    /**
+     * EntityManager para lecturas que toleran unos segundos de atraso
+     * (listados, búsquedas, la API). Va a una réplica, salvo que:
+     * - No haya réplicas configuradas (o ninguna arrancó).
+     * - La petición actual escribió hace poco (ver ReadYourWrites).
+     * El EntityManager es de solo lectura: las entidades no se revisan al cerrar.
+     * @return Un nuevo EntityManager; NO usarlo para escribir.
+     */
+    public static EntityManager getReadEntityManager() {
+        initFactory();
+        List<Replica> current = replicas;
+        if (current.isEmpty() || ReadYourWrites.isPinned()) {
+            PRIMARY_READS.increment();
+            return factory.createEntityManager();
+        }
+        Replica replica = LEAST_LOADED ? leastLoaded(current)
+                : current.get(Math.floorMod(NEXT_REPLICA.getAndIncrement(), current.size()));
+        replica.reads.increment();
+        EntityManager em = replica.factory.createEntityManager();
+        em.unwrap(Session.class).setDefaultReadOnly(true);
+        return em;
+    }
+
+    /**
+     * La réplica con menos conexiones en uso (y menos hilos esperando).
+     */
+    private static Replica leastLoaded(List<Replica> current) {
+        Replica best = current.get(0);
+        int bestLoad = best.getLoad();
+        for (int i = 1; i < current.size(); i++) {
+            int load = current.get(i).getLoad();
+            if (load < bestLoad) {
+                best = current.get(i);
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return Las réplicas de lectura activas (vacía si no hay).
+     */
+    public static List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * @return Lecturas de getReadEntityManager() que se atendieron en el primario.
+     */
+    public static long getPrimaryReadCount() {
+        return PRIMARY_READS.sum();
+    }
+
+    /**
+     * Métricas del pool de conexiones (activas, libres, espera, timeouts).
+     * @return Las métricas (en cero si el pool aún no se ha creado).
+     */
+    public static PoolMetrics getPoolMetrics() {
+        return POOL_METRICS;
+    }
+
+    /**
+     * Estadísticas de Hibernate (consultas, entidades cargadas, aciertos de caché).
+     * @return Las estadísticas, o null si la fábrica aún no se ha creado.
+     */
+    public static Statistics getStatistics() {
+        EntityManagerFactory current = factory;
+        return current != null ? current.unwrap(SessionFactory.class).getStatistics() : null;
+    }
+
     /**
      * Cierra el factory cuando la aplicación se detiene (opcional).
      * (Se puede llamar desde un ServletContextListener al apagar el servidor).
      */
-    public static void shutdown() {
+    public static synchronized void shutdown() {
+        for (Replica replica : replicas) {
+            replica.factory.close();
+            replica.dataSource.close();
+        }
+        replicas = Collections.emptyList();
         if (factory != null) {
             factory.close();
+            factory = null;
+        }
+        if (dataSource != null) {
+            dataSource.close(); // Cierra todas las conexiones del pool
+            dataSource = null;
         }
+        unregisterMBean(POOL_METRICS_MBEAN);
+        unregisterMBean(CACHE_METRICS_MBEAN);
     }
-}
\ No newline at end of file
+}
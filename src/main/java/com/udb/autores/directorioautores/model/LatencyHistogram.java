@@ -0,0 +1,172 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias de una operación (ej: "AuthorModel.findAuthorByName").
+ * Pensado para dejarse activo en producción:
+ * - Registrar cuesta un System.nanoTime() y un incremento atómico (sin locks ni objetos).
+ * - Memoria fija: 312 contadores por operación, sin importar cuántas llamadas haya.
+ *
+ * Los valores se agrupan en microsegundos: exactos hasta 16 µs y, de ahí en adelante,
+ * 8 intervalos por cada potencia de 2 (error de a lo más 12.5% en p50/p99).
+ * Los valores son acumulados desde el arranque; para percentiles por ventana de
+ * tiempo se usan los intervalos exportados en /metrics (ver MetricsServlet).
+ *
+ * Uso:
+ *   long start = System.nanoTime();
+ *   try { ... } catch (Exception e) { TIMER.error(); ... } finally { TIMER.record(start); }
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 16;  // 0..15 µs, uno por microsegundo
+    private static final int SUB_BUCKETS = 8;      // Intervalos por potencia de 2
+    private static final int MAX_EXPONENT = 40;    // 2^40 µs ≈ 12 días: el resto va al último
+    private static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - 3) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+    private final LongAdder errors = new LongAdder();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Registra una llamada que empezó en 'startNanos' (valor de System.nanoTime()).
+     */
+    public void record(long startNanos) {
+        recordMicros((System.nanoTime() - startNanos) / 1000);
+    }
+
+    /**
+     * Registra una llamada que terminó con error (además de su duración con record()).
+     */
+    public void error() {
+        errors.increment();
+    }
+
+    void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketOf(value));
+        totalMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    // --- LECTURA (para MetricsServlet) ---
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public double getTotalSeconds() {
+        return totalMicros.sum() / 1_000_000.0;
+    }
+
+    public double getMaxSeconds() {
+        return maxMicros.get() / 1_000_000.0;
+    }
+
+    /**
+     * @param quantile Entre 0 y 1 (ej: 0.99 para p99).
+     * @return El límite superior del intervalo donde cae el percentil, en segundos (0 si no hay datos).
+     */
+    public double getQuantileSeconds(double quantile) {
+        long[] snapshot = snapshot();
+        long count = 0;
+        for (long c : snapshot) {
+            count += c;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                // Nunca más que el máximo real observado
+                return Math.min(upperBoundMicros(i), maxMicros.get()) / 1_000_000.0;
+            }
+        }
+        return getMaxSeconds();
+    }
+
+    /**
+     * Llamadas acumuladas por límite de duración (los intervalos "le" de Prometheus).
+     * Todo sale de una misma lectura, así que los valores son coherentes entre sí.
+     * @param limitsSeconds Límites en segundos, de menor a mayor.
+     * @return Para cada límite, las llamadas que duraron a lo más eso; el último valor es el total.
+     */
+    public long[] getCumulativeCounts(double[] limitsSeconds) {
+        long[] snapshot = snapshot();
+        long[] result = new long[limitsSeconds.length + 1];
+        long seen = 0;
+        int limit = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            // Un intervalo cuenta para un límite si termina antes de él
+            while (limit < limitsSeconds.length && upperBoundMicros(i) > limitsSeconds[limit] * 1_000_000) {
+                result[limit++] = seen;
+            }
+            seen += snapshot[i];
+        }
+        while (limit < limitsSeconds.length) {
+            result[limit++] = seen;
+        }
+        result[limitsSeconds.length] = seen;
+        return result;
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private long[] snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 0..15 -> su propio intervalo; desde 16, (potencia de 2, octavo dentro de ella).
+     */
+    static int bucketOf(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros); // >= 4
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Límite superior (exclusivo) del intervalo, en microsegundos.
+     */
+    static long upperBoundMicros(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket + 1;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub + 1) << (exponent - 3);
+    }
+}
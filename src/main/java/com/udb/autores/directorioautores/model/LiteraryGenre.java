@@ -1,9 +1,15 @@
 package com.udb.autores.directorioautores.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
 import javax.persistence.Column;
 import java.io.Serializable;
@@ -11,10 +17,18 @@ import java.io.Serializable;
 
 @Entity
 @Table(name = "genero")
+@Cacheable // Los géneros casi nunca cambian: se guardan en la caché de segundo nivel
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Compilada al arrancar; el resultado va a la caché de consultas de Hibernate
+// y se invalida solo cuando cambia la tabla 'genero'
+@NamedQuery(name = LiteraryGenre.FIND_ALL, query = "SELECT g FROM LiteraryGenre g",
+        hints = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
 public class LiteraryGenre implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    static final String FIND_ALL = "LiteraryGenre.findAll";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_genero")
@@ -12,29 +12,33 @@ import java.util.List;
  */
 public class LiteraryGenreModel {
 
+    // Latencia y errores de cada operación (se publican en /metrics)
+    private static final LatencyHistogram GET_ALL_TIMER = Metrics.histogram("LiteraryGenreModel.getAllGenres");
+    private static final LatencyHistogram BY_ID_TIMER = Metrics.histogram("LiteraryGenreModel.findGenreById");
+
     /**
      * Obtiene todos los géneros literarios de la base de datos.
      * @return Una lista de objetos LiteraryGenre.
      */
     public List<LiteraryGenre> getAllGenres() {
+        long start = System.nanoTime();
         // Obtenemos el EntityManager (nuestro manejador de BD)
         // Nota: Necesitarás una clase de utilidad (ej: JPAUtil) para esto.
-        EntityManager em = JPAUtil.getEntityManager();
+        // Lectura: va a una réplica si hay (en el primario responde la caché de consultas)
+        EntityManager em = JPAUtil.getReadEntityManager();
 
         try {
-            // Creamos una consulta (Query) usando JPQL (similar a SQL)
-            // "SELECT g FROM LiteraryGenre g" significa:
-            // "Selecciona todo 'g' donde 'g' es una entidad LiteraryGenre"
-            TypedQuery<LiteraryGenre> query = em.createQuery(
-                    "SELECT g FROM LiteraryGenre g",
-                    LiteraryGenre.class
-            );
+            // Consulta con nombre (ver LiteraryGenre): "SELECT g FROM LiteraryGenre g"
+            // significa "Selecciona todo 'g' donde 'g' es una entidad LiteraryGenre".
+            // Ya viene compilada y marcada para la caché de consultas de Hibernate.
+            TypedQuery<LiteraryGenre> query = em.createNamedQuery(LiteraryGenre.FIND_ALL, LiteraryGenre.class);
 
             // Ejecutamos la consulta y devolvemos la lista de resultados
             return query.getResultList();
 
         } catch (Exception e) {
             // Manejo de errores (en un proyecto real, usa un logger)
+            GET_ALL_TIMER.error();
             e.printStackTrace();
             return null;
         } finally {
@@ -42,6 +46,7 @@ public class LiteraryGenreModel {
             if (em != null) {
                 em.close();
             }
+            GET_ALL_TIMER.record(start);
         }
     }
 
@@ -52,17 +57,21 @@ public class LiteraryGenreModel {
      * @return El objeto LiteraryGenre encontrado, o null si no existe.
      */
     public LiteraryGenre findGenreById(int id) {
-        EntityManager em = JPAUtil.getEntityManager();
+        long start = System.nanoTime();
+        EntityManager em = JPAUtil.getReadEntityManager();
         try {
             // em.find() es la forma más rápida de buscar por llave primaria
+            // y además revisa primero la caché de segundo nivel
             return em.find(LiteraryGenre.class, id);
         } catch (Exception e) {
+            BY_ID_TIMER.error();
             e.printStackTrace();
             return null;
         } finally {
             if (em != null) {
                 em.close();
             }
+            BY_ID_TIMER.record(start);
         }
     }
 }
\ No newline at end of file
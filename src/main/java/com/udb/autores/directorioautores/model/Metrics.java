@@ -0,0 +1,33 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de los histogramas de latencia de la aplicación, uno por operación.
+ * Cada clase guarda el suyo en un campo 'static final', así que buscar en el
+ * mapa ocurre una sola vez por operación, no en cada llamada.
+ */
+public final class Metrics {
+
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * @param operation Nombre de la operación (ej: "AuthorModel.saveAuthor").
+     * @return El histograma de esa operación (se crea la primera vez).
+     */
+    public static LatencyHistogram histogram(String operation) {
+        return HISTOGRAMS.computeIfAbsent(operation, LatencyHistogram::new);
+    }
+
+    /**
+     * @return Todos los histogramas, ordenados por nombre de operación.
+     */
+    public static Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(HISTOGRAMS);
+    }
+}
@@ -0,0 +1,199 @@
+package com.udb.autores.directorioautores.model;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Ejecutor de las llamadas asíncronas al modelo (ver AsyncAuthorModel).
+ * - Con Java 21 o superior usa hilos virtuales (un hilo barato por llamada).
+ * - En versiones anteriores usa un pool de hilos de tamaño fijo.
+ * En los dos casos está ACOTADO: a lo más 'async.maxConcurrency' llamadas a la vez
+ * (no tiene sentido más que conexiones en el pool) y 'async.queueSize' en espera;
+ * más allá de eso se rechaza la llamada en lugar de acumular trabajo sin límite.
+ * Cada lectura tiene un tiempo máximo (timeout) tras el cual su future falla
+ * con TimeoutException (la consulta en curso no se interrumpe). Las escrituras
+ * no tienen timeout por defecto (ver supplyWrite).
+ */
+public final class ModelExecutor {
+
+    private static final Logger LOG = Logger.getLogger(ModelExecutor.class.getName());
+
+    private static final ModelExecutor INSTANCE = new ModelExecutor();
+
+    private final int maxConcurrency = AppConfig.getInt("async.maxConcurrency", AppConfig.getInt("db.pool.maxSize", 10));
+    private final int queueSize = AppConfig.getInt("async.queueSize", 1000);
+    private final long defaultTimeoutMs = AppConfig.getLong("async.timeoutMs", 5000);
+    private final long writeTimeoutMs = AppConfig.getLong("async.writeTimeoutMs", 0);
+
+    private final ExecutorService executor;
+    private final Semaphore permits;          // Solo con hilos virtuales: limita las llamadas a la vez
+    private final ScheduledExecutorService timeouts;
+
+    private final AtomicInteger pending = new AtomicInteger(); // En ejecución + en espera
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    private ModelExecutor() {
+        ExecutorService virtual = AppConfig.getBoolean("async.virtualThreads", true) ? newVirtualThreadExecutor() : null;
+        if (virtual != null) {
+            executor = virtual;
+            permits = new Semaphore(maxConcurrency);
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize), runnable -> {
+                        Thread thread = new Thread(runnable, "autores-modelo-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+            permits = null;
+        }
+        timeouts = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autores-modelo-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOG.info(String.format("Ejecutor del modelo: %s, %d llamadas a la vez, timeout %d ms (escrituras: %d ms)",
+                virtual != null ? "hilos virtuales" : "pool de hilos", maxConcurrency, defaultTimeoutMs, writeTimeoutMs));
+    }
+
+    public static ModelExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Ejecuta 'call' en segundo plano con el timeout por defecto (async.timeoutMs).
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return supply(call, defaultTimeoutMs);
+    }
+
+    /**
+     * Ejecuta una escritura en segundo plano con async.writeTimeoutMs (0 = sin timeout).
+     * El timeout NO cancela la transacción: si el future falla con TimeoutException,
+     * no se sabe si la escritura se confirmó. Reintentarla puede duplicar un autor o
+     * dar un conflicto de versión; hay que volver a leer antes de reintentar.
+     */
+    public <T> CompletableFuture<T> supplyWrite(Supplier<T> call) {
+        return supply(call, writeTimeoutMs);
+    }
+
+    /**
+     * Ejecuta 'call' en segundo plano.
+     * @param call La llamada al modelo.
+     * @param timeoutMs Tiempo máximo (0 = sin límite); después el future falla con
+     *                  TimeoutException, aunque la llamada siga corriendo.
+     * @return Un future que se completa con el resultado de la llamada.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> call, long timeoutMs) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (pending.incrementAndGet() > maxConcurrency + queueSize) {
+            pending.decrementAndGet();
+            rejected.increment();
+            future.completeExceptionally(new RejectedExecutionException("Demasiadas llamadas pendientes al modelo"));
+            return future;
+        }
+        try {
+            // La llamada lee del mismo lugar (primario o réplica) que la petición que la pidió
+            Supplier<T> task = ReadYourWrites.propagate(call);
+            executor.execute(() -> run(task, future));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            rejected.increment();
+            future.completeExceptionally(e);
+            return future;
+        }
+        if (timeoutMs <= 0) {
+            return future;
+        }
+
+        ScheduledFuture<?> timeout = timeouts.schedule(() -> {
+            if (future.completeExceptionally(new TimeoutException("La llamada al modelo tardó más de " + timeoutMs + " ms"))) {
+                timedOut.increment();
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> timeout.cancel(false));
+        return future;
+    }
+
+    /**
+     * Detiene los hilos (al apagar la aplicación).
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        timeouts.shutdownNow();
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timedOut.sum();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private <T> void run(Supplier<T> call, CompletableFuture<T> future) {
+        boolean acquired = false;
+        try {
+            if (permits != null) {
+                permits.acquire();
+                acquired = true;
+            }
+            if (!future.isDone()) { // Si ya venció el timeout, no vale la pena consultar
+                future.complete(call.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() existe desde Java 21; el proyecto
+     * compila para Java 8, así que se busca por reflexión.
+     * @return El ejecutor, o null si la JVM no tiene hilos virtuales.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
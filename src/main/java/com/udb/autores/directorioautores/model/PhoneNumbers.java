@@ -0,0 +1,93 @@
+package com.udb.autores.directorioautores.model;
+
+/**
+ * Teléfonos de El Salvador con formato 7XXX-XXXX (inicia con 2, 3, 6 o 7).
+ * En la BD se guardan como un número de 8 dígitos ('telefono_num', ej: 71234567):
+ * 4 bytes en lugar de una cadena, y buscar por teléfono es una búsqueda exacta
+ * en el índice idx_autor_telefono. Se muestran siempre como 7123-4567.
+ *
+ * Validar y convertir revisa los caracteres uno por uno: sin expresiones
+ * regulares ni objetos intermedios (se usa en cada fila de una importación).
+ */
+public final class PhoneNumbers {
+
+    private static final int LENGTH = 9;  // "7123-4567"
+    private static final int DASH = 4;    // Posición del guion
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * @param phone El teléfono a revisar (no se recortan espacios).
+     * @return true si cumple el formato 7XXX-XXXX.
+     */
+    public static boolean isValid(CharSequence phone) {
+        return toNumber(phone) >= 0;
+    }
+
+    /**
+     * Convierte "7123-4567" en 71234567.
+     * @param phone El teléfono con formato.
+     * @return El número, o -1 si el formato no es válido.
+     */
+    public static int toNumber(CharSequence phone) {
+        if (phone == null || phone.length() != LENGTH) {
+            return -1;
+        }
+        char first = phone.charAt(0);
+        if (first != '2' && first != '3' && first != '6' && first != '7') {
+            return -1;
+        }
+        int number = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = phone.charAt(i);
+            if (i == DASH) {
+                if (c != '-') {
+                    return -1;
+                }
+            } else if (c >= '0' && c <= '9') {
+                number = number * 10 + (c - '0');
+            } else {
+                return -1;
+            }
+        }
+        return number;
+    }
+
+    /**
+     * Convierte 71234567 en "7123-4567".
+     * @param number El número guardado en la BD (o null).
+     * @return El teléfono con formato, o null si no hay número.
+     */
+    public static String format(Integer number) {
+        if (number == null) {
+            return null;
+        }
+        char[] chars = new char[LENGTH];
+        int value = number;
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            if (i == DASH) {
+                chars[i] = '-';
+            } else {
+                chars[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return true si 'value' es null, vacío o solo espacios (sin crear un String recortado).
+     */
+    public static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
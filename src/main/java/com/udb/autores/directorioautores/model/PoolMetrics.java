@@ -0,0 +1,130 @@
+package com.udb.autores.directorioautores.model;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas del pool de conexiones (HikariCP).
+ * Hikari nos avisa cada vez que alguien obtiene una conexión, cuánto tuvo que
+ * esperar, cuánto la usó y si se agotó el tiempo de espera (timeout).
+ * Con estos números podemos dimensionar el pool con datos reales.
+ * Los contadores son LongAdder: baratos aunque muchos hilos escriban a la vez.
+ */
+public class PoolMetrics implements MetricsTrackerFactory, PoolMetricsMBean {
+
+    private volatile PoolStats poolStats; // Lo entrega Hikari al crear el pool
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder usageCount = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionsCreated.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireCount.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageCount.increment();
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    // --- ESTADO ACTUAL DEL POOL ---
+
+    @Override
+    public int getActiveConnections() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getActiveConnections() : 0;
+    }
+
+    @Override
+    public int getIdleConnections() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getIdleConnections() : 0;
+    }
+
+    @Override
+    public int getTotalConnections() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getTotalConnections() : 0;
+    }
+
+    @Override
+    public int getPendingThreads() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getPendingThreads() : 0;
+    }
+
+    @Override
+    public int getMaxConnections() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getMaxConnections() : 0;
+    }
+
+    // --- ACUMULADOS DESDE EL ARRANQUE ---
+
+    @Override
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    @Override
+    public double getAverageWaitMillis() {
+        long count = acquireCount.sum();
+        return count == 0 ? 0 : acquireNanos.sum() / (count * 1_000_000.0);
+    }
+
+    @Override
+    public double getMaxWaitMillis() {
+        return maxAcquireNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public double getAverageUsageMillis() {
+        long count = usageCount.sum();
+        return count == 0 ? 0 : (double) usageMillis.sum() / count;
+    }
+
+    @Override
+    public long getConnectionsCreated() {
+        return connectionsCreated.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("activas=%d, libres=%d, esperando=%d, espera promedio=%.2f ms, espera máx=%.2f ms, timeouts=%d",
+                getActiveConnections(), getIdleConnections(), getPendingThreads(),
+                getAverageWaitMillis(), getMaxWaitMillis(), getTimeoutCount());
+    }
+}
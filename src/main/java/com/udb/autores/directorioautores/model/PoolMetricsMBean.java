@@ -0,0 +1,31 @@
+package com.udb.autores.directorioautores.model;
+
+/**
+ * Interfaz JMX de PoolMetrics.
+ * Permite leer las métricas del pool en tiempo de ejecución (ej: con jconsole
+ * o VisualVM) bajo el nombre "com.udb.autores:type=PoolMetrics".
+ */
+public interface PoolMetricsMBean {
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    int getPendingThreads();
+
+    int getMaxConnections();
+
+    long getAcquireCount();
+
+    double getAverageWaitMillis();
+
+    double getMaxWaitMillis();
+
+    long getTimeoutCount();
+
+    double getAverageUsageMillis();
+
+    long getConnectionsCreated();
+}
@@ -0,0 +1,139 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.function.Supplier;
+
+/**
+ * "Leer lo que uno mismo escribió" con réplicas de lectura.
+ * Las réplicas van unos segundos atrás del primario (replicación asíncrona):
+ * si un usuario guarda un autor y la siguiente lectura va a una réplica,
+ * podría no ver su propio cambio. Por eso:
+ * - Las lecturas del MISMO hilo/petición que ya escribió van al primario.
+ * - ReadYourWritesFilter guarda en la sesión la hora de la última escritura y,
+ *   durante 'db.readYourWritesMs', las peticiones de esa sesión leen del primario.
+ * Se entera de las escrituras como un AuthorChangeListener más.
+ *
+ * El estado va en un ThreadLocal; ModelExecutor lo comparte con sus hilos
+ * (ver propagate()) para que las llamadas asíncronas sigan la misma regla.
+ */
+public final class ReadYourWrites implements AuthorChangeListener {
+
+    private static final ReadYourWrites INSTANCE = new ReadYourWrites();
+
+    private static final long WINDOW_MS = AppConfig.getLong("db.readYourWritesMs", 5000);
+
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * Estado de una petición (compartido con sus llamadas asíncronas).
+     */
+    private static final class Context {
+        volatile boolean pinned; // Leer del primario
+        volatile boolean wrote;  // Se confirmó una escritura durante la petición
+    }
+
+    private ReadYourWrites() {
+    }
+
+    public static ReadYourWrites getInstance() {
+        return INSTANCE;
+    }
+
+    public static long getWindowMillis() {
+        return WINDOW_MS;
+    }
+
+    /**
+     * Inicio de una petición.
+     * @param lastWriteMillis Hora de la última escritura de esta sesión (o null).
+     */
+    public static void begin(Long lastWriteMillis) {
+        Context context = new Context();
+        context.pinned = lastWriteMillis != null && System.currentTimeMillis() - lastWriteMillis < WINDOW_MS;
+        CONTEXT.set(context);
+    }
+
+    /**
+     * Fin de una petición.
+     * @return true si la petición escribió (hay que recordar la hora en la sesión).
+     */
+    public static boolean end() {
+        Context context = CONTEXT.get();
+        CONTEXT.remove();
+        return context != null && context.wrote;
+    }
+
+    /**
+     * Manda al primario las lecturas que quedan en esta petición (ej: la API,
+     * cuando los datos cambiaron hace muy poco y la réplica podría no tenerlos).
+     */
+    public static void pinCurrentRequest() {
+        Context context = CONTEXT.get();
+        if (context != null) {
+            context.pinned = true;
+        }
+    }
+
+    /**
+     * @return true si las lecturas de este hilo deben ir al primario.
+     */
+    public static boolean isPinned() {
+        Context context = CONTEXT.get();
+        return context != null && context.pinned;
+    }
+
+    /**
+     * Envuelve una llamada para que corra en otro hilo con el estado de este.
+     */
+    static <T> Supplier<T> propagate(Supplier<T> call) {
+        Context context = CONTEXT.get();
+        if (context == null) {
+            return call;
+        }
+        return () -> {
+            Context previous = CONTEXT.get();
+            CONTEXT.set(context);
+            try {
+                return call.get();
+            } finally {
+                if (previous != null) {
+                    CONTEXT.set(previous);
+                } else {
+                    CONTEXT.remove();
+                }
+            }
+        };
+    }
+
+    // --- CAMBIOS DE AUTORES (AuthorChangeListener) ---
+    // Se llaman en el hilo que escribió, justo después del commit (con AuthorWriteQueue,
+    // en el hilo de escritura: la cola llama a recordWrite() en el de la petición).
+
+    @Override
+    public void authorSaved(Author author) {
+        recordWrite();
+    }
+
+    @Override
+    public void authorUpdated(Author before, Author after) {
+        recordWrite();
+    }
+
+    @Override
+    public void authorDeleted(Author author) {
+        recordWrite();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    /**
+     * Fuera de una petición (ej: tareas programadas) no hay contexto y no hay
+     * nada que recordar: sin réplicas de por medio, la escritura ya es visible.
+     */
+    static void recordWrite() {
+        Context context = CONTEXT.get();
+        if (context != null) {
+            context.wrote = true;
+            context.pinned = true;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.udb.autores.directorioautores.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas iguales que llegan al mismo tiempo ("single flight"): si una
+ * consulta con la misma clave ya está en curso, las demás esperan su resultado en
+ * lugar de abrir su propio EntityManager y repetirla en la BD.
+ * Ej: muchos usuarios eligen el mismo género a la vez, o todas las vistas abiertas
+ * recargan su página justo después de una escritura.
+ * - Solo se comparte lo que está EN CURSO: al terminar, la clave se libera y la
+ *   siguiente llamada consulta de nuevo (guardar resultados es cosa de las cachés).
+ * - Todos reciben el mismo objeto (o la misma excepción): NO modificarlo.
+ * - La clave debe distinguir todo lo que cambia el resultado (ej: la generación de
+ *   AuthorQueryCache), para que nadie reciba datos de antes de su propia escritura.
+ * Cuántas llamadas se ahorraron se publica en /metrics (autores_single_flight_*).
+ */
+public final class SingleFlight<K, V> {
+
+    private static final boolean ENABLED = AppConfig.getBoolean("singleFlight.enabled", true);
+
+    private static final Map<String, SingleFlight<?, ?>> INSTANCES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    private SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param name Nombre para las métricas (ej: "AuthorQueryCache").
+     * @return El grupo con ese nombre (se crea la primera vez).
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> SingleFlight<K, V> named(String name) {
+        return (SingleFlight<K, V>) INSTANCES.computeIfAbsent(name, SingleFlight::new);
+    }
+
+    /**
+     * @return Todos los grupos, ordenados por nombre.
+     */
+    public static Map<String, SingleFlight<?, ?>> getAll() {
+        return new TreeMap<>(INSTANCES);
+    }
+
+    /**
+     * Ejecuta 'loader', o espera el resultado de otra llamada en curso con la misma clave.
+     * @return El resultado de 'loader' (posiblemente el de otra llamada).
+     */
+    public V execute(K key, Supplier<V> loader) {
+        calls.increment();
+        if (!ENABLED) {
+            return loader.get(); // Para comparar (ver CoalescingBenchmark)
+        }
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            collapsed.increment();
+            return await(running);
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // --- ESTADÍSTICAS ---
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    /**
+     * @return Llamadas que esperaron el resultado de otra en lugar de consultar.
+     */
+    public long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    /**
+     * Espera a la llamada en curso; si falló, se relanza la misma excepción.
+     */
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.udb.autores.directorioautores.view;
 
+import com.udb.autores.directorioautores.model.PhoneNumbers;
+
 import javax.faces.application.FacesMessage;
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
 import javax.faces.validator.FacesValidator;
 import javax.faces.validator.Validator;
 import javax.faces.validator.ValidatorException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.BitSet;
+import java.util.List;
 
 /**
  * Validador JSF personalizado para números de teléfono de El Salvador.
@@ -17,13 +19,35 @@ import java.util.regex.Pattern;
 @FacesValidator("svPhoneValidator") // ID único para usarlo en la Vista (XHTML)
 public class SVPhoneValidator implements Validator {
 
-    // Compilamos la expresión regular (Regex) una sola vez para eficiencia.
-    // ^[2367] -> Debe empezar (^) con 2, 3, 6, o 7
-    // \\d{3}  -> Seguido de exactamente 3 dígitos numéricos
-    // -       -> Seguido de un guion
-    // \\d{4}  -> Seguido de exactamente 4 dígitos numéricos
-    // $       -> Debe terminar ($) ahí
-    private static final Pattern PHONE_PATTERN = Pattern.compile("^[2367]\\d{3}-\\d{4}$");
+    // El formato se revisa carácter por carácter (ver PhoneNumbers): sin Regex,
+    // sin Matcher y sin copias del texto en cada envío del formulario.
+
+    /**
+     * Revisa el formato sin depender de JSF (ej: en la importación masiva).
+     * @param phone El teléfono a revisar.
+     * @return true si cumple el formato 7XXX-XXXX.
+     */
+    public static boolean isValidPhone(CharSequence phone) {
+        return PhoneNumbers.isValid(phone);
+    }
+
+    /**
+     * Valida muchos teléfonos de una vez (ej: las filas de un archivo grande),
+     * sin crear objetos por fila.
+     * @param phones Los teléfonos, en el orden de las filas.
+     * @param invalidRows Se marca el índice de cada teléfono inválido (no se limpia antes).
+     * @return El número de teléfonos inválidos.
+     */
+    public static int validatePhones(List<? extends CharSequence> phones, BitSet invalidRows) {
+        int invalid = 0;
+        for (int i = 0, n = phones.size(); i < n; i++) {
+            if (!PhoneNumbers.isValid(phones.get(i))) {
+                invalidRows.set(i);
+                invalid++;
+            }
+        }
+        return invalid;
+    }
 
     @Override
     public void validate(FacesContext context, UIComponent component, Object value) throws ValidatorException {
@@ -33,17 +57,16 @@ public class SVPhoneValidator implements Validator {
             return;
         }
 
-        String phone = value.toString();
+        // El valor ya es un String (inputText sin convertidor): no se copia
+        CharSequence phone = value instanceof CharSequence ? (CharSequence) value : value.toString();
 
         // Si el campo está vacío, no validamos el formato.
-        if (phone.trim().isEmpty()) {
+        if (PhoneNumbers.isBlank(phone)) {
             return;
         }
 
-        Matcher matcher = PHONE_PATTERN.matcher(phone);
-
         // Si el valor NO coincide con el patrón
-        if (!matcher.matches()) {
+        if (!isValidPhone(phone)) {
             // Creamos un mensaje de error para JSF
             FacesMessage msg = new FacesMessage(
                     "Error de formato de teléfono.", // Título corto
@@ -0,0 +1,126 @@
+package com.udb.autores.directorioautores.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DirectorySnapshotFile: lo que se guarda se carga igual, y un archivo incompleto
+ * o dañado se rechaza (DirectoryReadModel carga entonces todo de la BD).
+ */
+class DirectorySnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writeThenLoadRoundTrip() throws IOException {
+        DirectorySnapshotFile file = new DirectorySnapshotFile(dir.resolve("directorio.snap"));
+        DirectorySnapshot snapshot = sampleSnapshot();
+        long before = System.currentTimeMillis();
+
+        file.write(snapshot, 1_700_000_000_123L);
+        DirectorySnapshotFile.Contents contents = file.load();
+
+        DirectorySnapshot loaded = contents.snapshot;
+        assertEquals(1_700_000_000_123L, contents.changeMark);
+        assertTrue(contents.writtenAt >= before);
+        assertEquals(0, snapshot.countDifferences(loaded));
+        assertArrayEquals(snapshot.ids(), loaded.ids());
+        assertArrayEquals(snapshot.names(), loaded.names());
+        assertArrayEquals(snapshot.phones(), loaded.phones());
+        assertArrayEquals(snapshot.birthDays(), loaded.birthDays());
+        assertArrayEquals(snapshot.genreIds(), loaded.genreIds());
+        assertArrayEquals(snapshot.versions(), loaded.versions());
+        assertArrayEquals(snapshot.nameHashes(), loaded.nameHashes());
+        assertEquals(snapshot.genres().keySet(), loaded.genres().keySet());
+        assertEquals("Poesía", loaded.genres().get(2).getName());
+        assertEquals(2, loaded.count(1));
+        assertEquals(3, loaded.findAuthorByName("jose marti").getId());
+        assertFalse(Files.exists(dir.resolve("directorio.snap.tmp")));
+    }
+
+    @Test
+    void emptySnapshotRoundTrip() throws IOException {
+        DirectorySnapshotFile file = new DirectorySnapshotFile(dir.resolve("vacio.snap"));
+
+        file.write(DirectorySnapshot.EMPTY, 0);
+
+        assertEquals(0, file.load().snapshot.size());
+    }
+
+    @Test
+    void loadWithoutFileReturnsNull() throws IOException {
+        assertNull(new DirectorySnapshotFile(dir.resolve("no-existe.snap")).load());
+        assertNull(new DirectorySnapshotFile(null).load());
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path path = dir.resolve("directorio.snap");
+        DirectorySnapshotFile file = new DirectorySnapshotFile(path);
+        file.write(sampleSnapshot(), 1);
+        long size = Files.size(path);
+
+        // Cortado a la mitad (ej: se llenó el disco): el CRC no coincide
+        truncate(path, size / 2);
+        assertThrows(IOException.class, file::load);
+
+        // Más corto que el CRC
+        truncate(path, 4);
+        assertThrows(IOException.class, file::load);
+    }
+
+    @Test
+    void rejectsBadCrc() throws IOException {
+        Path path = dir.resolve("directorio.snap");
+        DirectorySnapshotFile file = new DirectorySnapshotFile(path);
+        file.write(sampleSnapshot(), 1);
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x01; // Un bit cambiado en los datos
+        Files.write(path, bytes);
+        assertThrows(IOException.class, file::load);
+
+        // O el CRC guardado al final (otro archivo: en Windows el anterior sigue mapeado)
+        Path other = dir.resolve("otro.snap");
+        DirectorySnapshotFile otherFile = new DirectorySnapshotFile(other);
+        otherFile.write(sampleSnapshot(), 1);
+        bytes = Files.readAllBytes(other);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(other, bytes);
+        assertThrows(IOException.class, otherFile::load);
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    /**
+     * Autores con y sin teléfono, fecha y género, y nombres con tildes.
+     */
+    private static DirectorySnapshot sampleSnapshot() {
+        DirectorySnapshot.Builder builder = new DirectorySnapshot.Builder();
+        builder.add(1, "Jorge Luis Borges", 71234567, java.sql.Date.valueOf("1899-08-24"), 1, "Novela", 1);
+        builder.add(2, "Gabriela Mistral", null, null, 2, "Poesía", 3);
+        builder.add(3, "José Martí", 61234567, java.sql.Date.valueOf("1853-01-28"), null, null, 1);
+        builder.add(7, "Julio Cortázar", null, java.sql.Date.valueOf("1914-08-26"), 1, "Novela", 2);
+        return builder.build();
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.udb.autores.directorioautores.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * DirectorySnapshot: copias nuevas con withChanges() y detección de borrados con findMissing().
+ */
+class DirectorySnapshotTest {
+
+    private static final LiteraryGenre NOVELA = genre(1, "Novela");
+    private static final LiteraryGenre POESIA = genre(2, "Poesía");
+
+    @Test
+    void withChangesMergesUpsertsInIdOrder() {
+        DirectorySnapshot base = snapshot(author(10, "Borges", NOVELA, 1), author(20, "Neruda", POESIA, 1),
+                author(30, "Mistral", POESIA, 1));
+
+        // Llegan desordenados; el 20 cambia de nombre y de género
+        DirectorySnapshot changed = base.withChanges(Arrays.asList(
+                author(25, "Cortázar", NOVELA, 1),
+                author(5, "Darío", POESIA, 1),
+                author(20, "Pablo Neruda", NOVELA, 2)), Collections.<Integer>emptyList());
+
+        assertArrayEquals(new int[]{5, 10, 20, 25, 30}, changed.ids());
+        assertArrayEquals(new String[]{"Darío", "Borges", "Pablo Neruda", "Cortázar", "Mistral"}, changed.names());
+        assertArrayEquals(new int[]{1, 1, 2, 1, 1}, changed.versions());
+        assertEquals(3, changed.count(NOVELA.getId()));
+        assertEquals(2, changed.count(POESIA.getId()));
+        // La copia anterior no cambia
+        assertArrayEquals(new int[]{10, 20, 30}, base.ids());
+        assertEquals("Neruda", base.names()[1]);
+    }
+
+    @Test
+    void withChangesKeepsNewerVersion() {
+        DirectorySnapshot base = snapshot(author(10, "Borges", NOVELA, 3));
+
+        DirectorySnapshot changed = base.withChanges(
+                Collections.singletonList(author(10, "Borges (viejo)", NOVELA, 2)), Collections.<Integer>emptyList());
+
+        assertEquals("Borges", changed.names()[0]);
+        assertEquals(3, changed.versions()[0]);
+    }
+
+    @Test
+    void withChangesLastUpsertWinsForSameId() {
+        DirectorySnapshot base = snapshot(author(10, "Borges", NOVELA, 1));
+
+        DirectorySnapshot changed = base.withChanges(Arrays.asList(
+                author(10, "Jorge Luis Borges", NOVELA, 2),
+                author(10, "J. L. Borges", NOVELA, 3)), Collections.<Integer>emptyList());
+
+        assertEquals(1, changed.size());
+        assertEquals("J. L. Borges", changed.names()[0]);
+        assertEquals(3, changed.versions()[0]);
+    }
+
+    @Test
+    void withChangesDeletesAndReAdds() {
+        DirectorySnapshot base = snapshot(author(10, "Borges", NOVELA, 1), author(20, "Neruda", POESIA, 1));
+
+        DirectorySnapshot deleted = base.withChanges(Collections.<Author>emptyList(), Collections.singletonList(10));
+        assertArrayEquals(new int[]{20}, deleted.ids());
+        assertEquals(0, deleted.count(NOVELA.getId()));
+        assertNull(deleted.findAuthorByName("Borges"));
+
+        DirectorySnapshot readded = deleted.withChanges(
+                Collections.singletonList(author(10, "Borges", NOVELA, 1)), Collections.<Integer>emptyList());
+        assertArrayEquals(new int[]{10, 20}, readded.ids());
+        assertEquals(1, readded.count(NOVELA.getId()));
+        assertNotNull(readded.findAuthorByName("borges"));
+
+        // En el mismo lote, el borrado gana sobre el cambio
+        DirectorySnapshot both = base.withChanges(
+                Collections.singletonList(author(10, "Borges", NOVELA, 2)), Collections.singletonList(10));
+        assertArrayEquals(new int[]{20}, both.ids());
+    }
+
+    @Test
+    void withChangesWithoutChangesReturnsSameSnapshot() {
+        DirectorySnapshot base = snapshot(author(10, "Borges", NOVELA, 1));
+
+        assertSame(base, base.withChanges(Collections.<Author>emptyList(), Collections.<Integer>emptyList()));
+    }
+
+    @Test
+    void withChangesKeepsNameHashesInSync() {
+        DirectorySnapshot base = snapshot(author(10, "Borges", NOVELA, 1), author(20, "Neruda", POESIA, 1),
+                author(30, "Mistral", POESIA, 1));
+
+        DirectorySnapshot changed = base.withChanges(Arrays.asList(
+                author(15, "Gabriel  García Márquez", NOVELA, 1),
+                author(30, "Gabriela Mistral", POESIA, 2)), Collections.singletonList(20));
+
+        String[] names = changed.names();
+        long[] hashes = changed.nameHashes();
+        for (int pos = 0; pos < names.length; pos++) {
+            assertEquals(AuthorNameIndex.hash(names[pos]), hashes[pos], names[pos]);
+        }
+        // Sin tildes, mayúsculas ni espacios repetidos (igual que AuthorNameIndex)
+        assertEquals(15, changed.findAuthorByName("gabriel garcia marquez").getId());
+        assertEquals(30, changed.findAuthorByName("Gabriela Mistral").getId());
+        assertNull(changed.findAuthorByName("Mistral"));
+        assertNull(changed.findAuthorByName("Neruda"));
+    }
+
+    @Test
+    void findAuthorsAfterReturnsPageInIdOrder() {
+        DirectorySnapshot base = snapshot(author(2, "A", NOVELA, 1), author(4, "B", POESIA, 1),
+                author(6, "C", NOVELA, 1), author(8, "D", NOVELA, 1), author(10, "E", POESIA, 1));
+
+        assertEquals(Arrays.asList(2, 4, 6), idsOf(base.findAuthorsAfter(0, 0, 3)));
+        // El cursor puede ser un ID que ya no está (ej: borrado)
+        assertEquals(Arrays.asList(6, 8), idsOf(base.findAuthorsAfter(5, 0, 2)));
+        assertEquals(Arrays.asList(8, 10), idsOf(base.findAuthorsAfter(6, 0, 10)));
+        assertEquals(Arrays.asList(6, 8), idsOf(base.findAuthorsAfter(2, NOVELA.getId(), 10)));
+        assertEquals(Arrays.asList(10), idsOf(base.findAuthorsAfter(4, POESIA.getId(), 10)));
+        assertEquals(Collections.<Integer>emptyList(), idsOf(base.findAuthorsAfter(10, 0, 10)));
+        assertEquals(Collections.<Integer>emptyList(), idsOf(base.findAuthorsAfter(0, 99, 10)));
+        assertEquals("Poesía", base.findAuthorsAfter(3, 0, 1).get(0).getLiteraryGenre().getName());
+    }
+
+    @Test
+    void findMissingReturnsIdsNotInDatabase() {
+        DirectorySnapshot base = snapshot(author(1, "A", NOVELA, 1), author(2, "B", NOVELA, 1),
+                author(3, "C", NOVELA, 1), author(5, "D", NOVELA, 1), author(8, "E", NOVELA, 1));
+
+        // El 4 y el 9 son autores que la copia no tiene: no cuentan
+        assertEquals(Arrays.asList(2, 5), base.findMissing(new int[]{1, 3, 4, 8, 9}));
+        assertEquals(Arrays.asList(1, 2, 3, 5, 8), base.findMissing(new int[0]));
+        assertEquals(Arrays.asList(8), base.findMissing(new int[]{1, 2, 3, 5}));
+        assertEquals(Collections.<Integer>emptyList(), base.findMissing(new int[]{1, 2, 3, 5, 8}));
+        assertEquals(Collections.<Integer>emptyList(), DirectorySnapshot.EMPTY.findMissing(new int[]{1, 2}));
+    }
+
+    @Test
+    void builderRejectsUnorderedIds() {
+        DirectorySnapshot.Builder builder = new DirectorySnapshot.Builder();
+        builder.add(2, "B", null, null, null, null, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(1, "A", null, null, null, null, 1));
+    }
+
+    // --- MÉTODOS PRIVADOS (Helpers) ---
+
+    private static DirectorySnapshot snapshot(Author... authors) {
+        DirectorySnapshot.Builder builder = new DirectorySnapshot.Builder();
+        for (Author author : authors) {
+            LiteraryGenre genre = author.getLiteraryGenre();
+            builder.add(author.getId(), author.getName(), author.getPhoneNumber(), author.getBirthDate(),
+                    genre != null ? genre.getId() : null, genre != null ? genre.getName() : null, author.getVersion());
+        }
+        return builder.build();
+    }
+
+    private static List<Integer> idsOf(List<Author> authors) {
+        List<Integer> ids = new ArrayList<>();
+        for (Author author : authors) {
+            ids.add(author.getId());
+        }
+        return ids;
+    }
+
+    static Author author(int id, String name, LiteraryGenre genre, int version) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName(name);
+        author.setPhone(String.format("7%03d-%04d", id % 1000, id % 10000));
+        author.setBirthDate(java.sql.Date.valueOf("1900-01-01"));
+        author.setLiteraryGenre(genre);
+        author.setVersion(version);
+        return author;
+    }
+
+    static LiteraryGenre genre(int id, String name) {
+        LiteraryGenre genre = new LiteraryGenre();
+        genre.setId(id);
+        genre.setName(name);
+        return genre;
+    }
+}